@@ -3,10 +3,12 @@ package com.example.simpleandroidarduinobtconnection;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.StringReader;
 import java.lang.reflect.Method;
 import java.util.UUID;
 import java.util.concurrent.Executor;
 
+import no.group09.stk500_v1.Hex;
 import no.group09.stk500_v1.Logger;
 import no.group09.stk500_v1.STK500v1;
 
@@ -91,760 +93,762 @@ public class MainActivity extends Activity {
 						
 //						//blink sketch
 //						String hexData =
-//								"3A100000000C9461000C947E000C947E000C947E0095" +
-//								"3A100010000C947E000C947E000C947E000C947E0068" +
-//								"3A100020000C947E000C947E000C947E000C947E0058" +
-//								"3A100030000C947E000C947E000C947E000C947E0048" +
-//								"3A100040000C949A000C947E000C947E000C947E001C" +
-//								"3A100050000C947E000C947E000C947E000C947E0028" +
-//								"3A100060000C947E000C947E00000000002400270009" +
-//								"3A100070002A0000000000250028002B0000000000DE" +
-//								"3A1000800023002600290004040404040404040202DA" +
-//								"3A100090000202020203030303030301020408102007" +
-//								"3A1000A0004080010204081020010204081020000012" +
-//								"3A1000B0000007000201000003040600000000000029" +
-//								"3A1000C000000011241FBECFEFD8E0DEBFCDBF11E08E" +
-//								"3A1000D000A0E0B1E0EAEFF3E002C005900D92A0309D" +
-//								"3A1000E000B107D9F711E0A0E0B1E001C01D92A9303D" +
-//								"3A1000F000B107E1F70E94F4010C94FB010C9400009D" +
-//								"3A100100008DE061E00E949C0168EE73E080E090E089" +
-//								"3A100110000E94E2008DE060E00E949C0168EE73E0C6" +
-//								"3A1001200080E090E00E94E20008958DE061E00E948E" +
-//								"3A10013000760108951F920F920FB60F9211242F93FC" +
-//								"3A100140003F938F939F93AF93BF93809104019091BE" +
-//								"3A100150000501A0910601B0910701309108010196B7" +
-//								"3A10016000A11DB11D232F2D5F2D3720F02D57019696" +
-//								"3A10017000A11DB11D209308018093040190930501F6" +
-//								"3A10018000A0930601B09307018091000190910101B5" +
-//								"3A10019000A0910201B09103010196A11DB11D8093B0" +
-//								"3A1001A000000190930101A0930201B0930301BF915C" +
-//								"3A1001B000AF919F918F913F912F910F900FBE0F9014" +
-//								"3A1001C0001F9018959B01AC017FB7F89480910001B6" +
-//								"3A1001D00090910101A0910201B091030166B5A89B25" +
-//								"3A1001E00005C06F3F19F00196A11DB11D7FBFBA2F49" +
-//								"3A1001F000A92F982F8827860F911DA11DB11D62E0A0" +
-//								"3A10020000880F991FAA1FBB1F6A95D1F7BC012DC08B" +
-//								"3A10021000FFB7F8948091000190910101A091020133" +
-//								"3A10022000B0910301E6B5A89B05C0EF3F19F0019618" +
-//								"3A10023000A11DB11DFFBFBA2FA92F982F88278E0FA0" +
-//								"3A10024000911DA11DB11DE2E0880F991FAA1FBB1FC0" +
-//								"3A10025000EA95D1F7861B970B885E9340C8F2215030" +
-//								"3A1002600030404040504068517C4F211531054105D8" +
-//								"3A10027000510571F60895789484B5826084BD84B583" +
-//								"3A10028000816084BD85B5826085BD85B5816085BD91" +
-//								"3A10029000EEE6F0E0808181608083E1E8F0E01082AA" +
-//								"3A1002A000808182608083808181608083E0E8F0E0EB" +
-//								"3A1002B000808181608083E1EBF0E0808184608083D5" +
-//								"3A1002C000E0EBF0E0808181608083EAE7F0E080810C" +
-//								"3A1002D000846080838081826080838081816080836C" +
-//								"3A1002E0008081806880831092C1000895482F50E07B" +
-//								"3A1002F000CA0186569F4FFC0124914A575F4FFA016D" +
-//								"3A1003000084918823C1F0E82FF0E0EE0FFF1FE85939" +
-//								"3A10031000FF4FA591B491662341F49FB7F8948C9157" +
-//								"3A10032000209582238C939FBF08959FB7F8948C915A" +
-//								"3A10033000822B8C939FBF0895482F50E0CA018255AD" +
-//								"3A100340009F4FFC012491CA0186569F4FFC013491B6" +
-//								"3A100350004A575F4FFA019491992309F444C022232C" +
-//								"3A1003600051F1233071F0243028F42130A1F02230F3" +
-//								"3A1003700011F514C02630B1F02730C1F02430D9F483" +
-//								"3A1003800004C0809180008F7703C0809180008F7DB2" +
-//								"3A100390008093800010C084B58F7702C084B58F7DB4" +
-//								"3A1003A00084BD09C08091B0008F7703C08091B000F8" +
-//								"3A1003B0008F7D8093B000E92FF0E0EE0FFF1FEE5825" +
-//								"3A1003C000FF4FA591B491662341F49FB7F8948C91A7" +
-//								"3A1003D000309583238C939FBF08959FB7F8948C9199" +
-//								"3A1003E000832B8C939FBF08950E943B010E94950030" +
-//								"3A0A03F0000E948000FDCFF894FFCFBB" +
-//								"3A00000001FF"; 
+//								":100000000C9461000C947E000C947E000C947E0095\n" +
+//								":100010000C947E000C947E000C947E000C947E0068\n" +
+//								":100020000C947E000C947E000C947E000C947E0058\n" +
+//								":100030000C947E000C947E000C947E000C947E0048\n" +
+//								":100040000C949A000C947E000C947E000C947E001C\n" +
+//								":100050000C947E000C947E000C947E000C947E0028\n" +
+//								":100060000C947E000C947E00000000002400270009\n" +
+//								":100070002A0000000000250028002B0000000000DE\n" +
+//								":1000800023002600290004040404040404040202DA\n" +
+//								":100090000202020203030303030301020408102007\n" +
+//								":1000A0004080010204081020010204081020000012\n" +
+//								":1000B0000007000201000003040600000000000029\n" +
+//								":1000C000000011241FBECFEFD8E0DEBFCDBF11E08E\n" +
+//								":1000D000A0E0B1E0EAEFF3E002C005900D92A0309D\n" +
+//								":1000E000B107D9F711E0A0E0B1E001C01D92A9303D\n" +
+//								":1000F000B107E1F70E94F4010C94FB010C9400009D\n" +
+//								":100100008DE061E00E949C0168EE73E080E090E089\n" +
+//								":100110000E94E2008DE060E00E949C0168EE73E0C6\n" +
+//								":1001200080E090E00E94E20008958DE061E00E948E\n" +
+//								":10013000760108951F920F920FB60F9211242F93FC\n" +
+//								":100140003F938F939F93AF93BF93809104019091BE\n" +
+//								":100150000501A0910601B0910701309108010196B7\n" +
+//								":10016000A11DB11D232F2D5F2D3720F02D57019696\n" +
+//								":10017000A11DB11D209308018093040190930501F6\n" +
+//								":10018000A0930601B09307018091000190910101B5\n" +
+//								":10019000A0910201B09103010196A11DB11D8093B0\n" +
+//								":1001A000000190930101A0930201B0930301BF915C\n" +
+//								":1001B000AF919F918F913F912F910F900FBE0F9014\n" +
+//								":1001C0001F9018959B01AC017FB7F89480910001B6\n" +
+//								":1001D00090910101A0910201B091030166B5A89B25\n" +
+//								":1001E00005C06F3F19F00196A11DB11D7FBFBA2F49\n" +
+//								":1001F000A92F982F8827860F911DA11DB11D62E0A0\n" +
+//								":10020000880F991FAA1FBB1F6A95D1F7BC012DC08B\n" +
+//								":10021000FFB7F8948091000190910101A091020133\n" +
+//								":10022000B0910301E6B5A89B05C0EF3F19F0019618\n" +
+//								":10023000A11DB11DFFBFBA2FA92F982F88278E0FA0\n" +
+//								":10024000911DA11DB11DE2E0880F991FAA1FBB1FC0\n" +
+//								":10025000EA95D1F7861B970B885E9340C8F2215030\n" +
+//								":1002600030404040504068517C4F211531054105D8\n" +
+//								":10027000510571F60895789484B5826084BD84B583\n" +
+//								":10028000816084BD85B5826085BD85B5816085BD91\n" +
+//								":10029000EEE6F0E0808181608083E1E8F0E01082AA\n" +
+//								":1002A000808182608083808181608083E0E8F0E0EB\n" +
+//								":1002B000808181608083E1EBF0E0808184608083D5\n" +
+//								":1002C000E0EBF0E0808181608083EAE7F0E080810C\n" +
+//								":1002D000846080838081826080838081816080836C\n" +
+//								":1002E0008081806880831092C1000895482F50E07B\n" +
+//								":1002F000CA0186569F4FFC0124914A575F4FFA016D\n" +
+//								":1003000084918823C1F0E82FF0E0EE0FFF1FE85939\n" +
+//								":10031000FF4FA591B491662341F49FB7F8948C9157\n" +
+//								":10032000209582238C939FBF08959FB7F8948C915A\n" +
+//								":10033000822B8C939FBF0895482F50E0CA018255AD\n" +
+//								":100340009F4FFC012491CA0186569F4FFC013491B6\n" +
+//								":100350004A575F4FFA019491992309F444C022232C\n" +
+//								":1003600051F1233071F0243028F42130A1F02230F3\n" +
+//								":1003700011F514C02630B1F02730C1F02430D9F483\n" +
+//								":1003800004C0809180008F7703C0809180008F7DB2\n" +
+//								":100390008093800010C084B58F7702C084B58F7DB4\n" +
+//								":1003A00084BD09C08091B0008F7703C08091B000F8\n" +
+//								":1003B0008F7D8093B000E92FF0E0EE0FFF1FEE5825\n" +
+//								":1003C000FF4FA591B491662341F49FB7F8948C91A7\n" +
+//								":1003D000309583238C939FBF08959FB7F8948C9199\n" +
+//								":1003E000832B8C939FBF08950E943B010E94950030\n" +
+//								":0A03F0000E948000FDCFF894FFCFBB\n" +
+//								":00000001FF\n"; 
 						
 //						// Reset mode
 //						String hexData =
-//								"3A100000000C9461000C947E000C947E000C947E0095" +
-//								"3A100010000C947E000C947E000C947E000C947E0068" +
-//								"3A100020000C947E000C947E000C947E000C947E0058" +
-//								"3A100030000C947E000C947E000C947E000C947E0048" +
-//								"3A100040000C9490000C947E000C947E000C947E0026" +
-//								"3A100050000C947E000C947E000C947E000C947E0028" +
-//								"3A100060000C947E000C947E00000000002400270009" +
-//								"3A100070002A0000000000250028002B0000000000DE" +
-//								"3A1000800023002600290004040404040404040202DA" +
-//								"3A100090000202020203030303030301020408102007" +
-//								"3A1000A0004080010204081020010204081020000012" +
-//								"3A1000B0000007000201000003040600000000000029" +
-//								"3A1000C000000011241FBECFEFD8E0DEBFCDBF11E08E" +
-//								"3A1000D000A0E0B1E0E0E2F4E002C005900D92A030B3" +
-//								"3A1000E000B107D9F711E0A0E0B1E001C01D92A9303D" +
-//								"3A1000F000B107E1F70E94FF010C940E020C9400007E" +
-//								"3A10010000089584E061E00E946C016CE271E080E09F" +
-//								"3A1001100090E00E94D80084E060E00E94AB01089566" +
-//								"3A100120001F920F920FB60F9211242F933F938F932C" +
-//								"3A100130009F93AF93BF938091040190910501A0918B" +
-//								"3A100140000601B0910701309108010196A11DB11D72" +
-//								"3A10015000232F2D5F2D3720F02D570196A11DB11DA6" +
-//								"3A10016000209308018093040190930501A093060158" +
-//								"3A10017000B09307018091000190910101A0910201CB" +
-//								"3A10018000B09103010196A11DB11D809300019093D0" +
-//								"3A100190000101A0930201B0930301BF91AF919F9120" +
-//								"3A1001A0008F913F912F910F900FBE0F901F90189538" +
-//								"3A1001B0009B01AC017FB7F8948091000190910101FF" +
-//								"3A1001C000A0910201B091030166B5A89B05C06F3FE5" +
-//								"3A1001D00019F00196A11DB11D7FBFBA2FA92F982F2D" +
-//								"3A1001E0008827860F911DA11DB11D62E0880F991F00" +
-//								"3A1001F000AA1FBB1F6A95D1F7BC012DC0FFB7F894A9" +
-//								"3A100200008091000190910101A0910201B091030140" +
-//								"3A10021000E6B5A89B05C0EF3F19F00196A11DB11DE1" +
-//								"3A10022000FFBFBA2FA92F982F88278E0F911DA11DD0" +
-//								"3A10023000B11DE2E0880F991FAA1FBB1FEA95D1F7F5" +
-//								"3A10024000861B970B885E9340C8F221503040404097" +
-//								"3A10025000504068517C4F211531054105510571F61B" +
-//								"3A100260000895789484B5826084BD84B5816084BD2E" +
-//								"3A1002700085B5826085BD85B5816085BDEEE6F0E01F" +
-//								"3A10028000808181608083E1E8F0E01082808182607B" +
-//								"3A100290008083808181608083E0E8F0E080818160FC" +
-//								"3A1002A0008083E1EBF0E0808184608083E0EBF0E02C" +
-//								"3A1002B000808181608083EAE7F0E0808184608083D0" +
-//								"3A1002C000808182608083808181608083808180687A" +
-//								"3A1002D00080831092C1000895CF93DF93482F50E0A0" +
-//								"3A1002E000CA0186569F4FFC0134914A575F4FFA016D" +
-//								"3A1002F0008491882369F190E0880F991FFC01E859E7" +
-//								"3A10030000FF4FA591B491FC01EE58FF4FC591D491D8" +
-//								"3A10031000662351F42FB7F8948C91932F90958923ED" +
-//								"3A100320008C93888189230BC0623061F42FB7F894D5" +
-//								"3A100330008C91932F909589238C938881832B88832C" +
-//								"3A100340002FBF06C09FB7F8948C91832B8C939FBFCF" +
-//								"3A10035000DF91CF910895482F50E0CA0182559F4FF9" +
-//								"3A10036000FC012491CA0186569F4FFC0194914A5783" +
-//								"3A100370005F4FFA013491332309F440C0222351F135" +
-//								"3A10038000233071F0243028F42130A1F0223011F50F" +
-//								"3A1003900014C02630B1F02730C1F02430D9F404C0A5" +
-//								"3A1003A000809180008F7703C0809180008F7D809343" +
-//								"3A1003B000800010C084B58F7702C084B58F7D84BD66" +
-//								"3A1003C00009C08091B0008F7703C08091B0008F7D0D" +
-//								"3A1003D0008093B000E32FF0E0EE0FFF1FEE58FF4FC9" +
-//								"3A1003E000A591B4912FB7F894662321F48C91909540" +
-//								"3A1003F000892302C08C91892B8C932FBF0895CF93B2" +
-//								"3A10040000DF930E9431010E948100C0E0D0E00E9491" +
-//								"3A1004100080002097E1F30E940000F9CFF894FFCF0D" +
-//								"3A00000001FF";
+//								":100000000C9461000C947E000C947E000C947E0095\n" +
+//								":100010000C947E000C947E000C947E000C947E0068\n" +
+//								":100020000C947E000C947E000C947E000C947E0058\n" +
+//								":100030000C947E000C947E000C947E000C947E0048\n" +
+//								":100040000C9490000C947E000C947E000C947E0026\n" +
+//								":100050000C947E000C947E000C947E000C947E0028\n" +
+//								":100060000C947E000C947E00000000002400270009\n" +
+//								":100070002A0000000000250028002B0000000000DE\n" +
+//								":1000800023002600290004040404040404040202DA\n" +
+//								":100090000202020203030303030301020408102007\n" +
+//								":1000A0004080010204081020010204081020000012\n" +
+//								":1000B0000007000201000003040600000000000029\n" +
+//								":1000C000000011241FBECFEFD8E0DEBFCDBF11E08E\n" +
+//								":1000D000A0E0B1E0E0E2F4E002C005900D92A030B3\n" +
+//								":1000E000B107D9F711E0A0E0B1E001C01D92A9303D\n" +
+//								":1000F000B107E1F70E94FF010C940E020C9400007E\n" +
+//								":10010000089584E061E00E946C016CE271E080E09F\n" +
+//								":1001100090E00E94D80084E060E00E94AB01089566\n" +
+//								":100120001F920F920FB60F9211242F933F938F932C\n" +
+//								":100130009F93AF93BF938091040190910501A0918B\n" +
+//								":100140000601B0910701309108010196A11DB11D72\n" +
+//								":10015000232F2D5F2D3720F02D570196A11DB11DA6\n" +
+//								":10016000209308018093040190930501A093060158\n" +
+//								":10017000B09307018091000190910101A0910201CB\n" +
+//								":10018000B09103010196A11DB11D809300019093D0\n" +
+//								":100190000101A0930201B0930301BF91AF919F9120\n" +
+//								":1001A0008F913F912F910F900FBE0F901F90189538\n" +
+//								":1001B0009B01AC017FB7F8948091000190910101FF\n" +
+//								":1001C000A0910201B091030166B5A89B05C06F3FE5\n" +
+//								":1001D00019F00196A11DB11D7FBFBA2FA92F982F2D\n" +
+//								":1001E0008827860F911DA11DB11D62E0880F991F00\n" +
+//								":1001F000AA1FBB1F6A95D1F7BC012DC0FFB7F894A9\n" +
+//								":100200008091000190910101A0910201B091030140\n" +
+//								":10021000E6B5A89B05C0EF3F19F00196A11DB11DE1\n" +
+//								":10022000FFBFBA2FA92F982F88278E0F911DA11DD0\n" +
+//								":10023000B11DE2E0880F991FAA1FBB1FEA95D1F7F5\n" +
+//								":10024000861B970B885E9340C8F221503040404097\n" +
+//								":10025000504068517C4F211531054105510571F61B\n" +
+//								":100260000895789484B5826084BD84B5816084BD2E\n" +
+//								":1002700085B5826085BD85B5816085BDEEE6F0E01F\n" +
+//								":10028000808181608083E1E8F0E01082808182607B\n" +
+//								":100290008083808181608083E0E8F0E080818160FC\n" +
+//								":1002A0008083E1EBF0E0808184608083E0EBF0E02C\n" +
+//								":1002B000808181608083EAE7F0E0808184608083D0\n" +
+//								":1002C000808182608083808181608083808180687A\n" +
+//								":1002D00080831092C1000895CF93DF93482F50E0A0\n" +
+//								":1002E000CA0186569F4FFC0134914A575F4FFA016D\n" +
+//								":1002F0008491882369F190E0880F991FFC01E859E7\n" +
+//								":10030000FF4FA591B491FC01EE58FF4FC591D491D8\n" +
+//								":10031000662351F42FB7F8948C91932F90958923ED\n" +
+//								":100320008C93888189230BC0623061F42FB7F894D5\n" +
+//								":100330008C91932F909589238C938881832B88832C\n" +
+//								":100340002FBF06C09FB7F8948C91832B8C939FBFCF\n" +
+//								":10035000DF91CF910895482F50E0CA0182559F4FF9\n" +
+//								":10036000FC012491CA0186569F4FFC0194914A5783\n" +
+//								":100370005F4FFA013491332309F440C0222351F135\n" +
+//								":10038000233071F0243028F42130A1F0223011F50F\n" +
+//								":1003900014C02630B1F02730C1F02430D9F404C0A5\n" +
+//								":1003A000809180008F7703C0809180008F7D809343\n" +
+//								":1003B000800010C084B58F7702C084B58F7D84BD66\n" +
+//								":1003C00009C08091B0008F7703C08091B0008F7D0D\n" +
+//								":1003D0008093B000E32FF0E0EE0FFF1FEE58FF4FC9\n" +
+//								":1003E000A591B4912FB7F894662321F48C91909540\n" +
+//								":1003F000892302C08C91892B8C932FBF0895CF93B2\n" +
+//								":10040000DF930E9431010E948100C0E0D0E00E9491\n" +
+//								":1004100080002097E1F30E940000F9CFF894FFCF0D\n" +
+//								":00000001FF\n";
 						
 						// TestApplication
 						// Temperature reading on LCD
 						String hexData =
 								//	"3A	10	0000	00	0C9465000C948D000C948D000C948D0064" +
-								"3A100000000C9465000C948D000C948D000C948D0064" +
-								"3A100010000C948D000C948D000C948D000C94330E78" +
-								"3A100020000C948D000C948D000C948D000C948D001C" +
-								"3A100030000C948D000C948D000C948D000C948D000C" +
-								"3A100040000C94B1090C948D000C948B0B0C94D90B6F" +
-								"3A100050000C948D000C948D000C948D000C948D00EC" +
-								"3A100060000C948D000C948D000000000024002700EB" +
-								"3A100070002A0000000000250028002B0000000000DE" +
-								"3A1000800023002600290004040404040404040202DA" +
-								"3A100090000202020203030303030301020408102007" +
-								"3A1000A0004080010204081020010204081020000012" +
-								"3A1000B0000007000201000003040600000000000029" +
-								"3A1000C00000000200B602450DAF0211241FBECFEFA3" +
-								"3A1000D000D8E0DEBFCDBF12E0A0E0B1E0EAE8F4E294" +
-								"3A1000E00002C005900D92A632B107D9F713E0A6E23F" +
-								"3A1000F000B2E001C01D92A334B107E1F710E0C8ECF3" +
-								"3A10010000D0E004C02297FE010E94FD11C43CD1073B" +
-								"3A10011000C9F70E949B0D0C9438120C940000CF93E9" +
-								"3A10012000DF93BC018230910510F462E070E0A09191" +
-								"3A100130004103B0914203ED01E0E0F0E040E050E027" +
-								"3A1001400021C0888199818617970769F48A819B81EC" +
-								"3A10015000309719F09383828304C090934203809375" +
-								"3A100160004103FE0134C06817790738F44115510581" +
-								"3A1001700019F08417950708F4AC01FE018A819B8170" +
-								"3A100180009C01E9012097E9F641155105A9F1CA0141" +
-								"3A10019000861B970B049708F4BA01E0E0F0E02AC050" +
-								"3A1001A0008D919C91119784179507F9F46417750741" +
-								"3A1001B00081F412968D919C911397309719F0938347" +
-								"3A1001C000828304C09093420380934103FD013296E1" +
-								"3A1001D0004CC0CA01861B970BFD01E80FF91F619304" +
-								"3A1001E000719302978D939C9340C0FD01828193810E" +
-								"3A1001F0009C01D9011097A1F680913F039091400393" +
-								"3A10020000892B41F480910102909102029093400366" +
-								"3A1002100080933F0340910302509104024115510520" +
-								"3A1002200041F44DB75EB78091FF0190910002481BE9" +
-								"3A10023000590B20913F0330914003CA01821B930B5D" +
-								"3A100240008617970780F0AB014E5F5F4F84179507C5" +
-								"3A1002500050F0420F531F5093400340933F03F90166" +
-								"3A100260006193719302C0E0E0F0E0CF01DF91CF91A4" +
-								"3A100270000895CF93DF93009709F450C0EC012297C3" +
-								"3A100280001B821A82A0914103B0914203109709F199" +
-								"3A1002900040E050E0AC17BD0708F1BB83AA83FE0124" +
-								"3A1002A00021913191E20FF31FAE17BF0779F48D91C1" +
-								"3A1002B0009C911197280F391F2E5F3F4F3983288358" +
-								"3A1002C00012968D919C9113979B838A8341155105BA" +
-								"3A1002D00071F4D0934203C093410320C012968D91D4" +
-								"3A1002E0009C911397AD01009711F0DC01D3CFFA0177" +
-								"3A1002F000D383C28321913191E20FF31FCE17DF0721" +
-								"3A1003000069F488819981280F391F2E5F3F4FFA01C8" +
-								"3A10031000318320838A819B8193838283DF91CF9174" +
-								"3A100320000895A0E0B0E0E7E9F1E00C9403126C015D" +
-								"3A10033000009729F4CB010E948F006C01C1C08EEFA1" +
-								"3A10034000882E8FEF982E8C0C9D1C8601060F171F90" +
-								"3A100350000815190508F4B2C0F401A081B181A617EF" +
-								"3A10036000B707B8F0A530B10508F4AAC0CD010497CD" +
-								"3A100370008617970708F4A4C01297A61BB70BF801BD" +
-								"3A10038000A193B193D4016D937C93CF010E94390165" +
-								"3A1003900097C07B01EA1AFB0AEEEFFFEFEE0EFF1E9D" +
-								"3A1003A00036016A0E7B1EC0914103D0914203442462" +
-								"3A1003B0005524AA24BB244AC0C615D705E1F54881B7" +
-								"3A1003C00059814E155F05B8F1CA0104978E159F0536" +
-								"3A1003D000B0F41296A40FB51FF401B183A0832A8153" +
-								"3A1003E0003B814114510431F0D20113963C932E937A" +
-								"3A1003F000129766C0309342032093410361C08A8103" +
-								"3A100400009B81F80193838283425050404E195F09CB" +
-								"3A10041000518340834114510431F0D20113961C934F" +
-								"3A100420000E93129704C01093420300934103F4010A" +
-								"3A100430007183608345C088819981A816B90608F444" +
-								"3A100440005C012E018A819B819C01E901209709F0C2" +
-								"3A10045000B3CF80913F039091400386159705E9F44F" +
-								"3A10046000A616B706D0F4209103023091040221159C" +
-								"3A10047000310541F42DB73EB78091FF019091000204" +
-								"3A10048000281B390B02171307C8F41093400300937D" +
-								"3A100490003F03D4016D937C9313C0CB010E948F0066" +
-								"3A1004A000EC01009759F0F40140815181B6010E949E" +
-								"3A1004B0006602C6010E9439016E0102C0CC24DD240F" +
-								"3A1004C000C601CDB7DEB7E0E10C941F12FB01DC01E1" +
-								"3A1004D00002C001900D9241505040D8F70895FB01A1" +
-								"3A1004E000DC0101900D920020E1F708950895089530" +
-								"3A1004F000CF92EF920F9381309105C1F46F5F7F4FE0" +
-								"3A1005000051F586E292E040E050E060E070E00E9449" +
-								"3A10051000880784E592E067E048E029E00AE05BE0D4" +
-								"3A10052000E52E3CE0C32E0E94780915C0892B99F472" +
-								"3A100530006F5F7F4F81F48DE492E00E94991186E411" +
-								"3A1005400092E00E9499118FE392E00E94991188E352" +
-								"3A1005500092E00E9499110F91EF90CF90089580E062" +
-								"3A1005600090E06FEF7FEF0E947802089581E090E0C5" +
-								"3A100570006FEF7FEF0E947802089586E292E00E947A" +
-								"3A10058000F7050895EF92FF920F931F93DF93CF9398" +
-								"3A10059000CDB7DEB72E970FB6F894DEBF0FBECDBF36" +
-								"3A1005A00066E2E62E62E0F62EC70140E052EC61E022" +
-								"3A1005B00070E00E946E0784E061E00E94A50A84E07A" +
-								"3A1005C00061E00E94E40A8E010F5F1F4FC80160E0E6" +
-								"3A1005D00071E00E946811C701B8010E946A07C80152" +
-								"3A1005E0000E9499118E01085F1F4FC80165E071E0FC" +
-								"3A1005F0000E946811C701B8010E946607C8010E94E5" +
-								"3A10060000991100E111E0C7016BE071E0A8010E94BF" +
-								"3A100610002E07C70163E043E753E00E941D04C701B2" +
-								"3A1006200061E171E0A8010E942E07C7016FEF46E764" +
-								"3A1006300052E00E941D04C70167E171E04FE151E003" +
-								"3A100640000E942E07C70167E049E953E00E941D049C" +
-								"3A10065000C70161E271E0A8010E942E07C70161E0B5" +
-								"3A1006600049ED53E00E941D0404E512E0C80160E179" +
-								"3A1006700042E020E00E94C208C80160E040E00E9421" +
-								"3A100680008308C8016CE271E00E94F80DC80160E0C7" +
-								"3A1006900041E00E948308C8016AE371E00E94F80DFE" +
-								"3A1006A000C70166E471E04FE451E00E942E0782E04A" +
-								"3A1006B00061E00E94A50A8DE061E00E94A50AC701E1" +
-								"3A1006C00064E571E046E851E00E94F6062E960FB60A" +
-								"3A1006D000F894DEBF0FBECDBFCF91DF911F910F9178" +
-								"3A1006E000FF90EF9008950F931F93CF93DF93C0E097" +
-								"3A1006F000D0E0082F10E015C08DE061E00E94E40A10" +
-								"3A1007000064E670E080E090E00E94070A8DE060E01F" +
-								"3A100710000E94E40A64E670E080E090E00E94070A2C" +
-								"3A100720002196C017D10744F3DF91CF911F910F910C" +
-								"3A10073000089583E068EC70E020E030E040E050E0B5" +
-								"3A100740000E948F0E64E670E080E090E00E94070A4D" +
-								"3A1007500083E068E572E020E030E040E050E00E9495" +
-								"3A100760008F0E64E670E080E090E00E94070A83E06C" +
-								"3A1007700066E475E020E030E040E050E00E948F0E3B" +
-								"3A1007800068EC70E080E090E00E94070A83E068EC8B" +
-								"3A1007900070E020E030E040E050E00E948F0E64E620" +
-								"3A1007A00070E080E090E00E94070A83E00E941C0E47" +
-								"3A1007B0000895CF92DF92EF92FF921F93CF93DF9332" +
-								"3A1007C0006B017A0184E592E00E94BA0884E592E028" +
-								"3A1007D0000E94B20810E0C0E0D0E021C0F601EC0FAA" +
-								"3A1007E000FD1F60816A3039F484E592E060E041E009" +
-								"3A1007F0000E94830812C084E592E00E94D40D112368" +
-								"3A1008000049F4CF30D10554F084E592E060E041E056" +
-								"3A100810000E948308CF31D1052CF411E02196CE152A" +
-								"3A10082000DF05E0F2DF91CF911F91FF90EF90DF9015" +
-								"3A10083000CF90089580E090E00895E62FF0E03196A3" +
-								"3A10084000EE0FFF1FE80FF91F51834083089584E0E6" +
-								"3A1008500060E00E94E40A0895CF92DF92EF92FF9247" +
-								"3A100860001F93CF93DF93162F6A01790187E093E0FE" +
-								"3A100870006FEF0E94050D87E093E06F2D0E94050D3C" +
-								"3A1008800087E093E06E2D0E94050D87E093E06EEF08" +
-								"3A100890000E94050D87E093E0612F0E94050DC0E0E6" +
-								"3A1008A000D0E009C0F601EC0FFD1F87E093E0608106" +
-								"3A1008B0000E94050D2196CE15DF05A0F3DF91CF91A3" +
-								"3A1008C0001F91FF90EF90DF90CF9008950F931F93AB" +
-								"3A1008D000CF93DF93EC01062F142F862F61E00E9447" +
-								"3A1008E000A50A60E0111161E0802F0E94E40ACE01A8" +
-								"3A1008F00065E040E050E020E030E00E942C04DF9111" +
-								"3A10090000CF911F910F910895EF92FF921F93DF9364" +
-								"3A10091000CF930F92CDB7DEB77C01162F862F60E004" +
-								"3A100920000E94A50A812F0E94380B198218161906F9" +
-								"3A1009300014F481E08983C70164E0AE014F5F5F4F2B" +
-								"3A1009400021E030E00E942C040F90CF91DF911F91A5" +
-								"3A10095000FF90EF9008950F931F93CF93DF938C0137" +
-								"3A10096000DB01842FE801E885F985B901AD0109951E" +
-								"3A10097000C80163E040E050E020E030E00E942C0439" +
-								"3A10098000DF91CF911F910F910895CF92DF92EF9257" +
-								"3A10099000FF920F931F93DF93CF9300D0CDB7DEB7B5" +
-								"3A1009A0006C01862FD6011696ED91FC9117977E016A" +
-								"3A1009B0000894E11CF11CB70140E050E009958C015E" +
-								"3A1009C000FC019081818189839A83C60162E0A7013D" +
-								"3A1009D00022E030E00E942C04C8010E9439010F90EF" +
-								"3A1009E0000F90CF91DF911F910F91FF90EF90DF90CB" +
-								"3A1009F000CF9008950F931F93CF93DF938C01DB016A" +
-								"3A100A0000842FE801EC81FD81B901AD010995C80190" +
-								"3A100A100061E040E050E020E030E00E942C04DF91F3" +
-								"3A100A2000CF911F910F91089560E040E050E020E0E9" +
-								"3A100A300030E00E942C040895CF92DF92EF92FF9253" +
-								"3A100A40000F931F93DF93CF93CDB7DEB727970FB6E2" +
-								"3A100A5000F894DEBF0FBECDBF7C018E010F5F1F4F2C" +
-								"3A100A6000C8016DE971E00E946811C8016EE971E08A" +
-								"3A100A70000E941D1182E190E0E80EF91EC801B70145" +
-								"3A100A80000E942D11C80168EA71E00E941D11C80181" +
-								"3A100A90006BEA71E00E941D1187E090E0E80EF91EFC" +
-								"3A100AA000C801B7010E942D11C80168EA71E00E94D7" +
-								"3A100AB0001D11C80167EB71E00E941D1187E090E0F5" +
-								"3A100AC000E80EF91EC801B7010E942D11C80165EC9E" +
-								"3A100AD00071E00E941D11C80168EC71E00E941D11B7" +
-								"3A100AE00087E090E0E80EF91EC801B7010E942D11C1" +
-								"3A100AF000C80163ED71E00E941D11CD80DE8087E0AA" +
-								"3A100B000093E06FEF0E94050D87E093E06D2D0E944A" +
-								"3A100B1000050D87E093E06C2D0E94050D87E093E0C2" +
-								"3A100B20006EEF0E94050D87E093E066E00E94050DE0" +
-								"3A100B3000EE24FF2410C0C801B7010E94A510FC01DB" +
-								"3A100B40006081772767FD709587E093E00E94050D2F" +
-								"3A100B50000894E11CF11CEC14FD0468F3C8010E9428" +
-								"3A100B6000991127960FB6F894DEBF0FBECDBFCF9177" +
-								"3A100B7000DF911F910F91FF90EF90DF90CF9008953C" +
-								"3A100B80000F931F93F8014330E1F0443028F44130D3" +
-								"3A100B900079F0423090F409C04530E1F04530B0F0D2" +
-								"3A100BA0004630E9F04F3F01F51DC00E9414051CC0FE" +
-								"3A100BB000422F98010E94FA0417C0622F0E94C504B8" +
-								"3A100BC00013C0422F98010E94AB040EC0622F0E94F6" +
-								"3A100BD00084040AC0622F40810E94660405C00E94FE" +
-								"3A100BE0001C0502C00E9427041F910F9108956F9267" +
-								"3A100BF0007F928F929F92AF92BF92CF92DF92EF92AD" +
-								"3A100C0000FF920F931F93CF93DF93EC010E94F9099A" +
-								"3A100C100020917002309171024091720250917302E2" +
-								"3A100C2000261737074807590750F4809174029091AE" +
-								"3A100C30007502892B21F010927502109274020E94A5" +
-								"3A100C4000F9096053784F8F4F9F4F609370027093F4" +
-								"3A100C50007102809372029093730273E0672E712C7D" +
-								"3A100C600065E0862E912C54E0A52EB12C41E0C42ED7" +
-								"3A100C7000D12C32E0E32EF12CA3C08091740290912C" +
-								"3A100C8000750282309105C1F18330910534F40097EB" +
-								"3A100C900081F0019709F08FC022C08430910509F4DA" +
-								"3A100CA00053C0843091050CF444C0059709F083C00B" +
-								"3A100CB00056C087E093E00E94CC0C8F3F910509F06D" +
-								"3A100CC0007AC0D0927502C092740280916A029091AB" +
-								"3A100CD0006B02009709F46FC00E9439016CC087E075" +
-								"3A100CE00093E00E94CC0C10926E0280936F02F092FF" +
-								"3A100CF0007502E09274025FC000916E0210916F0263" +
-								"3A100D000087E093E00E94CC0C90E0802B912B909395" +
-								"3A100D10006F0280936E0270927502609274020E945C" +
-								"3A100D20008F0090936B0280936A02009709F043C092" +
-								"3A100D30003EC087E093E00E94CC0C80936D02B0929D" +
-								"3A100D40007502A092740237C087E093E00E94CC0C39" +
-								"3A100D500080936C0290927502809274022CC08091F4" +
-								"3A100D6000690200916A0210916B02080F111D87E061" +
-								"3A100D700093E00E94CC0CF8018083809169028F5F20" +
-								"3A100D80008093690260916E0270916F0290E0861705" +
-								"3A100D9000970788F000916A0210916B02CE01409192" +
-								"3A100DA0006D0220916C020E94C0051092690210929F" +
-								"3A100DB00075021092740288819981019699838883C3" +
-								"3A100DC00087E093E00E949B0C892B09F056CFDF91BE" +
-								"3A100DD000CF911F910F91FF90EF90DF90CF90BF9038" +
-								"3A100DE000AF909F908F907F906F900895CF92DF92F9" +
-								"3A100DF000EF92FF920F931F93CF93DF93EC016B0160" +
-								"3A100E00007A018BA59CA5892B31F0CE01879666EDE2" +
-								"3A100E100071E00E941D118E01095D1F4FC8016EE92E" +
-								"3A100E200071E00E941D11C801B7010E941D11C80187" +
-								"3A100E300069ED71E00E941D11C801B6010E941D11EB" +
-								"3A100E4000C80165EE71E00E941D11DF91CF911F91E5" +
-								"3A100E50000F91FF90EF90DF90CF900895CF92DF92A7" +
-								"3A100E6000EF92FF920F931F93CF93DF93EC017B01DF" +
-								"3A100E70006A018CA19DA1892B31F0CE01809666ED8F" +
-								"3A100E800071E00E941D118E01005E1F4FC80168EEC7" +
-								"3A100E900071E00E941D11C801B7010E941D11C80117" +
-								"3A100EA00062EF71E00E941D11C801B6010E941D1180" +
-								"3A100EB000C80165EE71E00E941D11DF91CF911F9175" +
-								"3A100EC0000F91FF90EF90DF90CF90089549960E9488" +
-								"3A100ED0008211089542960E94821108950F931F93E4" +
-								"3A100EE000182F092F87E093E00E94140C212F302F38" +
-								"3A100EF000C901FC0180E090E02AE134E033832283E1" +
-								"3A100F00000196329688309105C9F71F910F91089587" +
-								"3A100F1000EF92FF920F931F93CF93DF93EC017A012F" +
-								"3A100F20008B0142966DE971E00E946811CE014996ED" +
-								"3A100F30006DE971E00E946811CE0180966DE971E063" +
-								"3A100F40000E946811CE0187966DE971E00E946811D8" +
-								"3A100F5000E114F1040105110529F0CE01B801A70142" +
-								"3A100F60000E946E07DF91CF911F910F91FF90EF903C" +
-								"3A100F700008950F931F938C01FC01868160E00E940D" +
-								"3A100F8000E40A81E090E00E94600AF801868161E055" +
-								"3A100F90000E94E40A81E090E00E94600AF8018681E4" +
-								"3A100FA00060E00E94E40A84E690E00E94600A1F91DB" +
-								"3A100FB0000F910895CF92DF92EF92FF920F931F93BC" +
-								"3A100FC000CF93DF93D82EC92E282F392FC9018C013A" +
-								"3A100FD000C0E0D0E0E62EFF24F801878161E00E94A6" +
-								"3A100FE000A50AB7010C2E02C0759567950A94E2F721" +
-								"3A100FF0006170F80187810E94E40A21960F5F1F4FFC" +
-								"3A10100000C830D10549F78D2D9C2D0E94B907DF917D" +
-								"3A10101000CF911F910F91FF90EF90DF90CF900895A7" +
-								"3A10102000CF92DF92EF92FF920F931F93CF93DF93B4" +
-								"3A10103000D82EC92E282F392FC9018C01C0E0D0E04D" +
-								"3A10104000E62EFF24F801878161E00E94A50AB7011E" +
-								"3A101050000C2E02C0759567950A94E2F76170F8014D" +
-								"3A1010600087810E94E40A21960F5F1F4FC430D1058B" +
-								"3A1010700049F78D2D9C2D0E94B907DF91CF911F91CB" +
-								"3A101080000F91FF90EF90DF90CF9008951F93CF9333" +
-								"3A10109000DF93EC01162F8C81642F0E94E40A8D816E" +
-								"3A1010A0008F3F19F060E00E94E40A8F8584FF05C03D" +
-								"3A1010B000CE01612F0E94DA070EC0612F70E084E03C" +
-								"3A1010C000759567958A95E1F7CE010E941008CE01CB" +
-								"3A1010D000612F0E941008DF91CF911F91089541E088" +
-								"3A1010E0000E94460881E090E0089540E00E94460892" +
-								"3A1010F0000895FC016089862F8460808B6C60CF012D" +
-								"3A101100000E9475080895DF93CF93CDB7DEB7289777" +
-								"3A101110000FB6F894DEBF0FBECDBF9C01FE01319625" +
-								"3A10112000AEE0B2E088E00D9001928150E1F7F90164" +
-								"3A101130008389481710F0482F4150E42FF0E0EE0F5C" +
-								"3A10114000FF1FEC0FFD1F8181680F6068C9010E94BD" +
-								"3A10115000750828960FB6F894DEBF0FBECDBFCF91AD" +
-								"3A10116000DF91089562E00E94750880ED97E00E948B" +
-								"3A10117000600A089561E00E94750880ED97E00E9482" +
-								"3A10118000600A0895CF93DF93EC01423018F08F8509" +
-								"3A1011900088608F874B8B1C8A222329F0413019F4F9" +
-								"3A1011A0008F8584608F8780E593EC0E94600A8C8134" +
-								"3A1011B00060E00E94E40A8E8160E00E94E40A8D8172" +
-								"3A1011C0008F3F19F060E00E94E40A6F8564FD1DC046" +
-								"3A1011D000CE0163E00E94100884E991E10E94600A58" +
-								"3A1011E000CE0163E00E94100884E991E10E94600A48" +
-								"3A1011F000CE0163E00E94100886E990E00E94600A38" +
-								"3A10120000CE0162E00E94100816C06062CE010E940A" +
-								"3A10121000750884E991E10E94600A6F856062CE01E1" +
-								"3A101220000E94750886E990E00E94600A6F856062FE" +
-								"3A10123000CE010E9475086F856062CE010E9475081C" +
-								"3A1012400084E0888BCE010E947908CE010E94BA0802" +
-								"3A1012500082E0898BCE0166E00E947508DF91CF9114" +
-								"3A1012600008956F927F928F92AF92CF92EF920F93E9" +
-								"3A101270001F93DF93CF93CDB7DEB73C01162F842F9A" +
-								"3A10128000F301448325830683E782C086A186828694" +
-								"3A101290009D8593879E8594879F8595879889968756" +
-								"3A1012A00061E00E94A50AF30185818F3F19F061E09A" +
-								"3A1012B0000E94A50AF301868161E00E94A50A11231C" +
-								"3A1012C00019F0F301178603C080E1F3018787C3019A" +
-								"3A1012D00060E141E020E00E94C208CF91DF911F91C0" +
-								"3A1012E0000F91EF90CF90AF908F907F906F90089577" +
-								"3A1012F0008F92AF92CF92EF920F931F93CF93DF9382" +
-								"3A10130000DC01362F542F722F102FAE2C8C2C1396FD" +
-								"3A101310001C921E9212978AE092E011969C938E93F3" +
-								"3A1013200000D000D0EDB7FEB73196CDB7DEB7198249" +
-								"3A10133000118212821382CD0161E0432F2FEF052F1E" +
-								"3A10134000E72EC12E0E9431090F900F900F900F9041" +
-								"3A10135000DF91CF911F910F91EF90CF90AF908F9031" +
-								"3A1013600008951F920F920FB60F9211242F933F935F" +
-								"3A101370008F939F93AF93BF9380917A0290917B025A" +
-								"3A10138000A0917C02B0917D0230917E020196A11D58" +
-								"3A10139000B11D232F2D5F2D3720F02D570196A11D54" +
-								"3A1013A000B11D20937E0280937A0290937B02A093DA" +
-								"3A1013B0007C02B0937D028091760290917702A09199" +
-								"3A1013C0007802B09179020196A11DB11D8093760239" +
-								"3A1013D00090937702A0937802B0937902BF91AF9176" +
-								"3A1013E0009F918F913F912F910F900FBE0F901F9063" +
-								"3A1013F00018958FB7F89420917A0230917B02409132" +
-								"3A101400007C0250917D028FBFB901CA0108959B01F2" +
-								"3A10141000AC017FB7F8948091760290917702A09109" +
-								"3A101420007802B091790266B5A89B05C06F3F19F0AC" +
-								"3A101430000196A11DB11D7FBFBA2FA92F982F882714" +
-								"3A10144000860F911DA11DB11D62E0880F991FAA1F73" +
-								"3A10145000BB1F6A95D1F7BC012DC0FFB7F8948091EE" +
-								"3A10146000760290917702A0917802B0917902E6B568" +
-								"3A10147000A89B05C0EF3F19F00196A11DB11DFFBF4C" +
-								"3A10148000BA2FA92F982F88278E0F911DA11DB11D4E" +
-								"3A10149000E2E0880F991FAA1FBB1FEA95D1F7861BB0" +
-								"3A1014A000970B885E9340C8F2215030404040504036" +
-								"3A1014B00068517C4F211531054105510571F608959C" +
-								"3A1014C000019739F0880F991F880F991F029701978C" +
-								"3A1014D000F1F70895789484B5826084BD84B5816005" +
-								"3A1014E00084BD85B5826085BD85B5816085BDEEE62C" +
-								"3A1014F000F0E0808181608083E1E8F0E0108280810B" +
-								"3A1015000082608083808181608083E0E8F0E0808178" +
-								"3A1015100081608083E1EBF0E0808184608083E0EB98" +
-								"3A10152000F0E0808181608083EAE7F0E08081846080" +
-								"3A1015300080838081826080838081816080838081DC" +
-								"3A10154000806880831092C1000895CF93DF93482F65" +
-								"3A1015500050E0CA0186569F4FFC0134914A575F4FB5" +
-								"3A10156000FA018491882369F190E0880F991FFC01AA" +
-								"3A10157000E859FF4FA591B491FC01EE58FF4FC5917A" +
-								"3A10158000D491662351F42FB7F8948C91932F9095B2" +
-								"3A1015900089238C93888189230BC0623061F42FB733" +
-								"3A1015A000F8948C91932F909589238C938881832B29" +
-								"3A1015B00088832FBF06C09FB7F8948C91832B8C93A0" +
-								"3A1015C0009FBFDF91CF910895482F50E0CA01825507" +
-								"3A1015D0009F4FFC012491CA0186569F4FFC019491B4" +
-								"3A1015E0004A575F4FFA013491332309F440C0222354" +
-								"3A1015F00051F1233071F0243028F42130A1F0223051" +
-								"3A1016000011F514C02630B1F02730C1F02430D9F4E0" +
-								"3A1016100004C0809180008F7703C0809180008F7D0F" +
-								"3A101620008093800010C084B58F7702C084B58F7D11" +
-								"3A1016300084BD09C08091B0008F7703C08091B00055" +
-								"3A101640008F7D8093B000E32FF0E0EE0FFF1FEE5888" +
-								"3A10165000FF4FA591B4912FB7F894662321F48C9194" +
-								"3A101660009095892302C08C91892B8C932FBF08956C" +
-								"3A10167000682F70E0CB0182559F4FFC012491CB0174" +
-								"3A1016800086569F4FFC0144916A577F4FFB0194910E" +
-								"3A10169000992319F420E030E03CC0222351F123309B" +
-								"3A1016A00071F0243028F42130A1F0223011F514C05B" +
-								"3A1016B0002630B1F02730C1F02430D9F404C0809135" +
-								"3A1016C00080008F7703C0809180008F7D80938000A1" +
-								"3A1016D00010C084B58F7702C084B58F7D84BD09C0EA" +
-								"3A1016E0008091B0008F7703C08091B0008F7D809390" +
-								"3A1016F000B000892F90E0880F991F84589F4FFC01FC" +
-								"3A10170000A591B4918C9120E030E0842311F021E088" +
-								"3A1017100030E0C90108951F920F920FB60F92112465" +
-								"3A101720002F933F934F938F939F93EF93FF938091CA" +
-								"3A10173000C00082FD1DC04091C6002091BF023091C3" +
-								"3A10174000C0022F5F3F4F2F7330708091C102909184" +
-								"3A10175000C2022817390771F0E091BF02F091C00270" +
-								"3A10176000E158FD4F40833093C0022093BF0202C076" +
-								"3A101770008091C600FF91EF919F918F914F913F9182" +
-								"3A101780002F910F900FBE0F901F901895E0911303AB" +
-								"3A10179000F0911403E05CFF4F8191919120813181A0" +
-								"3A1017A000821B930B8F739070892B11F00E94BD02E6" +
-								"3A1017B00008951F920F920FB60F9211242F933F930B" +
-								"3A1017C0008F939F93EF93FF93209103033091040332" +
-								"3A1017D00080910503909106032817390731F4809111" +
-								"3A1017E000C1008F7D8093C10014C0E0910503F0918A" +
-								"3A1017F0000603ED53FD4F2081809105039091060370" +
-								"3A1018000001968F7390709093060380930503209345" +
-								"3A10181000C600FF91EF919F918F913F912F910F9073" +
-								"3A101820000FBE0F901F901895AF92BF92DF92EF926C" +
-								"3A10183000FF920F931F93CF93DF93EC017A018B01FB" +
-								"3A10184000DD24403081EE580780E0680780E07807AB" +
-								"3A1018500011F0DD24D39491E0A92EB12CEC89FD89FF" +
-								"3A10186000DD2069F0C50108A002C0880F991F0A9405" +
-								"3A10187000E2F7808360E079E08DE390E005C01082BC" +
-								"3A1018800060E874E88EE190E0A80197010E94BE1123" +
-								"3A101890002150304040405040569547953795279508" +
-								"3A1018A00080E12030380720F0DD2011F0DD24D6CF94" +
-								"3A1018B000E889F9893083EA89FB89208319A2EE89B6" +
-								"3A1018C000FF89408121E030E0C9010C8C02C0880F03" +
-								"3A1018D000991F0A94E2F7482B4083EE89FF894081E3" +
-								"3A1018E000C9010D8C02C0880F991F0A94E2F7482B9A" +
-								"3A1018F0004083EE89FF894081C9010E8C02C0880FA8" +
-								"3A10190000991F0A94E2F7482B4083EE89FF89808172" +
-								"3A101910000F8C02C0220F331F0A94E2F72095282370" +
-								"3A101920002083DF91CF911F910F91FF90EF90DF9077" +
-								"3A10193000BF90AF900895DC011C96ED91FC911D972E" +
-								"3A10194000E05CFF4F2191319180819181281B390BFF" +
-								"3A101950002F733070C9010895DC011C96ED91FC9144" +
-								"3A101960001D97E05CFF4F20813181E054F040DF01A2" +
-								"3A10197000AE5BBF4F8D919C9111972817390719F4D1" +
-								"3A101980002FEF3FEF07C08D919C91E80FF91F8081E9" +
-								"3A10199000282F30E0C9010895DC011C96ED91FC91DF" +
-								"3A1019A0001D97E05CFF4F20813181E054F040DF0162" +
-								"3A1019B000AE5BBF4F8D919C9111972817390719F491" +
-								"3A1019C0002FEF3FEF10C08D919C911197E80FF91FF9" +
-								"3A1019D00020818D919C91119701968F739070119633" +
-								"3A1019E0009C938E9330E0C9010895DC0191968C910F" +
-								"3A1019F0009197882339F05496ED91FC915597808109" +
-								"3A101A000086FFF9CF91961C920895CF93DF93EC0156" +
-								"3A101A1000EE85FF85E05CFF4F20813181E054F0408E" +
-								"3A101A20002F5F3F4F2F733070DF01AE5BBF4F8D9143" +
-								"3A101A30009C91119728173907D1F3E05CFF4F808103" +
-								"3A101A40009181E054F040E80FF91F6083EE85FF8537" +
-								"3A101A5000E05CFF4F31832083EE89FF89208181E0A4" +
-								"3A101A600090E00F8C02C0880F991F0A94E2F7282B90" +
-								"3A101A7000208381E089A3EC89FD8980818064808353" +
-								"3A101A800081E090E0DF91CF91089510920A031092C7" +
-								"3A101A9000090388EE93E0A0E0B0E080930B039093FD" +
-								"3A101AA0000C03A0930D03B0930E038AE192E0909390" +
-								"3A101AB0000803809307038FE792E0909314038093C9" +
-								"3A101AC000130383EC92E0909316038093150385EC47" +
-								"3A101AD00090E0909318038093170384EC90E0909328" +
-								"3A101AE0001A038093190380EC90E090931C03809379" +
-								"3A101AF0001B0381EC90E090931E0380931D0382EC06" +
-								"3A101B000090E09093200380931F0386EC90E09093E5" +
-								"3A101B100022038093210384E08093230383E0809356" +
-								"3A101B2000240387E08093250385E08093260381E0EA" +
-								"3A101B3000809327030895CF93DF930E946A0A0E943F" +
-								"3A101B4000C202C6ECDBE00E9477022097E1F30E941C" +
-								"3A101B5000C60BF9CFCF92DF92EF92FF920F931F93B4" +
-								"3A101B6000CF93DF937C016B018A01C0E0D0E00FC00E" +
-								"3A101B7000D6016D916D01D701ED91FC910190F0813D" +
-								"3A101B8000E02DC7010995C80FD91F0150104001155C" +
-								"3A101B9000110571F7CE01DF91CF911F910F91FF9049" +
-								"3A101BA000EF90DF90CF900895DC01ED91FC910190D2" +
-								"3A101BB000F081E02D09950895CF93DF93EC01611535" +
-								"3A101BC000710519F420E030E00FC0DB010D9000201A" +
-								"3A101BD000E9F71197A61BB70BE881F9810280F38121" +
-								"3A101BE000E02DAD0109959C01C901DF91CF910895C8" +
-								"3A101BF0000E94DC0D0895813041F0813018F0823070" +
-								"3A101C0000D1F409C010926E00089580916F008D7F0D" +
-								"3A101C100080936F000895809170008D7F8093700095" +
-								"3A101C200081E08093B0008091B100887F84608093D0" +
-								"3A101C3000B1001092B30008951F93182F80910502F0" +
-								"3A101C4000811711F09FEF06C0E2ECF0E094918FEF66" +
-								"3A101C500080930502892F0E94FB0D812F60E00E9476" +
-								"3A101C6000E40A1F9108951F920F920FB60F9211244C" +
-								"3A101C70002F933F934F935F936F937F938F939F9394" +
-								"3A101C8000AF93BF93EF93FF93809137039091380305" +
-								"3A101C9000A0913903B0913A030097A105B10551F124" +
-								"3A101CA000E0913B03F0913C03808190913D038927B3" +
-								"3A101CB00080838091370390913803A0913903B091CC" +
-								"3A101CC0003A03181619061A061B06C4F48091370346" +
-								"3A101CD00090913803A0913903B0913A030197A1097B" +
-								"3A101CE000B1098093370390933803A0933903B093DD" +
-								"3A101CF0003A0304C0809105020E941C0EFF91EF91EF" +
-								"3A101D0000BF91AF919F918F917F916F915F914F9113" +
-								"3A101D10003F912F910F900FBE0F901F9018952F920B" +
-								"3A101D20003F925F926F927F928F929F92AF92BF92FB" +
-								"3A101D3000CF92DF92EF92FF920F931F93DF93CF9397" +
-								"3A101D400000D000D0CDB7DEB7A82F1B0129833A837E" +
-								"3A101D50004B835C83809105028A1721F4E2ECF0E06A" +
-								"3A101D6000549082C08F3F09F0DAC1A0930502E2ECE3" +
-								"3A101D7000F0E054902FEF521609F4D1C181E05816CB" +
-								"3A101D800039F192E0591609F449C0552009F06CC0A8" +
-								"3A101D900014BC15BC84B5826084BD85B5816085BDE9" +
-								"3A101DA0002A2F30E0F901EA57FF4FE491F0E0EE0FFF" +
-								"3A101DB000FF1FEE58FF4F8591949190932E038093CF" +
-								"3A101DC0002D0326563F4FF901849180932F034EC077" +
-								"3A101DD0001092800010928100809181008860809331" +
-								"3A101DE0008100809181008160809381002A2F30E002" +
-								"3A101DF000F901EA57FF4FE491F0E0EE0FFF1FEE58B4" +
-								"3A101E0000FF4F859194919093350380933403265628" +
-								"3A101E10003F4FF90184918093360328C01092B0009F" +
-								"3A101E20001092B1008091B00082608093B0008091E8" +
-								"3A101E3000B10081608093B1002A2F30E0F901EA57A8" +
-								"3A101E4000FF4FE491F0E0EE0FFF1FEE58FF4F85913A" +
-								"3A101E5000949190933C0380933B0326563F4FF901A6" +
-								"3A101E6000849180933D0302C057FC59C18A2F61E0E1" +
-								"3A101E70000E94A50A552021F0F2E05F1609F0BEC0CD" +
-								"3A101E800031018824992460E072E18AE790E0A4019E" +
-								"3A101E900093010E94E01159016A01860175010894BD" +
-								"3A101EA000E108F108010911092FEFE216F10401051B" +
-								"3A101EB000110509F008F499C060E472E48FE090E045" +
-								"3A101EC000A40193010E94E01179018A010894E108BC" +
-								"3A101ED000F1080109110982E05816C1F49FEFE916D3" +
-								"3A101EE000F1040105110509F008F484C060E970ED02" +
-								"3A101EF00083E090E0A40193010E94E01179018A013E" +
-								"3A101F00000894E108F1080109110983E0AFEFEA162E" +
-								"3A101F1000F1040105110509F008F468C068E478EEE1" +
-								"3A101F200081E090E0A40193010E94E01179018A010F" +
-								"3A101F30000894E108F10801091109552011F483E022" +
-								"3A101F40001DC0B2E05B1611F084E018C0EFEFEE1692" +
-								"3A101F5000F1040105110509F008F4DFC064E274EF33" +
-								"3A101F600080E090E0A40193010E94E01179018A01D0" +
-								"3A101F70000894E108F1080109110985E0FFEFEF1667" +
-								"3A101F8000F1040105110591F188F162E17AE780E041" +
-								"3A101F900090E0A40193010E94E01179018A01089464" +
-								"3A101FA000E108F10801091109552011F086E001C08E" +
-								"3A101FB00084E02FEFE216F10401051105B9F0B0F04D" +
-								"3A101FC000C601B50120E034E040E050E00E94E0119D" +
-								"3A101FD00079018A010894E108F108010911095520E5" +
-								"3A101FE00011F087E008C085E003C081E0552019F4B6" +
-								"3A101FF00085BD3AC082E08093B10036C05101CC2447" +
-								"3A10200000DD2460E072E18AE790E0A60195010E947C" +
-								"3A10201000E01179018A010894E108F1080109110928" +
-								"3A1020200080E0E81680E0F80681E0080780E0180705" +
-								"3A1020300010F491E010C068E478EE81E090E0A60131" +
-								"3A1020400095010E94E01179018A010894E108F108E4" +
-								"3A102050000109110993E0A1E05A1631F48091810041" +
-								"3A10206000887F982B9093810089819A81AB81BC8174" +
-								"3A102070000097A105B10529F48FEF9FEFAFEFBFEFF8" +
-								"3A1020800013C0220C331CB10180E090E029813A8119" +
-								"3A102090004B815C810E949F1128EE33E040E050E0CC" +
-								"3A1020A0000E94BE11C901DA01E1E05E16A1F0F2E082" +
-								"3A1020B0005F1619F1552099F5E7BC80932903909399" +
-								"3A1020C0002A03A0932B03B0932C0380916E008260AF" +
-								"3A1020D00080936E0024C0F0928900E0928800809383" +
-								"3A1020E000300390933103A0933203B0933303809174" +
-								"3A1020F0006F00826080936F0012C0E092B300809303" +
-								"3A10210000370390933803A0933903B0933A03809137" +
-								"3A10211000700082608093700002C084E06CCF0F90EA" +
-								"3A102120000F900F900F90CF91DF911F910F91FF9023" +
-								"3A10213000EF90DF90CF90BF90AF909F908F907F9067" +
-								"3A102140006F905F903F902F900895FC019B018481D8" +
-								"3A1021500095816817790728F460817181611571058F" +
-								"3A1021600029F410923E036EE373E002C0620F731F06" +
-								"3A10217000CB0108950F931F93CF93DF93EC018B0155" +
-								"3A102180006F5F7F4F888199810E949101009711F4C0" +
-								"3A1021900080E005C0998388831B830A8381E0DF91F7" +
-								"3A1021A000CF911F910F910895CF93DF93EC01888118" +
-								"3A1021B0009981892B29F08A819B818617970760F482" +
-								"3A1021C000CE010E94BA10882341F08C819D81892B19" +
-								"3A1021D00019F4E881F981108281E0DF91CF910895AF" +
-								"3A1021E000EF92FF920F931F93CF93DF93EC017B014C" +
-								"3A1021F0006C817D81E114F104C1F04115510599F024" +
-								"3A102200008A01060F171FB8010E94D410882369F0B5" +
-								"3A10221000888199812C813D81820F931FB7010E9493" +
-								"3A102220006F021D830C8381E001C080E0DF91CF91BC" +
-								"3A102230001F910F91FF90EF9008956115710511F4B2" +
-								"3A1022400080E00895DB010D900020E9F71197A61BAF" +
-								"3A10225000B70BAD010E94F0100895FB016081718100" +
-								"3A10226000448155810E94F0100895CF93DF93EC01D3" +
-								"3A1022700088819981009711F00E9439011982188292" +
-								"3A102280001D821C821B821A82DF91CF910895EF92EA" +
-								"3A10229000FF920F931F93CF93DF93EC017B018A0191" +
-								"3A1022A000BA010E94D410882321F4CE010E94351176" +
-								"3A1022B00007C01D830C8388819981B7010E946F023A" +
-								"3A1022C000CE01DF91CF911F910F91FF90EF90089574" +
-								"3A1022D000CF93DF93EC01198218821B821A821D8230" +
-								"3A1022E0001C821E826115710551F0DB010D900020EA" +
-								"3A1022F000E9F71197A61BB70BAD010E944711DF91BB" +
-								"3A10230000CF910895CF93DF93EC01FB0186179707D8" +
-								"3A1023100061F0608171816115710529F044815581F9" +
-								"3A102320000E94471102C00E943511CE01DF91CF916A" +
-								"3A102330000895FC01808191810E9439010895629F76" +
-								"3A10234000D001739FF001829FE00DF11D649FE00DAD" +
-								"3A10235000F11D929FF00D839FF00D749FF00D659F0E" +
-								"3A10236000F00D9927729FB00DE11DF91F639FB00D0D" +
-								"3A10237000E11DF91FBD01CF0111240895A1E21A2E1C" +
-								"3A10238000AA1BBB1BFD010DC0AA1FBB1FEE1FFF1F19" +
-								"3A10239000A217B307E407F50720F0A21BB30BE40B69" +
-								"3A1023A000F50B661F771F881F991F1A9469F76095B0" +
-								"3A1023B0007095809590959B01AC01BD01CF0108956A" +
-								"3A1023C00097FB092E05260ED057FD04D0D7DF0AD083" +
-								"3A1023D000001C38F450954095309521953F4F4F4F54" +
-								"3A1023E0005F4F0895F6F790958095709561957F4FB2" +
-								"3A1023F0008F4F9F4F0895EE0FFF1F0590F491E02D32" +
-								"3A1024000009942F923F924F925F926F927F928F9298" +
-								"3A102410009F92AF92BF92CF92DF92EF92FF920F9373" +
-								"3A102420001F93CF93DF93CDB7DEB7CA1BDB0B0FB67D" +
-								"3A10243000F894DEBF0FBECDBF09942A88398848883A" +
-								"3A102440005F846E847D848C849B84AA84B984C884D0" +
-								"3A10245000DF80EE80FD800C811B81AA81B981CE0FC7" +
-								"3A10246000D11D0FB6F894DEBF0FBECDBFED010895AC" +
-								"3A1024700010E0C8ECD0E004C0FE010E94FD112296DD" +
-								"3A0A248000CA3CD107C9F7F894FFCF5A" +
-								"3A10248A00754353530076302E316100444154410064" +
-								"3A10249A0000524553455400535045414B4552003371" +
-								"3A1024AA00004C43445F53435245454E00694A6163B9" +
-								"3A1024BA006B657420436C6F6E65005363616E2051C7" +
-								"3A1024CA005220746167004C45445F4C414D500032C4" +
-								"3A1024DA002C313300687474703A2F2F666F6C6B2E30" +
-								"3A1024EA006E746E752E6E6F2F737661727661612FC0" +
-								"3A1024FA007574696C732F70726F327777772F2361D7" +
-								"3A10250A007070496431004F534E4150204A61636BE9" +
-								"3A10251A0065740024242400552C002C4E00007B22D4" +
-								"3A10252A006E616D65223A2200222C00227665727352" +
-								"3A10253A00696F6E223A220022736572766963657347" +
-								"3A10254A00223A205B005D2C00226C696E6B73223A82" +
-								"3A10255A00205B005D7D002C2000222C20226C696EFD" +
-								"3A10256A006B223A2200227D007B20226964223A20D3" +
-								"3A10257A002200222C202270696E7322203A22002027" +
-								"3A10258A000043030000FF000000006F08AA0D0000CE" +
-								"3A10259A0040001400540000000000050DAA0D9B0C19" +
-								"3A0625AA00CC0CAC0CF50C9A" +
-								"3A00000001FF";
+								":100000000C9465000C948D000C948D000C948D0064\n" +
+								":100010000C948D000C948D000C948D000C94330E78\n" +
+								":100020000C948D000C948D000C948D000C948D001C\n" +
+								":100030000C948D000C948D000C948D000C948D000C\n" +
+								":100040000C94B1090C948D000C948B0B0C94D90B6F\n" +
+								":100050000C948D000C948D000C948D000C948D00EC\n" +
+								":100060000C948D000C948D000000000024002700EB\n" +
+								":100070002A0000000000250028002B0000000000DE\n" +
+								":1000800023002600290004040404040404040202DA\n" +
+								":100090000202020203030303030301020408102007\n" +
+								":1000A0004080010204081020010204081020000012\n" +
+								":1000B0000007000201000003040600000000000029\n" +
+								":1000C00000000200B602450DAF0211241FBECFEFA3\n" +
+								":1000D000D8E0DEBFCDBF12E0A0E0B1E0EAE8F4E294\n" +
+								":1000E00002C005900D92A632B107D9F713E0A6E23F\n" +
+								":1000F000B2E001C01D92A334B107E1F710E0C8ECF3\n" +
+								":10010000D0E004C02297FE010E94FD11C43CD1073B\n" +
+								":10011000C9F70E949B0D0C9438120C940000CF93E9\n" +
+								":10012000DF93BC018230910510F462E070E0A09191\n" +
+								":100130004103B0914203ED01E0E0F0E040E050E027\n" +
+								":1001400021C0888199818617970769F48A819B81EC\n" +
+								":10015000309719F09383828304C090934203809375\n" +
+								":100160004103FE0134C06817790738F44115510581\n" +
+								":1001700019F08417950708F4AC01FE018A819B8170\n" +
+								":100180009C01E9012097E9F641155105A9F1CA0141\n" +
+								":10019000861B970B049708F4BA01E0E0F0E02AC050\n" +
+								":1001A0008D919C91119784179507F9F46417750741\n" +
+								":1001B00081F412968D919C911397309719F0938347\n" +
+								":1001C000828304C09093420380934103FD013296E1\n" +
+								":1001D0004CC0CA01861B970BFD01E80FF91F619304\n" +
+								":1001E000719302978D939C9340C0FD01828193810E\n" +
+								":1001F0009C01D9011097A1F680913F039091400393\n" +
+								":10020000892B41F480910102909102029093400366\n" +
+								":1002100080933F0340910302509104024115510520\n" +
+								":1002200041F44DB75EB78091FF0190910002481BE9\n" +
+								":10023000590B20913F0330914003CA01821B930B5D\n" +
+								":100240008617970780F0AB014E5F5F4F84179507C5\n" +
+								":1002500050F0420F531F5093400340933F03F90166\n" +
+								":100260006193719302C0E0E0F0E0CF01DF91CF91A4\n" +
+								":100270000895CF93DF93009709F450C0EC012297C3\n" +
+								":100280001B821A82A0914103B0914203109709F199\n" +
+								":1002900040E050E0AC17BD0708F1BB83AA83FE0124\n" +
+								":1002A00021913191E20FF31FAE17BF0779F48D91C1\n" +
+								":1002B0009C911197280F391F2E5F3F4F3983288358\n" +
+								":1002C00012968D919C9113979B838A8341155105BA\n" +
+								":1002D00071F4D0934203C093410320C012968D91D4\n" +
+								":1002E0009C911397AD01009711F0DC01D3CFFA0177\n" +
+								":1002F000D383C28321913191E20FF31FCE17DF0721\n" +
+								":1003000069F488819981280F391F2E5F3F4FFA01C8\n" +
+								":10031000318320838A819B8193838283DF91CF9174\n" +
+								":100320000895A0E0B0E0E7E9F1E00C9403126C015D\n" +
+								":10033000009729F4CB010E948F006C01C1C08EEFA1\n" +
+								":10034000882E8FEF982E8C0C9D1C8601060F171F90\n" +
+								":100350000815190508F4B2C0F401A081B181A617EF\n" +
+								":10036000B707B8F0A530B10508F4AAC0CD010497CD\n" +
+								":100370008617970708F4A4C01297A61BB70BF801BD\n" +
+								":10038000A193B193D4016D937C93CF010E94390165\n" +
+								":1003900097C07B01EA1AFB0AEEEFFFEFEE0EFF1E9D\n" +
+								":1003A00036016A0E7B1EC0914103D0914203442462\n" +
+								":1003B0005524AA24BB244AC0C615D705E1F54881B7\n" +
+								":1003C00059814E155F05B8F1CA0104978E159F0536\n" +
+								":1003D000B0F41296A40FB51FF401B183A0832A8153\n" +
+								":1003E0003B814114510431F0D20113963C932E937A\n" +
+								":1003F000129766C0309342032093410361C08A8103\n" +
+								":100400009B81F80193838283425050404E195F09CB\n" +
+								":10041000518340834114510431F0D20113961C934F\n" +
+								":100420000E93129704C01093420300934103F4010A\n" +
+								":100430007183608345C088819981A816B90608F444\n" +
+								":100440005C012E018A819B819C01E901209709F0C2\n" +
+								":10045000B3CF80913F039091400386159705E9F44F\n" +
+								":10046000A616B706D0F4209103023091040221159C\n" +
+								":10047000310541F42DB73EB78091FF019091000204\n" +
+								":10048000281B390B02171307C8F41093400300937D\n" +
+								":100490003F03D4016D937C9313C0CB010E948F0066\n" +
+								":1004A000EC01009759F0F40140815181B6010E949E\n" +
+								":1004B0006602C6010E9439016E0102C0CC24DD240F\n" +
+								":1004C000C601CDB7DEB7E0E10C941F12FB01DC01E1\n" +
+								":1004D00002C001900D9241505040D8F70895FB01A1\n" +
+								":1004E000DC0101900D920020E1F708950895089530\n" +
+								":1004F000CF92EF920F9381309105C1F46F5F7F4FE0\n" +
+								":1005000051F586E292E040E050E060E070E00E9449\n" +
+								":10051000880784E592E067E048E029E00AE05BE0D4\n" +
+								":10052000E52E3CE0C32E0E94780915C0892B99F472\n" +
+								":100530006F5F7F4F81F48DE492E00E94991186E411\n" +
+								":1005400092E00E9499118FE392E00E94991188E352\n" +
+								":1005500092E00E9499110F91EF90CF90089580E062\n" +
+								":1005600090E06FEF7FEF0E947802089581E090E0C5\n" +
+								":100570006FEF7FEF0E947802089586E292E00E947A\n" +
+								":10058000F7050895EF92FF920F931F93DF93CF9398\n" +
+								":10059000CDB7DEB72E970FB6F894DEBF0FBECDBF36\n" +
+								":1005A00066E2E62E62E0F62EC70140E052EC61E022\n" +
+								":1005B00070E00E946E0784E061E00E94A50A84E07A\n" +
+								":1005C00061E00E94E40A8E010F5F1F4FC80160E0E6\n" +
+								":1005D00071E00E946811C701B8010E946A07C80152\n" +
+								":1005E0000E9499118E01085F1F4FC80165E071E0FC\n" +
+								":1005F0000E946811C701B8010E946607C8010E94E5\n" +
+								":10060000991100E111E0C7016BE071E0A8010E94BF\n" +
+								":100610002E07C70163E043E753E00E941D04C701B2\n" +
+								":1006200061E171E0A8010E942E07C7016FEF46E764\n" +
+								":1006300052E00E941D04C70167E171E04FE151E003\n" +
+								":100640000E942E07C70167E049E953E00E941D049C\n" +
+								":10065000C70161E271E0A8010E942E07C70161E0B5\n" +
+								":1006600049ED53E00E941D0404E512E0C80160E179\n" +
+								":1006700042E020E00E94C208C80160E040E00E9421\n" +
+								":100680008308C8016CE271E00E94F80DC80160E0C7\n" +
+								":1006900041E00E948308C8016AE371E00E94F80DFE\n" +
+								":1006A000C70166E471E04FE451E00E942E0782E04A\n" +
+								":1006B00061E00E94A50A8DE061E00E94A50AC701E1\n" +
+								":1006C00064E571E046E851E00E94F6062E960FB60A\n" +
+								":1006D000F894DEBF0FBECDBFCF91DF911F910F9178\n" +
+								":1006E000FF90EF9008950F931F93CF93DF93C0E097\n" +
+								":1006F000D0E0082F10E015C08DE061E00E94E40A10\n" +
+								":1007000064E670E080E090E00E94070A8DE060E01F\n" +
+								":100710000E94E40A64E670E080E090E00E94070A2C\n" +
+								":100720002196C017D10744F3DF91CF911F910F910C\n" +
+								":10073000089583E068EC70E020E030E040E050E0B5\n" +
+								":100740000E948F0E64E670E080E090E00E94070A4D\n" +
+								":1007500083E068E572E020E030E040E050E00E9495\n" +
+								":100760008F0E64E670E080E090E00E94070A83E06C\n" +
+								":1007700066E475E020E030E040E050E00E948F0E3B\n" +
+								":1007800068EC70E080E090E00E94070A83E068EC8B\n" +
+								":1007900070E020E030E040E050E00E948F0E64E620\n" +
+								":1007A00070E080E090E00E94070A83E00E941C0E47\n" +
+								":1007B0000895CF92DF92EF92FF921F93CF93DF9332\n" +
+								":1007C0006B017A0184E592E00E94BA0884E592E028\n" +
+								":1007D0000E94B20810E0C0E0D0E021C0F601EC0FAA\n" +
+								":1007E000FD1F60816A3039F484E592E060E041E009\n" +
+								":1007F0000E94830812C084E592E00E94D40D112368\n" +
+								":1008000049F4CF30D10554F084E592E060E041E056\n" +
+								":100810000E948308CF31D1052CF411E02196CE152A\n" +
+								":10082000DF05E0F2DF91CF911F91FF90EF90DF9015\n" +
+								":10083000CF90089580E090E00895E62FF0E03196A3\n" +
+								":10084000EE0FFF1FE80FF91F51834083089584E0E6\n" +
+								":1008500060E00E94E40A0895CF92DF92EF92FF9247\n" +
+								":100860001F93CF93DF93162F6A01790187E093E0FE\n" +
+								":100870006FEF0E94050D87E093E06F2D0E94050D3C\n" +
+								":1008800087E093E06E2D0E94050D87E093E06EEF08\n" +
+								":100890000E94050D87E093E0612F0E94050DC0E0E6\n" +
+								":1008A000D0E009C0F601EC0FFD1F87E093E0608106\n" +
+								":1008B0000E94050D2196CE15DF05A0F3DF91CF91A3\n" +
+								":1008C0001F91FF90EF90DF90CF9008950F931F93AB\n" +
+								":1008D000CF93DF93EC01062F142F862F61E00E9447\n" +
+								":1008E000A50A60E0111161E0802F0E94E40ACE01A8\n" +
+								":1008F00065E040E050E020E030E00E942C04DF9111\n" +
+								":10090000CF911F910F910895EF92FF921F93DF9364\n" +
+								":10091000CF930F92CDB7DEB77C01162F862F60E004\n" +
+								":100920000E94A50A812F0E94380B198218161906F9\n" +
+								":1009300014F481E08983C70164E0AE014F5F5F4F2B\n" +
+								":1009400021E030E00E942C040F90CF91DF911F91A5\n" +
+								":10095000FF90EF9008950F931F93CF93DF938C0137\n" +
+								":10096000DB01842FE801E885F985B901AD0109951E\n" +
+								":10097000C80163E040E050E020E030E00E942C0439\n" +
+								":10098000DF91CF911F910F910895CF92DF92EF9257\n" +
+								":10099000FF920F931F93DF93CF9300D0CDB7DEB7B5\n" +
+								":1009A0006C01862FD6011696ED91FC9117977E016A\n" +
+								":1009B0000894E11CF11CB70140E050E009958C015E\n" +
+								":1009C000FC019081818189839A83C60162E0A7013D\n" +
+								":1009D00022E030E00E942C04C8010E9439010F90EF\n" +
+								":1009E0000F90CF91DF911F910F91FF90EF90DF90CB\n" +
+								":1009F000CF9008950F931F93CF93DF938C01DB016A\n" +
+								":100A0000842FE801EC81FD81B901AD010995C80190\n" +
+								":100A100061E040E050E020E030E00E942C04DF91F3\n" +
+								":100A2000CF911F910F91089560E040E050E020E0E9\n" +
+								":100A300030E00E942C040895CF92DF92EF92FF9253\n" +
+								":100A40000F931F93DF93CF93CDB7DEB727970FB6E2\n" +
+								":100A5000F894DEBF0FBECDBF7C018E010F5F1F4F2C\n" +
+								":100A6000C8016DE971E00E946811C8016EE971E08A\n" +
+								":100A70000E941D1182E190E0E80EF91EC801B70145\n" +
+								":100A80000E942D11C80168EA71E00E941D11C80181\n" +
+								":100A90006BEA71E00E941D1187E090E0E80EF91EFC\n" +
+								":100AA000C801B7010E942D11C80168EA71E00E94D7\n" +
+								":100AB0001D11C80167EB71E00E941D1187E090E0F5\n" +
+								":100AC000E80EF91EC801B7010E942D11C80165EC9E\n" +
+								":100AD00071E00E941D11C80168EC71E00E941D11B7\n" +
+								":100AE00087E090E0E80EF91EC801B7010E942D11C1\n" +
+								":100AF000C80163ED71E00E941D11CD80DE8087E0AA\n" +
+								":100B000093E06FEF0E94050D87E093E06D2D0E944A\n" +
+								":100B1000050D87E093E06C2D0E94050D87E093E0C2\n" +
+								":100B20006EEF0E94050D87E093E066E00E94050DE0\n" +
+								":100B3000EE24FF2410C0C801B7010E94A510FC01DB\n" +
+								":100B40006081772767FD709587E093E00E94050D2F\n" +
+								":100B50000894E11CF11CEC14FD0468F3C8010E9428\n" +
+								":100B6000991127960FB6F894DEBF0FBECDBFCF9177\n" +
+								":100B7000DF911F910F91FF90EF90DF90CF9008953C\n" +
+								":100B80000F931F93F8014330E1F0443028F44130D3\n" +
+								":100B900079F0423090F409C04530E1F04530B0F0D2\n" +
+								":100BA0004630E9F04F3F01F51DC00E9414051CC0FE\n" +
+								":100BB000422F98010E94FA0417C0622F0E94C504B8\n" +
+								":100BC00013C0422F98010E94AB040EC0622F0E94F6\n" +
+								":100BD00084040AC0622F40810E94660405C00E94FE\n" +
+								":100BE0001C0502C00E9427041F910F9108956F9267\n" +
+								":100BF0007F928F929F92AF92BF92CF92DF92EF92AD\n" +
+								":100C0000FF920F931F93CF93DF93EC010E94F9099A\n" +
+								":100C100020917002309171024091720250917302E2\n" +
+								":100C2000261737074807590750F4809174029091AE\n" +
+								":100C30007502892B21F010927502109274020E94A5\n" +
+								":100C4000F9096053784F8F4F9F4F609370027093F4\n" +
+								":100C50007102809372029093730273E0672E712C7D\n" +
+								":100C600065E0862E912C54E0A52EB12C41E0C42ED7\n" +
+								":100C7000D12C32E0E32EF12CA3C08091740290912C\n" +
+								":100C8000750282309105C1F18330910534F40097EB\n" +
+								":100C900081F0019709F08FC022C08430910509F4DA\n" +
+								":100CA00053C0843091050CF444C0059709F083C00B\n" +
+								":100CB00056C087E093E00E94CC0C8F3F910509F06D\n" +
+								":100CC0007AC0D0927502C092740280916A029091AB\n" +
+								":100CD0006B02009709F46FC00E9439016CC087E075\n" +
+								":100CE00093E00E94CC0C10926E0280936F02F092FF\n" +
+								":100CF0007502E09274025FC000916E0210916F0263\n" +
+								":100D000087E093E00E94CC0C90E0802B912B909395\n" +
+								":100D10006F0280936E0270927502609274020E945C\n" +
+								":100D20008F0090936B0280936A02009709F043C092\n" +
+								":100D30003EC087E093E00E94CC0C80936D02B0929D\n" +
+								":100D40007502A092740237C087E093E00E94CC0C39\n" +
+								":100D500080936C0290927502809274022CC08091F4\n" +
+								":100D6000690200916A0210916B02080F111D87E061\n" +
+								":100D700093E00E94CC0CF8018083809169028F5F20\n" +
+								":100D80008093690260916E0270916F0290E0861705\n" +
+								":100D9000970788F000916A0210916B02CE01409192\n" +
+								":100DA0006D0220916C020E94C0051092690210929F\n" +
+								":100DB00075021092740288819981019699838883C3\n" +
+								":100DC00087E093E00E949B0C892B09F056CFDF91BE\n" +
+								":100DD000CF911F910F91FF90EF90DF90CF90BF9038\n" +
+								":100DE000AF909F908F907F906F900895CF92DF92F9\n" +
+								":100DF000EF92FF920F931F93CF93DF93EC016B0160\n" +
+								":100E00007A018BA59CA5892B31F0CE01879666EDE2\n" +
+								":100E100071E00E941D118E01095D1F4FC8016EE92E\n" +
+								":100E200071E00E941D11C801B7010E941D11C80187\n" +
+								":100E300069ED71E00E941D11C801B6010E941D11EB\n" +
+								":100E4000C80165EE71E00E941D11DF91CF911F91E5\n" +
+								":100E50000F91FF90EF90DF90CF900895CF92DF92A7\n" +
+								":100E6000EF92FF920F931F93CF93DF93EC017B01DF\n" +
+								":100E70006A018CA19DA1892B31F0CE01809666ED8F\n" +
+								":100E800071E00E941D118E01005E1F4FC80168EEC7\n" +
+								":100E900071E00E941D11C801B7010E941D11C80117\n" +
+								":100EA00062EF71E00E941D11C801B6010E941D1180\n" +
+								":100EB000C80165EE71E00E941D11DF91CF911F9175\n" +
+								":100EC0000F91FF90EF90DF90CF90089549960E9488\n" +
+								":100ED0008211089542960E94821108950F931F93E4\n" +
+								":100EE000182F092F87E093E00E94140C212F302F38\n" +
+								":100EF000C901FC0180E090E02AE134E033832283E1\n" +
+								":100F00000196329688309105C9F71F910F91089587\n" +
+								":100F1000EF92FF920F931F93CF93DF93EC017A012F\n" +
+								":100F20008B0142966DE971E00E946811CE014996ED\n" +
+								":100F30006DE971E00E946811CE0180966DE971E063\n" +
+								":100F40000E946811CE0187966DE971E00E946811D8\n" +
+								":100F5000E114F1040105110529F0CE01B801A70142\n" +
+								":100F60000E946E07DF91CF911F910F91FF90EF903C\n" +
+								":100F700008950F931F938C01FC01868160E00E940D\n" +
+								":100F8000E40A81E090E00E94600AF801868161E055\n" +
+								":100F90000E94E40A81E090E00E94600AF8018681E4\n" +
+								":100FA00060E00E94E40A84E690E00E94600A1F91DB\n" +
+								":100FB0000F910895CF92DF92EF92FF920F931F93BC\n" +
+								":100FC000CF93DF93D82EC92E282F392FC9018C013A\n" +
+								":100FD000C0E0D0E0E62EFF24F801878161E00E94A6\n" +
+								":100FE000A50AB7010C2E02C0759567950A94E2F721\n" +
+								":100FF0006170F80187810E94E40A21960F5F1F4FFC\n" +
+								":10100000C830D10549F78D2D9C2D0E94B907DF917D\n" +
+								":10101000CF911F910F91FF90EF90DF90CF900895A7\n" +
+								":10102000CF92DF92EF92FF920F931F93CF93DF93B4\n" +
+								":10103000D82EC92E282F392FC9018C01C0E0D0E04D\n" +
+								":10104000E62EFF24F801878161E00E94A50AB7011E\n" +
+								":101050000C2E02C0759567950A94E2F76170F8014D\n" +
+								":1010600087810E94E40A21960F5F1F4FC430D1058B\n" +
+								":1010700049F78D2D9C2D0E94B907DF91CF911F91CB\n" +
+								":101080000F91FF90EF90DF90CF9008951F93CF9333\n" +
+								":10109000DF93EC01162F8C81642F0E94E40A8D816E\n" +
+								":1010A0008F3F19F060E00E94E40A8F8584FF05C03D\n" +
+								":1010B000CE01612F0E94DA070EC0612F70E084E03C\n" +
+								":1010C000759567958A95E1F7CE010E941008CE01CB\n" +
+								":1010D000612F0E941008DF91CF911F91089541E088\n" +
+								":1010E0000E94460881E090E0089540E00E94460892\n" +
+								":1010F0000895FC016089862F8460808B6C60CF012D\n" +
+								":101100000E9475080895DF93CF93CDB7DEB7289777\n" +
+								":101110000FB6F894DEBF0FBECDBF9C01FE01319625\n" +
+								":10112000AEE0B2E088E00D9001928150E1F7F90164\n" +
+								":101130008389481710F0482F4150E42FF0E0EE0F5C\n" +
+								":10114000FF1FEC0FFD1F8181680F6068C9010E94BD\n" +
+								":10115000750828960FB6F894DEBF0FBECDBFCF91AD\n" +
+								":10116000DF91089562E00E94750880ED97E00E948B\n" +
+								":10117000600A089561E00E94750880ED97E00E9482\n" +
+								":10118000600A0895CF93DF93EC01423018F08F8509\n" +
+								":1011900088608F874B8B1C8A222329F0413019F4F9\n" +
+								":1011A0008F8584608F8780E593EC0E94600A8C8134\n" +
+								":1011B00060E00E94E40A8E8160E00E94E40A8D8172\n" +
+								":1011C0008F3F19F060E00E94E40A6F8564FD1DC046\n" +
+								":1011D000CE0163E00E94100884E991E10E94600A58\n" +
+								":1011E000CE0163E00E94100884E991E10E94600A48\n" +
+								":1011F000CE0163E00E94100886E990E00E94600A38\n" +
+								":10120000CE0162E00E94100816C06062CE010E940A\n" +
+								":10121000750884E991E10E94600A6F856062CE01E1\n" +
+								":101220000E94750886E990E00E94600A6F856062FE\n" +
+								":10123000CE010E9475086F856062CE010E9475081C\n" +
+								":1012400084E0888BCE010E947908CE010E94BA0802\n" +
+								":1012500082E0898BCE0166E00E947508DF91CF9114\n" +
+								":1012600008956F927F928F92AF92CF92EF920F93E9\n" +
+								":101270001F93DF93CF93CDB7DEB73C01162F842F9A\n" +
+								":10128000F301448325830683E782C086A186828694\n" +
+								":101290009D8593879E8594879F8595879889968756\n" +
+								":1012A00061E00E94A50AF30185818F3F19F061E09A\n" +
+								":1012B0000E94A50AF301868161E00E94A50A11231C\n" +
+								":1012C00019F0F301178603C080E1F3018787C3019A\n" +
+								":1012D00060E141E020E00E94C208CF91DF911F91C0\n" +
+								":1012E0000F91EF90CF90AF908F907F906F90089577\n" +
+								":1012F0008F92AF92CF92EF920F931F93CF93DF9382\n" +
+								":10130000DC01362F542F722F102FAE2C8C2C1396FD\n" +
+								":101310001C921E9212978AE092E011969C938E93F3\n" +
+								":1013200000D000D0EDB7FEB73196CDB7DEB7198249\n" +
+								":10133000118212821382CD0161E0432F2FEF052F1E\n" +
+								":10134000E72EC12E0E9431090F900F900F900F9041\n" +
+								":10135000DF91CF911F910F91EF90CF90AF908F9031\n" +
+								":1013600008951F920F920FB60F9211242F933F935F\n" +
+								":101370008F939F93AF93BF9380917A0290917B025A\n" +
+								":10138000A0917C02B0917D0230917E020196A11D58\n" +
+								":10139000B11D232F2D5F2D3720F02D570196A11D54\n" +
+								":1013A000B11D20937E0280937A0290937B02A093DA\n" +
+								":1013B0007C02B0937D028091760290917702A09199\n" +
+								":1013C0007802B09179020196A11DB11D8093760239\n" +
+								":1013D00090937702A0937802B0937902BF91AF9176\n" +
+								":1013E0009F918F913F912F910F900FBE0F901F9063\n" +
+								":1013F00018958FB7F89420917A0230917B02409132\n" +
+								":101400007C0250917D028FBFB901CA0108959B01F2\n" +
+								":10141000AC017FB7F8948091760290917702A09109\n" +
+								":101420007802B091790266B5A89B05C06F3F19F0AC\n" +
+								":101430000196A11DB11D7FBFBA2FA92F982F882714\n" +
+								":10144000860F911DA11DB11D62E0880F991FAA1F73\n" +
+								":10145000BB1F6A95D1F7BC012DC0FFB7F8948091EE\n" +
+								":10146000760290917702A0917802B0917902E6B568\n" +
+								":10147000A89B05C0EF3F19F00196A11DB11DFFBF4C\n" +
+								":10148000BA2FA92F982F88278E0F911DA11DB11D4E\n" +
+								":10149000E2E0880F991FAA1FBB1FEA95D1F7861BB0\n" +
+								":1014A000970B885E9340C8F2215030404040504036\n" +
+								":1014B00068517C4F211531054105510571F608959C\n" +
+								":1014C000019739F0880F991F880F991F029701978C\n" +
+								":1014D000F1F70895789484B5826084BD84B5816005\n" +
+								":1014E00084BD85B5826085BD85B5816085BDEEE62C\n" +
+								":1014F000F0E0808181608083E1E8F0E0108280810B\n" +
+								":1015000082608083808181608083E0E8F0E0808178\n" +
+								":1015100081608083E1EBF0E0808184608083E0EB98\n" +
+								":10152000F0E0808181608083EAE7F0E08081846080\n" +
+								":1015300080838081826080838081816080838081DC\n" +
+								":10154000806880831092C1000895CF93DF93482F65\n" +
+								":1015500050E0CA0186569F4FFC0134914A575F4FB5\n" +
+								":10156000FA018491882369F190E0880F991FFC01AA\n" +
+								":10157000E859FF4FA591B491FC01EE58FF4FC5917A\n" +
+								":10158000D491662351F42FB7F8948C91932F9095B2\n" +
+								":1015900089238C93888189230BC0623061F42FB733\n" +
+								":1015A000F8948C91932F909589238C938881832B29\n" +
+								":1015B00088832FBF06C09FB7F8948C91832B8C93A0\n" +
+								":1015C0009FBFDF91CF910895482F50E0CA01825507\n" +
+								":1015D0009F4FFC012491CA0186569F4FFC019491B4\n" +
+								":1015E0004A575F4FFA013491332309F440C0222354\n" +
+								":1015F00051F1233071F0243028F42130A1F0223051\n" +
+								":1016000011F514C02630B1F02730C1F02430D9F4E0\n" +
+								":1016100004C0809180008F7703C0809180008F7D0F\n" +
+								":101620008093800010C084B58F7702C084B58F7D11\n" +
+								":1016300084BD09C08091B0008F7703C08091B00055\n" +
+								":101640008F7D8093B000E32FF0E0EE0FFF1FEE5888\n" +
+								":10165000FF4FA591B4912FB7F894662321F48C9194\n" +
+								":101660009095892302C08C91892B8C932FBF08956C\n" +
+								":10167000682F70E0CB0182559F4FFC012491CB0174\n" +
+								":1016800086569F4FFC0144916A577F4FFB0194910E\n" +
+								":10169000992319F420E030E03CC0222351F123309B\n" +
+								":1016A00071F0243028F42130A1F0223011F514C05B\n" +
+								":1016B0002630B1F02730C1F02430D9F404C0809135\n" +
+								":1016C00080008F7703C0809180008F7D80938000A1\n" +
+								":1016D00010C084B58F7702C084B58F7D84BD09C0EA\n" +
+								":1016E0008091B0008F7703C08091B0008F7D809390\n" +
+								":1016F000B000892F90E0880F991F84589F4FFC01FC\n" +
+								":10170000A591B4918C9120E030E0842311F021E088\n" +
+								":1017100030E0C90108951F920F920FB60F92112465\n" +
+								":101720002F933F934F938F939F93EF93FF938091CA\n" +
+								":10173000C00082FD1DC04091C6002091BF023091C3\n" +
+								":10174000C0022F5F3F4F2F7330708091C102909184\n" +
+								":10175000C2022817390771F0E091BF02F091C00270\n" +
+								":10176000E158FD4F40833093C0022093BF0202C076\n" +
+								":101770008091C600FF91EF919F918F914F913F9182\n" +
+								":101780002F910F900FBE0F901F901895E0911303AB\n" +
+								":10179000F0911403E05CFF4F8191919120813181A0\n" +
+								":1017A000821B930B8F739070892B11F00E94BD02E6\n" +
+								":1017B00008951F920F920FB60F9211242F933F930B\n" +
+								":1017C0008F939F93EF93FF93209103033091040332\n" +
+								":1017D00080910503909106032817390731F4809111\n" +
+								":1017E000C1008F7D8093C10014C0E0910503F0918A\n" +
+								":1017F0000603ED53FD4F2081809105039091060370\n" +
+								":1018000001968F7390709093060380930503209345\n" +
+								":10181000C600FF91EF919F918F913F912F910F9073\n" +
+								":101820000FBE0F901F901895AF92BF92DF92EF926C\n" +
+								":10183000FF920F931F93CF93DF93EC017A018B01FB\n" +
+								":10184000DD24403081EE580780E0680780E07807AB\n" +
+								":1018500011F0DD24D39491E0A92EB12CEC89FD89FF\n" +
+								":10186000DD2069F0C50108A002C0880F991F0A9405\n" +
+								":10187000E2F7808360E079E08DE390E005C01082BC\n" +
+								":1018800060E874E88EE190E0A80197010E94BE1123\n" +
+								":101890002150304040405040569547953795279508\n" +
+								":1018A00080E12030380720F0DD2011F0DD24D6CF94\n" +
+								":1018B000E889F9893083EA89FB89208319A2EE89B6\n" +
+								":1018C000FF89408121E030E0C9010C8C02C0880F03\n" +
+								":1018D000991F0A94E2F7482B4083EE89FF894081E3\n" +
+								":1018E000C9010D8C02C0880F991F0A94E2F7482B9A\n" +
+								":1018F0004083EE89FF894081C9010E8C02C0880FA8\n" +
+								":10190000991F0A94E2F7482B4083EE89FF89808172\n" +
+								":101910000F8C02C0220F331F0A94E2F72095282370\n" +
+								":101920002083DF91CF911F910F91FF90EF90DF9077\n" +
+								":10193000BF90AF900895DC011C96ED91FC911D972E\n" +
+								":10194000E05CFF4F2191319180819181281B390BFF\n" +
+								":101950002F733070C9010895DC011C96ED91FC9144\n" +
+								":101960001D97E05CFF4F20813181E054F040DF01A2\n" +
+								":10197000AE5BBF4F8D919C9111972817390719F4D1\n" +
+								":101980002FEF3FEF07C08D919C91E80FF91F8081E9\n" +
+								":10199000282F30E0C9010895DC011C96ED91FC91DF\n" +
+								":1019A0001D97E05CFF4F20813181E054F040DF0162\n" +
+								":1019B000AE5BBF4F8D919C9111972817390719F491\n" +
+								":1019C0002FEF3FEF10C08D919C911197E80FF91FF9\n" +
+								":1019D00020818D919C91119701968F739070119633\n" +
+								":1019E0009C938E9330E0C9010895DC0191968C910F\n" +
+								":1019F0009197882339F05496ED91FC915597808109\n" +
+								":101A000086FFF9CF91961C920895CF93DF93EC0156\n" +
+								":101A1000EE85FF85E05CFF4F20813181E054F0408E\n" +
+								":101A20002F5F3F4F2F733070DF01AE5BBF4F8D9143\n" +
+								":101A30009C91119728173907D1F3E05CFF4F808103\n" +
+								":101A40009181E054F040E80FF91F6083EE85FF8537\n" +
+								":101A5000E05CFF4F31832083EE89FF89208181E0A4\n" +
+								":101A600090E00F8C02C0880F991F0A94E2F7282B90\n" +
+								":101A7000208381E089A3EC89FD8980818064808353\n" +
+								":101A800081E090E0DF91CF91089510920A031092C7\n" +
+								":101A9000090388EE93E0A0E0B0E080930B039093FD\n" +
+								":101AA0000C03A0930D03B0930E038AE192E0909390\n" +
+								":101AB0000803809307038FE792E0909314038093C9\n" +
+								":101AC000130383EC92E0909316038093150385EC47\n" +
+								":101AD00090E0909318038093170384EC90E0909328\n" +
+								":101AE0001A038093190380EC90E090931C03809379\n" +
+								":101AF0001B0381EC90E090931E0380931D0382EC06\n" +
+								":101B000090E09093200380931F0386EC90E09093E5\n" +
+								":101B100022038093210384E08093230383E0809356\n" +
+								":101B2000240387E08093250385E08093260381E0EA\n" +
+								":101B3000809327030895CF93DF930E946A0A0E943F\n" +
+								":101B4000C202C6ECDBE00E9477022097E1F30E941C\n" +
+								":101B5000C60BF9CFCF92DF92EF92FF920F931F93B4\n" +
+								":101B6000CF93DF937C016B018A01C0E0D0E00FC00E\n" +
+								":101B7000D6016D916D01D701ED91FC910190F0813D\n" +
+								":101B8000E02DC7010995C80FD91F0150104001155C\n" +
+								":101B9000110571F7CE01DF91CF911F910F91FF9049\n" +
+								":101BA000EF90DF90CF900895DC01ED91FC910190D2\n" +
+								":101BB000F081E02D09950895CF93DF93EC01611535\n" +
+								":101BC000710519F420E030E00FC0DB010D9000201A\n" +
+								":101BD000E9F71197A61BB70BE881F9810280F38121\n" +
+								":101BE000E02DAD0109959C01C901DF91CF910895C8\n" +
+								":101BF0000E94DC0D0895813041F0813018F0823070\n" +
+								":101C0000D1F409C010926E00089580916F008D7F0D\n" +
+								":101C100080936F000895809170008D7F8093700095\n" +
+								":101C200081E08093B0008091B100887F84608093D0\n" +
+								":101C3000B1001092B30008951F93182F80910502F0\n" +
+								":101C4000811711F09FEF06C0E2ECF0E094918FEF66\n" +
+								":101C500080930502892F0E94FB0D812F60E00E9476\n" +
+								":101C6000E40A1F9108951F920F920FB60F9211244C\n" +
+								":101C70002F933F934F935F936F937F938F939F9394\n" +
+								":101C8000AF93BF93EF93FF93809137039091380305\n" +
+								":101C9000A0913903B0913A030097A105B10551F124\n" +
+								":101CA000E0913B03F0913C03808190913D038927B3\n" +
+								":101CB00080838091370390913803A0913903B091CC\n" +
+								":101CC0003A03181619061A061B06C4F48091370346\n" +
+								":101CD00090913803A0913903B0913A030197A1097B\n" +
+								":101CE000B1098093370390933803A0933903B093DD\n" +
+								":101CF0003A0304C0809105020E941C0EFF91EF91EF\n" +
+								":101D0000BF91AF919F918F917F916F915F914F9113\n" +
+								":101D10003F912F910F900FBE0F901F9018952F920B\n" +
+								":101D20003F925F926F927F928F929F92AF92BF92FB\n" +
+								":101D3000CF92DF92EF92FF920F931F93DF93CF9397\n" +
+								":101D400000D000D0CDB7DEB7A82F1B0129833A837E\n" +
+								":101D50004B835C83809105028A1721F4E2ECF0E06A\n" +
+								":101D6000549082C08F3F09F0DAC1A0930502E2ECE3\n" +
+								":101D7000F0E054902FEF521609F4D1C181E05816CB\n" +
+								":101D800039F192E0591609F449C0552009F06CC0A8\n" +
+								":101D900014BC15BC84B5826084BD85B5816085BDE9\n" +
+								":101DA0002A2F30E0F901EA57FF4FE491F0E0EE0FFF\n" +
+								":101DB000FF1FEE58FF4F8591949190932E038093CF\n" +
+								":101DC0002D0326563F4FF901849180932F034EC077\n" +
+								":101DD0001092800010928100809181008860809331\n" +
+								":101DE0008100809181008160809381002A2F30E002\n" +
+								":101DF000F901EA57FF4FE491F0E0EE0FFF1FEE58B4\n" +
+								":101E0000FF4F859194919093350380933403265628\n" +
+								":101E10003F4FF90184918093360328C01092B0009F\n" +
+								":101E20001092B1008091B00082608093B0008091E8\n" +
+								":101E3000B10081608093B1002A2F30E0F901EA57A8\n" +
+								":101E4000FF4FE491F0E0EE0FFF1FEE58FF4F85913A\n" +
+								":101E5000949190933C0380933B0326563F4FF901A6\n" +
+								":101E6000849180933D0302C057FC59C18A2F61E0E1\n" +
+								":101E70000E94A50A552021F0F2E05F1609F0BEC0CD\n" +
+								":101E800031018824992460E072E18AE790E0A4019E\n" +
+								":101E900093010E94E01159016A01860175010894BD\n" +
+								":101EA000E108F108010911092FEFE216F10401051B\n" +
+								":101EB000110509F008F499C060E472E48FE090E045\n" +
+								":101EC000A40193010E94E01179018A010894E108BC\n" +
+								":101ED000F1080109110982E05816C1F49FEFE916D3\n" +
+								":101EE000F1040105110509F008F484C060E970ED02\n" +
+								":101EF00083E090E0A40193010E94E01179018A013E\n" +
+								":101F00000894E108F1080109110983E0AFEFEA162E\n" +
+								":101F1000F1040105110509F008F468C068E478EEE1\n" +
+								":101F200081E090E0A40193010E94E01179018A010F\n" +
+								":101F30000894E108F10801091109552011F483E022\n" +
+								":101F40001DC0B2E05B1611F084E018C0EFEFEE1692\n" +
+								":101F5000F1040105110509F008F4DFC064E274EF33\n" +
+								":101F600080E090E0A40193010E94E01179018A01D0\n" +
+								":101F70000894E108F1080109110985E0FFEFEF1667\n" +
+								":101F8000F1040105110591F188F162E17AE780E041\n" +
+								":101F900090E0A40193010E94E01179018A01089464\n" +
+								":101FA000E108F10801091109552011F086E001C08E\n" +
+								":101FB00084E02FEFE216F10401051105B9F0B0F04D\n" +
+								":101FC000C601B50120E034E040E050E00E94E0119D\n" +
+								":101FD00079018A010894E108F108010911095520E5\n" +
+								":101FE00011F087E008C085E003C081E0552019F4B6\n" +
+								":101FF00085BD3AC082E08093B10036C05101CC2447\n" +
+								":10200000DD2460E072E18AE790E0A60195010E947C\n" +
+								":10201000E01179018A010894E108F1080109110928\n" +
+								":1020200080E0E81680E0F80681E0080780E0180705\n" +
+								":1020300010F491E010C068E478EE81E090E0A60131\n" +
+								":1020400095010E94E01179018A010894E108F108E4\n" +
+								":102050000109110993E0A1E05A1631F48091810041\n" +
+								":10206000887F982B9093810089819A81AB81BC8174\n" +
+								":102070000097A105B10529F48FEF9FEFAFEFBFEFF8\n" +
+								":1020800013C0220C331CB10180E090E029813A8119\n" +
+								":102090004B815C810E949F1128EE33E040E050E0CC\n" +
+								":1020A0000E94BE11C901DA01E1E05E16A1F0F2E082\n" +
+								":1020B0005F1619F1552099F5E7BC80932903909399\n" +
+								":1020C0002A03A0932B03B0932C0380916E008260AF\n" +
+								":1020D00080936E0024C0F0928900E0928800809383\n" +
+								":1020E000300390933103A0933203B0933303809174\n" +
+								":1020F0006F00826080936F0012C0E092B300809303\n" +
+								":10210000370390933803A0933903B0933A03809137\n" +
+								":10211000700082608093700002C084E06CCF0F90EA\n" +
+								":102120000F900F900F90CF91DF911F910F91FF9023\n" +
+								":10213000EF90DF90CF90BF90AF909F908F907F9067\n" +
+								":102140006F905F903F902F900895FC019B018481D8\n" +
+								":1021500095816817790728F460817181611571058F\n" +
+								":1021600029F410923E036EE373E002C0620F731F06\n" +
+								":10217000CB0108950F931F93CF93DF93EC018B0155\n" +
+								":102180006F5F7F4F888199810E949101009711F4C0\n" +
+								":1021900080E005C0998388831B830A8381E0DF91F7\n" +
+								":1021A000CF911F910F910895CF93DF93EC01888118\n" +
+								":1021B0009981892B29F08A819B818617970760F482\n" +
+								":1021C000CE010E94BA10882341F08C819D81892B19\n" +
+								":1021D00019F4E881F981108281E0DF91CF910895AF\n" +
+								":1021E000EF92FF920F931F93CF93DF93EC017B014C\n" +
+								":1021F0006C817D81E114F104C1F04115510599F024\n" +
+								":102200008A01060F171FB8010E94D410882369F0B5\n" +
+								":10221000888199812C813D81820F931FB7010E9493\n" +
+								":102220006F021D830C8381E001C080E0DF91CF91BC\n" +
+								":102230001F910F91FF90EF9008956115710511F4B2\n" +
+								":1022400080E00895DB010D900020E9F71197A61BAF\n" +
+								":10225000B70BAD010E94F0100895FB016081718100\n" +
+								":10226000448155810E94F0100895CF93DF93EC01D3\n" +
+								":1022700088819981009711F00E9439011982188292\n" +
+								":102280001D821C821B821A82DF91CF910895EF92EA\n" +
+								":10229000FF920F931F93CF93DF93EC017B018A0191\n" +
+								":1022A000BA010E94D410882321F4CE010E94351176\n" +
+								":1022B00007C01D830C8388819981B7010E946F023A\n" +
+								":1022C000CE01DF91CF911F910F91FF90EF90089574\n" +
+								":1022D000CF93DF93EC01198218821B821A821D8230\n" +
+								":1022E0001C821E826115710551F0DB010D900020EA\n" +
+								":1022F000E9F71197A61BB70BAD010E944711DF91BB\n" +
+								":10230000CF910895CF93DF93EC01FB0186179707D8\n" +
+								":1023100061F0608171816115710529F044815581F9\n" +
+								":102320000E94471102C00E943511CE01DF91CF916A\n" +
+								":102330000895FC01808191810E9439010895629F76\n" +
+								":10234000D001739FF001829FE00DF11D649FE00DAD\n" +
+								":10235000F11D929FF00D839FF00D749FF00D659F0E\n" +
+								":10236000F00D9927729FB00DE11DF91F639FB00D0D\n" +
+								":10237000E11DF91FBD01CF0111240895A1E21A2E1C\n" +
+								":10238000AA1BBB1BFD010DC0AA1FBB1FEE1FFF1F19\n" +
+								":10239000A217B307E407F50720F0A21BB30BE40B69\n" +
+								":1023A000F50B661F771F881F991F1A9469F76095B0\n" +
+								":1023B0007095809590959B01AC01BD01CF0108956A\n" +
+								":1023C00097FB092E05260ED057FD04D0D7DF0AD083\n" +
+								":1023D000001C38F450954095309521953F4F4F4F54\n" +
+								":1023E0005F4F0895F6F790958095709561957F4FB2\n" +
+								":1023F0008F4F9F4F0895EE0FFF1F0590F491E02D32\n" +
+								":1024000009942F923F924F925F926F927F928F9298\n" +
+								":102410009F92AF92BF92CF92DF92EF92FF920F9373\n" +
+								":102420001F93CF93DF93CDB7DEB7CA1BDB0B0FB67D\n" +
+								":10243000F894DEBF0FBECDBF09942A88398848883A\n" +
+								":102440005F846E847D848C849B84AA84B984C884D0\n" +
+								":10245000DF80EE80FD800C811B81AA81B981CE0FC7\n" +
+								":10246000D11D0FB6F894DEBF0FBECDBFED010895AC\n" +
+								":1024700010E0C8ECD0E004C0FE010E94FD112296DD\n" +
+								":0A248000CA3CD107C9F7F894FFCF5A\n" +
+								":10248A00754353530076302E316100444154410064\n" +
+								":10249A0000524553455400535045414B4552003371\n" +
+								":1024AA00004C43445F53435245454E00694A6163B9\n" +
+								":1024BA006B657420436C6F6E65005363616E2051C7\n" +
+								":1024CA005220746167004C45445F4C414D500032C4\n" +
+								":1024DA002C313300687474703A2F2F666F6C6B2E30\n" +
+								":1024EA006E746E752E6E6F2F737661727661612FC0\n" +
+								":1024FA007574696C732F70726F327777772F2361D7\n" +
+								":10250A007070496431004F534E4150204A61636BE9\n" +
+								":10251A0065740024242400552C002C4E00007B22D4\n" +
+								":10252A006E616D65223A2200222C00227665727352\n" +
+								":10253A00696F6E223A220022736572766963657347\n" +
+								":10254A00223A205B005D2C00226C696E6B73223A82\n" +
+								":10255A00205B005D7D002C2000222C20226C696EFD\n" +
+								":10256A006B223A2200227D007B20226964223A20D3\n" +
+								":10257A002200222C202270696E7322203A22002027\n" +
+								":10258A000043030000FF000000006F08AA0D0000CE\n" +
+								":10259A0040001400540000000000050DAA0D9B0C19\n" +
+								":0625AA00CC0CAC0CF50C9A\n" +
+								":00000001FF\n";
 						
-						//Convert string to byte array
-						byte[] binaryFile = new byte[hexData.length() / 2];
-						for(int i=0; i < hexData.length(); i+=2)
-						{
-							binaryFile[i/2] = Integer.decode("0x" + hexData.substring(i, i + 2)).byteValue();
+						//Parse the hex file
+						Hex hex;
+						try {
+							hex = Hex.fromReader(new StringReader(hexData), log);
+						} catch (IOException e) {
+							log.logcat("initializeExecuteButton: Unable to read hex file", "e");
+							return;
 						}
 						
-						STK500v1 p = new STK500v1(outStream, inputStream, log, binaryFile);
+						STK500v1 p = new STK500v1(outStream, inputStream, log, hex);
 						
 						// Upload
 						p.programUsingOptiboot(true, 256);
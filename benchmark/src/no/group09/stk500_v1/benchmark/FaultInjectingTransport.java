@@ -0,0 +1,400 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Random;
+
+import no.group09.transport.Transport;
+
+/**
+ * Wraps a {@link Transport} and damages the bytes going through it, with seeded
+ * probabilities, so the programmer's recovery can be measured the same way every
+ * run.
+ *
+ * Each byte independently is dropped, corrupted, sent twice or delayed. A delay
+ * stalls the link: bytes going to the device after it wait, and so does the read
+ * that received it. Faults are applied in both directions unless limited with
+ * {@link #setDirections(boolean, boolean)}, each direction with its own random
+ * sequence.
+ */
+public class FaultInjectingTransport implements Transport {
+	private final Transport link;
+	private final Injector sending;
+	private final Injector receiving;
+
+	private volatile double dropRate;
+	private volatile double corruptRate;
+	private volatile double duplicateRate;
+	private volatile double delayRate;
+	private volatile long delayMillis;
+
+	/** Sending and receiving lock apart, the reader blocks while waiting for bytes */
+	private final Object sendLock = new Object();
+	private final Object receiveLock = new Object();
+
+	private final InputStream in = new FaultyInput();
+	private final OutputStream out = new FaultyOutput();
+
+	/** Bytes collected by {@link #write(byte[], int, int) write} */
+	private byte[] batch = new byte[512];
+	private int batchLength;
+
+	/** Received bytes already through the faults, not yet read */
+	private byte[] pending = new byte[1024];
+	private int pendingStart;
+	private volatile int pendingLength;
+	private byte[] received = new byte[512];
+	private byte[] single = new byte[1];
+
+	/**
+	 * @param link Transport to damage the bytes of
+	 * @param seed Seed of the random sequences, the same seed gives the same faults
+	 * for the same bytes
+	 */
+	public FaultInjectingTransport(Transport link, long seed) {
+		this.link = link;
+		this.sending = new Injector(new Random(seed));
+		this.receiving = new Injector(new Random(~seed));
+	}
+
+	/**
+	 * @param rate Probability of losing a byte
+	 */
+	public void setDropRate(double rate) {
+		this.dropRate = rate;
+	}
+
+	/**
+	 * @param rate Probability of changing a byte to another value
+	 */
+	public void setCorruptRate(double rate) {
+		this.corruptRate = rate;
+	}
+
+	/**
+	 * @param rate Probability of a byte arriving twice
+	 */
+	public void setDuplicateRate(double rate) {
+		this.duplicateRate = rate;
+	}
+
+	/**
+	 * @param rate Probability of the link stalling before a byte
+	 * @param millis How long the link stalls
+	 */
+	public void setDelay(double rate, long millis) {
+		this.delayRate = rate;
+		this.delayMillis = millis;
+	}
+
+	/**
+	 * @param toDevice True to damage bytes sent to the device
+	 * @param fromDevice True to damage bytes coming from the device
+	 */
+	public void setDirections(boolean toDevice, boolean fromDevice) {
+		sending.enabled = toDevice;
+		receiving.enabled = fromDevice;
+	}
+
+	/**
+	 * @return number of bytes lost in both directions
+	 */
+	public int getDropped() {
+		return sending.dropped + receiving.dropped;
+	}
+
+	/**
+	 * @return number of bytes changed in both directions
+	 */
+	public int getCorrupted() {
+		return sending.corrupted + receiving.corrupted;
+	}
+
+	/**
+	 * @return number of bytes sent twice in both directions
+	 */
+	public int getDuplicated() {
+		return sending.duplicated + receiving.duplicated;
+	}
+
+	/**
+	 * @return number of stalls in both directions
+	 */
+	public int getDelayed() {
+		return sending.delayed + receiving.delayed;
+	}
+
+	/**
+	 * @return number of bytes the programmer sent, before the faults
+	 */
+	public long getBytesSent() {
+		return sending.bytes;
+	}
+
+	/**
+	 * @return number of bytes the device sent, before the faults
+	 */
+	public long getBytesReceived() {
+		return receiving.bytes;
+	}
+
+	/**
+	 * The faults of one direction.
+	 */
+	private class Injector {
+		private final Random random;
+		private volatile boolean enabled = true;
+		private volatile long bytes;
+		private volatile int dropped;
+		private volatile int corrupted;
+		private volatile int duplicated;
+		private volatile int delayed;
+
+		Injector(Random random) {
+			this.random = random;
+		}
+
+		/**
+		 * Put bytes through the faults.
+		 * @param target Array for the result, room for twice <code>len</code>
+		 * @param stall Set to the index in <code>target</code> of the first byte
+		 * after a stall, -1 if there is none
+		 * @return number of bytes put in <code>target</code>
+		 */
+		int inject(byte[] b, int off, int len, byte[] target, int[] stall) {
+			bytes += len;
+			stall[0] = -1;
+			int n = 0;
+			for (int i = off; i < off + len; i++) {
+				byte value = b[i];
+				if (enabled) {
+					double r = random.nextDouble();
+					if ((r -= dropRate) < 0) {
+						dropped++;
+						continue;
+					}
+					if ((r -= corruptRate) < 0) {
+						value ^= 1 + random.nextInt(255);
+						corrupted++;
+					}
+					else if ((r -= duplicateRate) < 0) {
+						target[n++] = value;
+						duplicated++;
+					}
+					else if ((r -= delayRate) < 0 && stall[0] < 0) {
+						stall[0] = n;
+						delayed++;
+					}
+				}
+				target[n++] = value;
+			}
+			return n;
+		}
+	}
+
+	/**
+	 * Send bytes through the faults to the link, stalling where a delay hit.
+	 */
+	private void send(byte[] b, int off, int len) throws IOException {
+		synchronized (sendLock) {
+			byte[] damaged = new byte[len * 2];
+			int[] stall = new int[1];
+			int n = sending.inject(b, off, len, damaged, stall);
+			OutputStream linkOut = link.getOutputStream();
+			if (stall[0] >= 0) {
+				linkOut.write(damaged, 0, stall[0]);
+				sleep(delayMillis);
+				linkOut.write(damaged, stall[0], n - stall[0]);
+			}
+			else {
+				linkOut.write(damaged, 0, n);
+			}
+		}
+	}
+
+	/**
+	 * Read bytes from the link through the faults.
+	 * @param timeout Longest time to wait in milliseconds, negative to block
+	 */
+	private int receive(byte[] b, int off, int len, long timeout) throws IOException {
+		synchronized (receiveLock) {
+			long deadline = System.currentTimeMillis() + timeout;
+			while (pendingLength == 0) {
+				int n;
+				if (timeout < 0) {
+					n = link.getInputStream().read(received, 0,
+							Math.min(len, received.length));
+				}
+				else {
+					long left = Math.max(0, deadline - System.currentTimeMillis());
+					n = link.read(received, 0, Math.min(len, received.length), left);
+				}
+				if (n <= 0) {
+					return n;
+				}
+				if (pending.length < n * 2) {
+					pending = new byte[n * 2];
+				}
+				int[] stall = new int[1];
+				pendingStart = 0;
+				pendingLength = receiving.inject(received, 0, n, pending, stall);
+				if (stall[0] >= 0) {
+					sleep(delayMillis);
+				}
+			}
+			int n = Math.min(len, pendingLength);
+			System.arraycopy(pending, pendingStart, b, off, n);
+			pendingStart += n;
+			pendingLength -= n;
+			return n;
+		}
+	}
+
+	private static void sleep(long millis) throws InterruptedIOException {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			throw new InterruptedIOException("FaultInjectingTransport: Interrupted");
+		}
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		synchronized (sendLock) {
+			if (batchLength + len > batch.length) {
+				batch = Arrays.copyOf(batch, Math.max(batch.length * 2, batchLength + len));
+			}
+			System.arraycopy(b, off, batch, batchLength, len);
+			batchLength += len;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		synchronized (sendLock) {
+			int length = batchLength;
+			batchLength = 0;
+			if (length > 0) {
+				send(batch, 0, length);
+			}
+		}
+	}
+
+	@Override
+	public int read(long timeout) throws IOException {
+		synchronized (receiveLock) {
+			int n = receive(single, 0, 1, timeout);
+			if (n < 0) {
+				return -1;
+			}
+			return n == 0 ? TIMEOUT : single[0] & 0xFF;
+		}
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len, long timeout) throws IOException {
+		long deadline = System.currentTimeMillis() + timeout;
+		int got = 0;
+		while (got < len) {
+			long left = Math.max(0, deadline - System.currentTimeMillis());
+			int n = receive(b, off + got, len - got, left);
+			if (n < 0) {
+				return got > 0 ? got : -1;
+			}
+			if (n == 0) {
+				break;
+			}
+			got += n;
+		}
+		return got;
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return in;
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return out;
+	}
+
+	@Override
+	public int getMtu() {
+		return link.getMtu();
+	}
+
+	@Override
+	public long getLatencyNanos() {
+		return link.getLatencyNanos();
+	}
+
+	@Override
+	public void close() throws IOException {
+		link.close();
+	}
+
+	private class FaultyInput extends InputStream {
+		private byte[] one = new byte[1];
+
+		@Override
+		public synchronized int read() throws IOException {
+			return receive(one, 0, 1, -1) < 0 ? -1 : one[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return len == 0 ? 0 : receive(b, off, len, -1);
+		}
+
+		@Override
+		public int available() throws IOException {
+			// Not under the receive lock, the reader may be blocked holding it
+			int pendingNow = pendingLength;
+			return pendingNow > 0 ? pendingNow : link.getInputStream().available();
+		}
+
+		@Override
+		public void close() throws IOException {
+			FaultInjectingTransport.this.close();
+		}
+	}
+
+	private class FaultyOutput extends OutputStream {
+		@Override
+		public void write(int b) throws IOException {
+			send(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			send(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			FaultInjectingTransport.this.close();
+		}
+	}
+}
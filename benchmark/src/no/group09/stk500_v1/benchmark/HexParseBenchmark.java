@@ -0,0 +1,156 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import no.group09.stk500_v1.Hex;
+import no.group09.stk500_v1.Logger;
+
+/**
+ * Compares sequential and parallel parsing of large Intel hex files, and shows
+ * how the parallel parser scales with the number of cores.
+ *
+ * Usage: HexParseBenchmark [image size in KB] [number of images]
+ */
+public class HexParseBenchmark {
+	private static final int ITERATIONS = 20;
+
+	public static void main(String[] args) {
+		int imageSize = (args.length > 0 ? Integer.parseInt(args[0]) : 256) * 1024;
+		int images = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+		Logger logger = new NullLogger();
+
+		ByteBuffer[] texts = new ByteBuffer[images];
+		Random random = new Random(42);
+		for (int i = 0; i < images; i++) {
+			texts[i] = createHexText(imageSize, random);
+		}
+		System.out.println(images + " images of " + imageSize / 1024 + " KB, " +
+				texts[0].remaining() / 1024 + " KB of text each");
+
+		// Both parsers have to agree before timing them
+		ForkJoinPool check = new ForkJoinPool();
+		for (ByteBuffer text : texts) {
+			Hex sequential = Hex.parse(text, logger);
+			Hex parallel = Hex.parseParallel(text, check, logger);
+			if (!sequential.getChecksumStatus() || !parallel.getChecksumStatus() ||
+					!sequential.getHexLineBuffer(0, imageSize).equals(
+							parallel.getHexLineBuffer(0, imageSize))) {
+				throw new IllegalStateException("Parsers gave different images");
+			}
+		}
+		check.shutdown();
+
+		double base = time(texts, null, logger);
+		System.out.println(String.format("sequential : %8.2f ms per image", base));
+
+		int cores = Runtime.getRuntime().availableProcessors();
+		for (int threads = 1; threads <= cores; threads = next(threads, cores)) {
+			ForkJoinPool pool = new ForkJoinPool(threads);
+			double ms = time(texts, pool, logger);
+			pool.shutdown();
+			System.out.println(String.format("parallel %2d: %8.2f ms per image, " +
+					"speedup %.2f", threads, ms, base / ms));
+		}
+	}
+
+	/**
+	 * Next thread count to try: powers of two, then the number of cores.
+	 */
+	private static int next(int threads, int cores) {
+		return threads < cores && threads * 2 > cores ? cores : threads * 2;
+	}
+
+	/**
+	 * Parse every image repeatedly, after a warm up round.
+	 *
+	 * @param pool Pool for the parallel parser, or null for the sequential one.
+	 *
+	 * @return Average milliseconds per image.
+	 */
+	private static double time(ByteBuffer[] texts, ForkJoinPool pool, Logger logger) {
+		long start = 0;
+		for (int round = 0; round < 2; round++) {
+			start = System.nanoTime();
+			for (int i = 0; i < ITERATIONS; i++) {
+				for (ByteBuffer text : texts) {
+					Hex hex = pool == null ? Hex.parse(text, logger) :
+						Hex.parseParallel(text, pool, logger);
+					if (!hex.getChecksumStatus()) {
+						throw new IllegalStateException("Image not accepted");
+					}
+				}
+			}
+		}
+		return (System.nanoTime() - start) / 1e6 / ITERATIONS / texts.length;
+	}
+
+	/**
+	 * Create a plain Intel hex file with random data, 16 bytes per record and an
+	 * extended linear address record for every 64 KB.
+	 *
+	 * @param size Number of data bytes.
+	 * @param random Source of the data.
+	 *
+	 * @return Buffer with the ASCII text.
+	 */
+	public static ByteBuffer createHexText(int size, Random random) {
+		StringBuilder sb = new StringBuilder(size * 3);
+		byte[] data = new byte[16];
+
+		for (int address = 0; address < size; address += data.length) {
+			if (address % 0x10000 == 0) {
+				appendRecord(sb, 4, 0, new byte[] {0, (byte) (address >> 16)});
+			}
+			random.nextBytes(data);
+			appendRecord(sb, 0, address & 0xFFFF, data);
+		}
+		appendRecord(sb, 1, 0, new byte[0]);
+
+		byte[] text = new byte[sb.length()];
+		for (int i = 0; i < text.length; i++) {
+			text[i] = (byte) sb.charAt(i);
+		}
+		return ByteBuffer.wrap(text);
+	}
+
+	private static void appendRecord(StringBuilder sb, int type, int address,
+			byte[] data) {
+		int sum = data.length + (address >> 8) + (address & 0xFF) + type;
+		sb.append(':');
+		appendByte(sb, data.length);
+		appendByte(sb, address >> 8);
+		appendByte(sb, address);
+		appendByte(sb, type);
+		for (byte b : data) {
+			appendByte(sb, b);
+			sum += b & 0xFF;
+		}
+		appendByte(sb, -sum);
+		sb.append("\r\n");
+	}
+
+	private static void appendByte(StringBuilder sb, int b) {
+		sb.append(Character.toUpperCase(Character.forDigit((b >> 4) & 0xF, 16)));
+		sb.append(Character.toUpperCase(Character.forDigit(b & 0xF, 16)));
+	}
+}
@@ -0,0 +1,40 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import no.group09.stk500_v1.Logger;
+
+/**
+ * Logger that throws everything away, so logging does not show up in the
+ * measurements.
+ */
+public class NullLogger implements Logger {
+
+	@Override
+	public void makeToast(String msg) {
+	}
+
+	@Override
+	public void printToConsole(String msg) {
+	}
+
+	@Override
+	public void logcat(String msg, String level) {
+	}
+}
@@ -0,0 +1,569 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import no.group09.stk500_v1.ConstantsStk500v1;
+import no.group09.stk500_v1.DeviceProfile;
+import no.group09.transport.StreamTransport;
+import no.group09.transport.Transport;
+
+/**
+ * An Arduino with the Optiboot bootloader, simulated in the JVM, so whole
+ * programming sessions can be run and timed without a board.
+ *
+ * The board starts out running its sketch, which only listens for the
+ * ComputerSerial reset sequence the programmer sends. After the boot time the
+ * bootloader answers the commands Optiboot knows: STK_GET_SYNC, STK_GET_PARAMETER,
+ * STK_ENTER_PROGMODE, STK_LOAD_ADDRESS, STK_UNIVERSAL, STK_PROG_PAGE,
+ * STK_READ_PAGE, STK_READ_SIGN and STK_LEAVE_PROGMODE. Like Optiboot, it sends
+ * STK_INSYNC before writing a page and STK_OK after, and every STK_PROG_PAGE
+ * erases the whole flash page holding the loaded address and fills all of it
+ * from the page buffer, whatever length the frame had. It starts the sketch again
+ * when a command does not end with CRC_EOP, when no byte comes for a second, or
+ * after STK_LEAVE_PROGMODE.
+ *
+ * Both directions of the link are timed by a {@link SerialWire}: bytes go out
+ * one at a time at the baud rate, then take half the round trip time to arrive.
+ * While the device writes a page it reads nothing, and what does not fit its
+ * UART buffer is lost.
+ *
+ * Configure the simulator, then get the programmer's end with
+ * {@link #getTransport()} and {@link #start()} it.
+ */
+public class OptibootSimulator implements Runnable, Closeable {
+	/** Speed of the Uno's bootloader */
+	public static final int DEFAULT_BAUD_RATE = 115200;
+	/** Page erase and write on the ATmega328P */
+	public static final long DEFAULT_PAGE_WRITE_NANOS = 4500000;
+	/** Start up time of the Uno's fuse settings */
+	public static final long DEFAULT_BOOT_NANOS = 65000000;
+	/** Optiboot's watchdog timeout */
+	public static final long DEFAULT_BOOTLOADER_TIMEOUT_NANOS = 1000000000;
+
+	/** Bytes that make the ComputerSerial library reset the board */
+	private static final byte[] RESET_SEQUENCE = {
+		(byte) 0xFF, 0x00, 0x01, (byte) 0xFF, 0x00, 0x00
+	};
+	/** Version Optiboot reports, the one on the Uno */
+	private static final int MAJOR_VERSION = 4;
+	private static final int MINOR_VERSION = 4;
+	/** STK_GET_PARAMETER parameters for the version */
+	private static final int PARM_SW_MAJOR = 0x81;
+	private static final int PARM_SW_MINOR = 0x82;
+	/** First byte of the STK_UNIVERSAL command setting the extended address */
+	private static final int LOAD_EXTENDED_ADDRESS = 0x4D;
+
+	private final DeviceProfile profile;
+	private final byte[] flash;
+
+	private final SerialWire uplink = new SerialWire();
+	private final SerialWire downlink = new SerialWire();
+
+	private volatile int baudRate;
+	private volatile long roundTripNanos;
+	private volatile long pageWriteNanos = DEFAULT_PAGE_WRITE_NANOS;
+	private volatile long byteWriteNanos;
+	private volatile int uartBuffer;
+	private volatile long bootNanos = DEFAULT_BOOT_NANOS;
+	private volatile long bootloaderTimeoutNanos = DEFAULT_BOOTLOADER_TIMEOUT_NANOS;
+	private volatile boolean resetOnSyncError = true;
+
+	private volatile int boots;
+	private volatile int pagesWritten;
+	private volatile int pagesRead;
+	private volatile int syncErrors;
+	private volatile int overrunBytes;
+	private volatile long bytesReceived;
+
+	private Thread thread;
+	private boolean inBootloader;
+	/** Time of the last byte read, the watchdog counts from here */
+	private long lastByte;
+	private int address;
+	private int extendedAddress;
+	private byte[] single = new byte[1];
+	/** Parameters of commands that are read and ignored */
+	private byte[] ignored = new byte[20];
+	/** Optiboot's page buffer, keeping what earlier frames put past this one */
+	private byte[] pageBuffer;
+	private byte[] reply = new byte[260];
+	private int replyLength;
+
+	/** Optiboot's watchdog fired */
+	private static class WatchdogTimeout extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+	/** A command did not end with CRC_EOP */
+	private static class SyncError extends Exception {
+		private static final long serialVersionUID = 1L;
+	}
+
+	/**
+	 * @param profile The simulated chip, for its signature and flash size
+	 */
+	public OptibootSimulator(DeviceProfile profile) {
+		this.profile = profile;
+		this.flash = new byte[profile.getFlashSize()];
+		Arrays.fill(flash, (byte) 0xFF);
+		this.pageBuffer = new byte[Math.max(256, profile.getPageSize())];
+		Arrays.fill(pageBuffer, (byte) 0xFF);
+		setBaudRate(DEFAULT_BAUD_RATE);
+	}
+
+	/**
+	 * @param baudRate Bits per second on the link, 10 per byte, or 0 for no limit
+	 */
+	public void setBaudRate(int baudRate) {
+		this.baudRate = baudRate;
+		long byteNanos = baudRate > 0 ? 10000000000L / baudRate : 0;
+		uplink.setByteNanos(byteNanos);
+		downlink.setByteNanos(byteNanos);
+	}
+
+	/**
+	 * @param roundTripNanos Time a byte takes there and back, on top of the baud
+	 * rate, like the delay of a Bluetooth link
+	 */
+	public void setRoundTripNanos(long roundTripNanos) {
+		this.roundTripNanos = roundTripNanos;
+		uplink.setDelayNanos(roundTripNanos / 2);
+		downlink.setDelayNanos(roundTripNanos / 2);
+	}
+
+	/**
+	 * @param pageWriteNanos Time to erase and write one page
+	 */
+	public void setPageWriteNanos(long pageWriteNanos) {
+		this.pageWriteNanos = pageWriteNanos;
+	}
+
+	/**
+	 * @param byteWriteNanos Time added to a page write for each byte in it
+	 */
+	public void setByteWriteNanos(long byteWriteNanos) {
+		this.byteWriteNanos = byteWriteNanos;
+	}
+
+	/**
+	 * @param uartBuffer Bytes the device can receive while writing a page, 0 to
+	 * never lose bytes. The ATmega328P holds 3.
+	 */
+	public void setUartBuffer(int uartBuffer) {
+		this.uartBuffer = uartBuffer;
+	}
+
+	/**
+	 * @param bootNanos Time from the reset until the bootloader listens. Bytes
+	 * arriving before that are lost.
+	 */
+	public void setBootNanos(long bootNanos) {
+		this.bootNanos = bootNanos;
+	}
+
+	/**
+	 * @param bootloaderTimeoutNanos Time without a byte before the bootloader
+	 * starts the sketch, 0 to wait for ever
+	 */
+	public void setBootloaderTimeoutNanos(long bootloaderTimeoutNanos) {
+		this.bootloaderTimeoutNanos = bootloaderTimeoutNanos;
+	}
+
+	/**
+	 * @param resetOnSyncError True to start the sketch when a command does not end
+	 * with CRC_EOP, like Optiboot, false to answer STK_NOSYNC and carry on
+	 */
+	public void setResetOnSyncError(boolean resetOnSyncError) {
+		this.resetOnSyncError = resetOnSyncError;
+	}
+
+	/**
+	 * @return the simulated chip
+	 */
+	public DeviceProfile getProfile() {
+		return profile;
+	}
+
+	/**
+	 * @return Bits per second on the link, 0 for no limit
+	 */
+	public int getBaudRate() {
+		return baudRate;
+	}
+
+	/**
+	 * @return Time a byte takes there and back, on top of the baud rate
+	 */
+	public long getRoundTripNanos() {
+		return roundTripNanos;
+	}
+
+	/**
+	 * Get the programmer's end of the link. Call after setting the link speed,
+	 * the transport reports the latency set at this time.
+	 * @return Transport to give the programmer
+	 */
+	public Transport getTransport() {
+		InputStream in = new InputStream() {
+			@Override
+			public int read() throws IOException {
+				byte[] b = new byte[1];
+				return read(b, 0, 1) < 0 ? -1 : b[0] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				return len == 0 ? 0 : downlink.read(b, off, len, false, -1);
+			}
+
+			@Override
+			public int available() {
+				return downlink.available();
+			}
+
+			@Override
+			public void close() {
+				OptibootSimulator.this.close();
+			}
+		};
+		OutputStream out = new OutputStream() {
+			@Override
+			public void write(int b) throws IOException {
+				write(new byte[] {(byte) b}, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				uplink.send(b, off, len);
+			}
+
+			@Override
+			public void close() {
+				OptibootSimulator.this.close();
+			}
+		};
+		long byteNanos = baudRate > 0 ? 10000000000L / baudRate : 0;
+		return new StreamTransport(in, out, StreamTransport.DEFAULT_MTU,
+				roundTripNanos / 2 + byteNanos);
+	}
+
+	/**
+	 * Power the board on, running its sketch.
+	 */
+	public synchronized void start() {
+		if (thread != null) {
+			throw new IllegalStateException("OptibootSimulator: Already started");
+		}
+		thread = new Thread(this, "OptibootSimulator");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (true) {
+				if (inBootloader) {
+					command();
+				}
+				else {
+					awaitReset();
+				}
+			}
+		} catch (IOException e) {
+			// The link is closed
+		}
+	}
+
+	/**
+	 * Run the sketch until it gets the reset sequence, then boot.
+	 */
+	private void awaitReset() throws IOException {
+		int matched = 0;
+		while (matched < RESET_SEQUENCE.length) {
+			if (uplink.read(single, 0, 1, true, -1) < 0) {
+				throw new EOFException();
+			}
+			bytesReceived++;
+			if (single[0] == RESET_SEQUENCE[matched]) {
+				matched++;
+			}
+			else {
+				matched = single[0] == RESET_SEQUENCE[0] ? 1 : 0;
+			}
+		}
+
+		long ready = System.nanoTime() + bootNanos;
+		SerialWire.sleepUntil(ready);
+		uplink.discardBefore(ready);
+		boots++;
+		address = 0;
+		extendedAddress = 0;
+		lastByte = ready;
+		inBootloader = true;
+	}
+
+	/**
+	 * Read and answer one command, the main loop of Optiboot.
+	 */
+	private void command() throws IOException {
+		replyLength = 0;
+		try {
+			int ch = getch();
+			switch (ch) {
+			case ConstantsStk500v1.STK_GET_PARAMETER: {
+				int which = getch();
+				verifySpace();
+				put(which == PARM_SW_MINOR ? MINOR_VERSION :
+					which == PARM_SW_MAJOR ? MAJOR_VERSION : 0x03);
+				break;
+			}
+			case ConstantsStk500v1.STK_SET_DEVICE:
+				read(ignored, 0, 20);
+				verifySpace();
+				break;
+			case ConstantsStk500v1.STK_SET_DEVICE_EXT:
+				read(ignored, 0, 5);
+				verifySpace();
+				break;
+			case ConstantsStk500v1.STK_LOAD_ADDRESS: {
+				int word = getch() | (getch() << 8);
+				address = (extendedAddress << 17) | (word << 1);
+				verifySpace();
+				break;
+			}
+			case ConstantsStk500v1.STK_UNIVERSAL:
+				read(ignored, 0, 4);
+				if ((ignored[0] & 0xFF) == LOAD_EXTENDED_ADDRESS) {
+					extendedAddress = ignored[2] & 0xFF;
+				}
+				verifySpace();
+				put(0x00);
+				break;
+			case ConstantsStk500v1.STK_PROG_PAGE:
+				programPage();
+				break;
+			case ConstantsStk500v1.STK_READ_PAGE:
+				readPage();
+				break;
+			case ConstantsStk500v1.STK_READ_SIGN: {
+				verifySpace();
+				int signature = profile.getSignature();
+				put(signature >> 16);
+				put(signature >> 8);
+				put(signature);
+				break;
+			}
+			default:
+				// STK_GET_SYNC, STK_ENTER_PROGMODE, STK_LEAVE_PROGMODE and the rest
+				verifySpace();
+			}
+			put(ConstantsStk500v1.STK_OK);
+			sendReply();
+			if (ch == ConstantsStk500v1.STK_LEAVE_PROGMODE) {
+				inBootloader = false;
+			}
+		} catch (SyncError e) {
+			syncErrors++;
+			if (resetOnSyncError) {
+				inBootloader = false;
+			}
+			else {
+				replyLength = 0;
+				put(ConstantsStk500v1.STK_NOSYNC);
+				sendReply();
+			}
+		} catch (WatchdogTimeout e) {
+			inBootloader = false;
+		}
+	}
+
+	private void programPage() throws IOException, WatchdogTimeout, SyncError {
+		int length = (getch() << 8) | getch();
+		int memtype = getch();
+		if (length > pageBuffer.length) {
+			pageBuffer = new byte[length];
+		}
+		read(pageBuffer, 0, length);
+		verifySpace();
+		// Optiboot answers STK_INSYNC before the write and STK_OK after
+		sendReply();
+		if (memtype == 'F') {
+			long end = System.nanoTime() + pageWriteNanos + length * byteWriteNanos;
+			SerialWire.sleepUntil(end);
+			if (uartBuffer > 0) {
+				overrunBytes += uplink.overrun(end, uartBuffer);
+			}
+			// Erase the page and fill all of it from the buffer, starting at the
+			// address and wrapping around within the page like boot_page_fill
+			int pageSize = profile.getPageSize();
+			int start = address - address % pageSize;
+			synchronized (flash) {
+				if (start + pageSize <= flash.length) {
+					for (int i = 0; i < pageSize; i++) {
+						flash[start + (address + i) % pageSize] = pageBuffer[i];
+					}
+				}
+			}
+			pagesWritten++;
+		}
+	}
+
+	private void readPage() throws IOException, WatchdogTimeout, SyncError {
+		int length = (getch() << 8) | getch();
+		getch();
+		verifySpace();
+		synchronized (flash) {
+			for (int i = 0; i < length; i++) {
+				int at = address + i;
+				put(at < flash.length ? flash[at] : 0xFF);
+			}
+		}
+		address += length;
+		pagesRead++;
+	}
+
+	/**
+	 * Check the CRC_EOP ending a command and answer STK_INSYNC.
+	 */
+	private void verifySpace() throws IOException, WatchdogTimeout, SyncError {
+		if (getch() != ConstantsStk500v1.CRC_EOP) {
+			throw new SyncError();
+		}
+		put(ConstantsStk500v1.STK_INSYNC);
+	}
+
+	private int getch() throws IOException, WatchdogTimeout {
+		read(single, 0, 1);
+		return single[0] & 0xFF;
+	}
+
+	/**
+	 * Read bytes as the bootloader does, resetting the watchdog with each byte.
+	 */
+	private void read(byte[] b, int off, int len) throws IOException, WatchdogTimeout {
+		long timeout = -1;
+		if (bootloaderTimeoutNanos > 0) {
+			long byteNanos = baudRate > 0 ? 10000000000L / baudRate : 0;
+			timeout = Math.max(0, lastByte + bootloaderTimeoutNanos + len * byteNanos -
+					System.nanoTime());
+		}
+		int n = uplink.read(b, off, len, true, timeout);
+		if (n < 0) {
+			throw new EOFException();
+		}
+		if (n == 0) {
+			throw new WatchdogTimeout();
+		}
+		lastByte = System.nanoTime();
+		bytesReceived += len;
+	}
+
+	private void put(int b) {
+		if (replyLength == reply.length) {
+			reply = Arrays.copyOf(reply, reply.length * 2);
+		}
+		reply[replyLength++] = (byte) b;
+	}
+
+	private void sendReply() throws IOException {
+		downlink.send(reply, 0, replyLength);
+		replyLength = 0;
+	}
+
+	/**
+	 * Copy part of the flash.
+	 * @param address Byte address of the first byte
+	 * @param length Number of bytes
+	 * @return the bytes
+	 */
+	public byte[] readFlash(int address, int length) {
+		synchronized (flash) {
+			return Arrays.copyOfRange(flash, address, address + length);
+		}
+	}
+
+	/**
+	 * Set every byte of the flash, like a board with an older sketch.
+	 * @param value The byte value
+	 */
+	public void fillFlash(int value) {
+		synchronized (flash) {
+			Arrays.fill(flash, (byte) value);
+		}
+	}
+
+	/**
+	 * @return number of times the bootloader started
+	 */
+	public int getBoots() {
+		return boots;
+	}
+
+	/**
+	 * @return number of STK_PROG_PAGE commands written to flash
+	 */
+	public int getPagesWritten() {
+		return pagesWritten;
+	}
+
+	/**
+	 * @return number of STK_READ_PAGE commands answered
+	 */
+	public int getPagesRead() {
+		return pagesRead;
+	}
+
+	/**
+	 * @return number of commands not ending with CRC_EOP
+	 */
+	public int getSyncErrors() {
+		return syncErrors;
+	}
+
+	/**
+	 * @return number of bytes lost at a full UART buffer
+	 */
+	public int getOverrunBytes() {
+		return overrunBytes;
+	}
+
+	/**
+	 * @return number of bytes the device read
+	 */
+	public long getBytesReceived() {
+		return bytesReceived;
+	}
+
+	/**
+	 * Cut the link. The device stops once it has read what is on its way.
+	 */
+	@Override
+	public void close() {
+		uplink.close();
+		downlink.close();
+	}
+}
@@ -0,0 +1,224 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import no.group09.stk500_v1.ConstantsStk500v1;
+import no.group09.stk500_v1.EReaderState;
+import no.group09.stk500_v1.Reader;
+import no.group09.stk500_v1.TimeoutValues;
+
+/**
+ * Measures how much CPU time the {@link Reader} threads use, while idle and while
+ * reading pages as they arrive from a simulated device. The numbers are CPU
+ * milliseconds per wall clock second, so 1000 means one core kept busy. Run it
+ * against an older Reader to compare the engines.
+ *
+ * The last phase measures the latency of a command: the time from the device
+ * writing a two byte answer to the caller having read it, waiting for the reader
+ * the way STK500v1 does.
+ *
+ * Usage: ReaderCpuBenchmark [seconds per phase] [milliseconds between pages]
+ * [commands]
+ */
+public class ReaderCpuBenchmark {
+	private static final int PAGE_SIZE = 258;
+
+	public static void main(String[] args) throws Exception {
+		long seconds = args.length > 0 ? Long.parseLong(args[0]) : 5;
+		final long interval = args.length > 1 ? Long.parseLong(args[1]) : 10;
+		int commands = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+
+		ThreadMXBean mx = ManagementFactory.getThreadMXBean();
+		if (!mx.isThreadCpuTimeSupported()) {
+			System.out.println("Thread CPU time is not supported by this JVM");
+			return;
+		}
+		mx.setThreadCpuTimeEnabled(true);
+
+		final PipedOutputStream device = new PipedOutputStream();
+		PipedInputStream input = new PipedInputStream(device, 4096);
+		Reader reader = new Reader(input, new NullLogger());
+		Thread readerThread = new Thread(reader, "Reader");
+		readerThread.setDaemon(true);
+		readerThread.start();
+		reader.start();
+		awaitWaiting(reader, 0);
+
+		// The device side of the pipe has to stay alive for the whole run
+		final Object lock = new Object();
+		final int[] pagesToSend = new int[1];
+		Thread deviceThread = new Thread("Device") {
+			@Override
+			public void run() {
+				byte[] page = new byte[PAGE_SIZE];
+				try {
+					while (true) {
+						synchronized (lock) {
+							while (pagesToSend[0] == 0) {
+								lock.wait();
+							}
+							pagesToSend[0]--;
+						}
+						Thread.sleep(interval);
+						device.write(page);
+						device.flush();
+					}
+				} catch (InterruptedException e) {
+				} catch (IOException e) {
+					System.out.println("Device: " + e.getMessage());
+				}
+			}
+		};
+		deviceThread.setDaemon(true);
+		deviceThread.start();
+
+		// Idle
+		List<Thread> threads = readerThreads(readerThread);
+		long cpu = cpuTime(mx, threads);
+		long start = System.nanoTime();
+		Thread.sleep(seconds * 1000);
+		report("idle", mx, threads, cpu, start, 0);
+
+		// Reading pages
+		threads = readerThreads(readerThread);
+		cpu = cpuTime(mx, threads);
+		start = System.nanoTime();
+		long end = start + seconds * 1000000000L;
+		byte[] page = new byte[PAGE_SIZE];
+		int pages = 0;
+		while (System.nanoTime() < end) {
+			synchronized (lock) {
+				pagesToSend[0]++;
+				lock.notifyAll();
+			}
+			if (!awaitWaiting(reader, 2000)) {
+				System.out.println("Reader stuck in " + reader.getState());
+				break;
+			}
+			try {
+				if (reader.read(page, 0, page.length, TimeoutValues.READ) != page.length) {
+					throw new IllegalStateException("Page not read");
+				}
+			} catch (TimeoutException e) {
+				System.out.println("Page " + pages + " timed out");
+				break;
+			}
+			pages++;
+		}
+		report("reading", mx, threads, cpu, start, pages);
+
+		deviceThread.interrupt();
+		measureLatency(reader, device, commands);
+	}
+
+	/**
+	 * Write an answer into the pipe and time how long it takes to read it.
+	 */
+	private static void measureLatency(Reader reader, PipedOutputStream device,
+			int commands) throws Exception {
+		byte[] answer = {ConstantsStk500v1.STK_INSYNC, ConstantsStk500v1.STK_OK};
+		byte[] received = new byte[answer.length];
+		long[] nanos = new long[commands];
+		for (int i = 0; i < commands; i++) {
+			// Let the reader go idle, as it is while a command is on its way
+			Thread.sleep(1);
+			long start = System.nanoTime();
+			device.write(answer);
+			device.flush();
+			if (!reader.awaitState(EReaderState.WAITING, 2000) ||
+					!reader.awaitStateActivated(2000) ||
+					reader.read(received, 0, received.length, TimeoutValues.READ) !=
+					received.length) {
+				System.out.println("Answer " + i + " not read");
+				return;
+			}
+			nanos[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(nanos);
+		long sum = 0;
+		for (long n : nanos) {
+			sum += n;
+		}
+		System.out.println(String.format("latency : %8.1f us mean, %.1f us median, " +
+				"%.1f us at 99%%, %d commands", sum / 1e3 / commands,
+				nanos[commands / 2] / 1e3, nanos[commands * 99 / 100] / 1e3, commands));
+	}
+
+	/**
+	 * @param timeout Milliseconds to wait, 0 to wait forever
+	 * @return false if the reader did not get ready in time
+	 */
+	private static boolean awaitWaiting(Reader reader, long timeout)
+			throws InterruptedException {
+		long start = System.currentTimeMillis();
+		while (reader.getState() != EReaderState.WAITING ||
+				!reader.wasCurrentStateActivated()) {
+			if (timeout > 0 && System.currentTimeMillis() - start > timeout) {
+				return false;
+			}
+			Thread.sleep(1);
+		}
+		return true;
+	}
+
+	/**
+	 * The reader thread itself and any helper thread the Reader started.
+	 */
+	private static List<Thread> readerThreads(Thread readerThread) {
+		List<Thread> threads = new ArrayList<Thread>();
+		threads.add(readerThread);
+		for (Thread t : Thread.getAllStackTraces().keySet()) {
+			if (t != readerThread && t.getName().startsWith("Reader")) {
+				threads.add(t);
+			}
+		}
+		return threads;
+	}
+
+	private static long cpuTime(ThreadMXBean mx, List<Thread> threads) {
+		long sum = 0;
+		for (Thread t : threads) {
+			long time = mx.getThreadCpuTime(t.getId());
+			if (time > 0) {
+				sum += time;
+			}
+		}
+		return sum;
+	}
+
+	private static void report(String phase, ThreadMXBean mx, List<Thread> threads,
+			long cpuStart, long wallStart, int pages) {
+		double wall = (System.nanoTime() - wallStart) / 1e9;
+		double cpu = (cpuTime(mx, threads) - cpuStart) / 1e6;
+		System.out.println(String.format("%-8s: %8.1f CPU ms per second, %d thread(s)" +
+				"%s", phase, cpu / wall, threads.size(),
+				pages > 0 ? String.format(", %d pages, %.3f CPU ms per page", pages,
+						cpu / pages) : ""));
+	}
+}
@@ -0,0 +1,158 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.util.Arrays;
+import java.util.Random;
+
+import no.group09.stk500_v1.DeviceProfile;
+import no.group09.stk500_v1.DeviceRegistry;
+import no.group09.stk500_v1.Hex;
+import no.group09.stk500_v1.Logger;
+import no.group09.stk500_v1.STK500v1;
+
+/**
+ * Runs programming sessions against an {@link OptibootSimulator} through a
+ * {@link FaultInjectingTransport}, one scenario per kind of fault, and reports
+ * for each how often the session still succeeded, how long recovering from a
+ * timeout took, and how many bytes the faults cost. Sessions are seeded, so the
+ * same run gives the same faults and recovery strategies can be compared.
+ *
+ * Time is compared with the clean scenario. A byte counts when the programmer
+ * or the device sends it, before the faults. Every byte of a failed session is
+ * wasted, and of a successful one the bytes beyond what the clean scenario sent.
+ *
+ * Usage: RecoveryBenchmark [image size in KB] [sessions per scenario]
+ * [rate scale] [strict|lenient]
+ *
+ * A strict board starts its sketch on a command without CRC_EOP, as Optiboot
+ * does. A lenient board answers STK_NOSYNC and keeps listening.
+ */
+public class RecoveryBenchmark {
+	/** ATmega328P, the chip on the Uno */
+	private static final int SIGNATURE = 0x1E950F;
+
+	/** A kind of fault, rates per byte before scaling */
+	private static class Scenario {
+		final String name;
+		final double drop;
+		final double corrupt;
+		final double duplicate;
+		final double delay;
+		final long delayMillis;
+
+		Scenario(String name, double drop, double corrupt, double duplicate,
+				double delay, long delayMillis) {
+			this.name = name;
+			this.drop = drop;
+			this.corrupt = corrupt;
+			this.duplicate = duplicate;
+			this.delay = delay;
+			this.delayMillis = delayMillis;
+		}
+	}
+
+	private static final Scenario[] SCENARIOS = {
+		new Scenario("clean", 0, 0, 0, 0, 0),
+		new Scenario("drop", 0.0001, 0, 0, 0, 0),
+		new Scenario("corrupt", 0, 0.0001, 0, 0, 0),
+		new Scenario("duplicate", 0, 0, 0.0001, 0, 0),
+		new Scenario("stall 100 ms", 0, 0, 0, 0.0001, 100),
+		new Scenario("stall 600 ms", 0, 0, 0, 0.0001, 600),
+		new Scenario("mixed", 0.00005, 0.00005, 0.00005, 0.00005, 300),
+	};
+
+	public static void main(String[] args) throws Exception {
+		int imageSize = (args.length > 0 ? Integer.parseInt(args[0]) : 8) * 1024;
+		int sessions = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		double scale = args.length > 2 ? Double.parseDouble(args[2]) : 1;
+		boolean strict = args.length <= 3 || !args[3].equals("lenient");
+		Logger logger = new NullLogger();
+
+		DeviceProfile profile = DeviceRegistry.getDefault().forSignature(SIGNATURE);
+		imageSize = Math.min(imageSize, profile.getApplicationSize() / 16 * 16);
+		Hex hex = Hex.parse(HexParseBenchmark.createHexText(imageSize, new Random(42)),
+				logger);
+		byte[] image = new byte[imageSize];
+		hex.getHexLineBuffer(0, imageSize).get(image);
+
+		System.out.println(String.format("%s, %d byte image, %d sessions per scenario, " +
+				"rates x%.1f, %s board", profile.getName(), imageSize, sessions, scale,
+				strict ? "strict" : "lenient"));
+
+		double cleanMillis = 0;
+		double cleanBytes = 0;
+		for (Scenario scenario : SCENARIOS) {
+			int succeeded = 0;
+			int faults = 0;
+			int attempts = 0;
+			int recovered = 0;
+			long recoveryNanos = 0;
+			long sessionNanos = 0;
+			long bytes = 0;
+			long failedBytes = 0;
+			for (int seed = 0; seed < sessions; seed++) {
+				OptibootSimulator board = new OptibootSimulator(profile);
+				board.setResetOnSyncError(strict);
+				FaultInjectingTransport transport =
+						new FaultInjectingTransport(board.getTransport(), seed);
+				transport.setDropRate(scenario.drop * scale);
+				transport.setCorruptRate(scenario.corrupt * scale);
+				transport.setDuplicateRate(scenario.duplicate * scale);
+				transport.setDelay(scenario.delay * scale, scenario.delayMillis);
+				board.start();
+
+				STK500v1 programmer = new STK500v1(transport, logger, hex);
+				long start = System.nanoTime();
+				boolean ok = programmer.programUsingOptiboot(true);
+				sessionNanos += System.nanoTime() - start;
+
+				long sent = transport.getBytesSent() + transport.getBytesReceived();
+				if (ok && Arrays.equals(image, board.readFlash(0, imageSize))) {
+					succeeded++;
+					bytes += sent;
+				}
+				else {
+					failedBytes += sent;
+				}
+				faults += transport.getDropped() + transport.getCorrupted() +
+						transport.getDuplicated() + transport.getDelayed();
+				attempts += programmer.getRecoveryAttempts();
+				recovered += programmer.getTimeoutRecoveries();
+				recoveryNanos += programmer.getRecoveryNanos();
+				transport.close();
+			}
+
+			double millis = sessionNanos / 1e6 / sessions;
+			if (scenario.delay == 0 && scenario.drop == 0 && scenario.corrupt == 0 &&
+					scenario.duplicate == 0 && succeeded > 0) {
+				cleanMillis = millis;
+				cleanBytes = (double) bytes / succeeded;
+			}
+			double wasted = (bytes - succeeded * cleanBytes + failedBytes) / sessions;
+			System.out.println(String.format("%-13s: %3.0f%% succeeded, %5.1f faults, " +
+					"%8.1f ms (%+8.1f), %4.1f recoveries (%d ok), %7.1f ms per recovery, " +
+					"%7.0f bytes wasted", scenario.name, 100.0 * succeeded / sessions,
+					(double) faults / sessions, millis, millis - cleanMillis,
+					(double) attempts / sessions, recovered,
+					attempts > 0 ? recoveryNanos / 1e6 / attempts : 0.0,
+					wasted));
+		}
+	}
+}
@@ -0,0 +1,263 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * One direction of a simulated serial link. Every byte sent is stamped with the
+ * time it reaches the other end: bytes leave one after another at the baud rate,
+ * then travel for the link delay. A reader only gets bytes that have arrived.
+ *
+ * The wire itself never loses or refuses bytes, like the buffer of a Bluetooth
+ * module. Losing bytes at a full UART is up to the receiver, with
+ * {@link #overrun(long, int) overrun}.
+ */
+class SerialWire {
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+
+	private byte[] data = new byte[INITIAL_CAPACITY];
+	/** Arrival time of each byte, never decreasing from head to tail */
+	private long[] due = new long[INITIAL_CAPACITY];
+	private int head;
+	private int count;
+	/** Time the last byte sent has left */
+	private long free;
+	private boolean closed;
+
+	/** Time one byte takes on the wire, from the baud rate */
+	private volatile long byteNanos;
+	/** Time a byte travels after leaving, half the round trip time */
+	private volatile long delayNanos;
+
+	void setByteNanos(long byteNanos) {
+		this.byteNanos = byteNanos;
+	}
+
+	void setDelayNanos(long delayNanos) {
+		this.delayNanos = delayNanos;
+	}
+
+	/**
+	 * Send bytes, stamped with their arrival times. Never waits.
+	 * @throws IOException if the wire is closed
+	 */
+	void send(byte[] b, int off, int len) throws IOException {
+		lock.lock();
+		try {
+			if (closed) {
+				throw new IOException("SerialWire: Closed");
+			}
+			if (count + len > data.length) {
+				grow(count + len);
+			}
+			long now = System.nanoTime();
+			for (int i = 0; i < len; i++) {
+				free = Math.max(free, now) + byteNanos;
+				int tail = (head + count) % data.length;
+				data[tail] = b[off + i];
+				due[tail] = free + delayNanos;
+				count++;
+			}
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void grow(int needed) {
+		int capacity = Math.max(data.length * 2, needed);
+		byte[] newData = new byte[capacity];
+		long[] newDue = new long[capacity];
+		for (int i = 0; i < count; i++) {
+			newData[i] = data[(head + i) % data.length];
+			newDue[i] = due[(head + i) % data.length];
+		}
+		data = newData;
+		due = newDue;
+		head = 0;
+	}
+
+	/**
+	 * Read arrived bytes.
+	 * @param all True to wait until all <code>len</code> bytes have arrived,
+	 * false to return as soon as any has
+	 * @param timeout Longest time to wait in nanoseconds, negative to wait as long
+	 * as needed
+	 * @return number of bytes read, 0 on timeout, -1 if the wire is closed and
+	 * the bytes will never come
+	 * @throws InterruptedIOException if interrupted
+	 */
+	int read(byte[] b, int off, int len, boolean all, long timeout)
+			throws InterruptedIOException {
+		long deadline = System.nanoTime() + timeout;
+		int need = all ? len : 1;
+		lock.lock();
+		try {
+			while (true) {
+				long now = System.nanoTime();
+				if (count >= need && due[(head + need - 1) % data.length] <= now) {
+					break;
+				}
+				if (closed && count < need) {
+					return -1;
+				}
+				long wait = count >= need ? due[(head + need - 1) % data.length] - now :
+					Long.MAX_VALUE;
+				if (timeout >= 0) {
+					if (deadline - now <= 0) {
+						return 0;
+					}
+					wait = Math.min(wait, deadline - now);
+				}
+				try {
+					if (wait == Long.MAX_VALUE) {
+						changed.await();
+					}
+					else {
+						changed.awaitNanos(wait);
+					}
+				} catch (InterruptedException e) {
+					throw new InterruptedIOException("SerialWire: Interrupted");
+				}
+			}
+
+			int n = need;
+			if (!all) {
+				long now = System.nanoTime();
+				while (n < len && n < count && due[(head + n) % data.length] <= now) {
+					n++;
+				}
+			}
+			for (int i = 0; i < n; i++) {
+				b[off + i] = data[head];
+				head = (head + 1) % data.length;
+			}
+			count -= n;
+			return n;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return number of bytes that have arrived and are not read yet
+	 */
+	int available() {
+		lock.lock();
+		try {
+			long now = System.nanoTime();
+			int n = 0;
+			while (n < count && due[(head + n) % data.length] <= now) {
+				n++;
+			}
+			return n;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Lose what a full UART would have lost while the receiver was not reading:
+	 * of the bytes arrived by the given time, only the first ones that fit the
+	 * buffer are kept.
+	 * @param until Time the receiver reads again
+	 * @param keep Number of bytes the buffer holds
+	 * @return number of bytes lost
+	 */
+	int overrun(long until, int keep) {
+		lock.lock();
+		try {
+			int arrived = 0;
+			while (arrived < count && due[(head + arrived) % data.length] <= until) {
+				arrived++;
+			}
+			int lost = arrived - keep;
+			if (lost <= 0) {
+				return 0;
+			}
+			// Move the kept bytes up to the first byte after the lost ones
+			for (int i = keep - 1; i >= 0; i--) {
+				int from = (head + i) % data.length;
+				int to = (head + i + lost) % data.length;
+				data[to] = data[from];
+				due[to] = due[from];
+			}
+			head = (head + lost) % data.length;
+			count -= lost;
+			return lost;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Throw away bytes arriving before a time, like bytes sent to a device that
+	 * is still starting.
+	 * @return number of bytes thrown away
+	 */
+	int discardBefore(long time) {
+		lock.lock();
+		try {
+			int n = 0;
+			while (count > 0 && due[head] < time) {
+				head = (head + 1) % data.length;
+				count--;
+				n++;
+			}
+			return n;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Close the wire. Bytes on their way still arrive.
+	 */
+	void close() {
+		lock.lock();
+		try {
+			closed = true;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Wait until a time, with better than millisecond precision.
+	 */
+	static void sleepUntil(long time) throws InterruptedIOException {
+		long left;
+		while ((left = time - System.nanoTime()) > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(left);
+			} catch (InterruptedException e) {
+				throw new InterruptedIOException("SerialWire: Interrupted");
+			}
+		}
+	}
+}
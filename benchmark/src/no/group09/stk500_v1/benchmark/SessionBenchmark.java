@@ -0,0 +1,104 @@
+package no.group09.stk500_v1.benchmark;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import no.group09.stk500_v1.DeviceProfile;
+import no.group09.stk500_v1.DeviceRegistry;
+import no.group09.stk500_v1.Hex;
+import no.group09.stk500_v1.Logger;
+import no.group09.stk500_v1.STK500v1;
+import no.group09.transport.Transport;
+
+/**
+ * Times whole programming sessions against an {@link OptibootSimulator}, from the
+ * reset to the last verified page, for each pipeline setting with and without
+ * verification. Every session gets a new board and a new programmer, the way the
+ * app flashes, and the board's flash is checked afterwards.
+ *
+ * Usage: SessionBenchmark [image size in KB] [baud rate] [round trip ms]
+ * [sessions per setting] [UART buffer bytes]
+ */
+public class SessionBenchmark {
+	/** ATmega328P, the chip on the Uno */
+	private static final int SIGNATURE = 0x1E950F;
+
+	/** Pipeline windows to time, 0 for the adaptive window */
+	private static final int[] WINDOWS = {1, 2, 4, 0};
+
+	public static void main(String[] args) throws Exception {
+		int imageSize = (args.length > 0 ? Integer.parseInt(args[0]) : 16) * 1024;
+		int baudRate = args.length > 1 ? Integer.parseInt(args[1]) :
+			OptibootSimulator.DEFAULT_BAUD_RATE;
+		double roundTrip = args.length > 2 ? Double.parseDouble(args[2]) : 20;
+		int sessions = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+		int uartBuffer = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+		Logger logger = new NullLogger();
+
+		DeviceProfile profile = DeviceRegistry.getDefault().forSignature(SIGNATURE);
+		imageSize = Math.min(imageSize, profile.getApplicationSize() / 16 * 16);
+		ByteBuffer text = HexParseBenchmark.createHexText(imageSize, new Random(42));
+		Hex hex = Hex.parse(text, logger);
+		byte[] image = new byte[imageSize];
+		hex.getHexLineBuffer(0, imageSize).get(image);
+
+		System.out.println(String.format("%s, %d byte image, %d baud, %.1f ms round " +
+				"trip, UART buffer %s", profile.getName(), imageSize, baudRate, roundTrip,
+				uartBuffer > 0 ? uartBuffer + " bytes" : "unlimited"));
+
+		for (int verify = 0; verify < 2; verify++) {
+			for (int window : WINDOWS) {
+				long total = 0;
+				int failures = 0;
+				int overruns = 0;
+				for (int i = 0; i < sessions; i++) {
+					OptibootSimulator board = new OptibootSimulator(profile);
+					board.setBaudRate(baudRate);
+					board.setRoundTripNanos((long) (roundTrip * 1e6));
+					board.setUartBuffer(uartBuffer);
+					Transport transport = board.getTransport();
+					board.start();
+
+					STK500v1 programmer = new STK500v1(transport, logger, hex);
+					programmer.setPipelineWindow(Math.max(window, 1));
+					programmer.setAdaptiveWindow(window == 0);
+
+					long start = System.nanoTime();
+					boolean ok = programmer.programUsingOptiboot(verify == 1);
+					total += System.nanoTime() - start;
+
+					if (!ok || !Arrays.equals(image, board.readFlash(0, imageSize))) {
+						failures++;
+					}
+					overruns += board.getOverrunBytes();
+					transport.close();
+				}
+				double ms = total / 1e6 / sessions;
+				System.out.println(String.format("%-8s window %-8s: %8.1f ms per " +
+						"session, %6.2f KB/s, %d of %d failed, %d bytes overrun",
+						verify == 1 ? "verify" : "write", window == 0 ? "adaptive" :
+							String.valueOf(window), ms, imageSize / ms * 1000 / 1024,
+						failures, sessions, overruns));
+			}
+		}
+	}
+}
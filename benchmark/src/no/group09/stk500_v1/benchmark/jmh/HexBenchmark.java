@@ -0,0 +1,92 @@
+package no.group09.stk500_v1.benchmark.jmh;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import no.group09.stk500_v1.Hex;
+import no.group09.stk500_v1.Logger;
+import no.group09.stk500_v1.benchmark.HexParseBenchmark;
+import no.group09.stk500_v1.benchmark.NullLogger;
+
+/**
+ * Parsing an Intel hex file, and getting the data of every page out of the parsed
+ * image as a copy and as a view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HexBenchmark {
+	private static final int PAGE_SIZE = 128;
+
+	@Param({"32", "256"})
+	public int imageKilobytes;
+
+	private Logger logger = new NullLogger();
+	private ByteBuffer text;
+	private Hex hex;
+	private int size;
+
+	@Setup
+	public void setUp() {
+		size = imageKilobytes * 1024;
+		text = HexParseBenchmark.createHexText(size, new Random(42));
+		hex = Hex.parse(text.duplicate(), logger);
+		if (!hex.getChecksumStatus()) {
+			throw new IllegalStateException("Image not accepted");
+		}
+	}
+
+	@Benchmark
+	public Hex parse() {
+		return Hex.parse(text.duplicate(), logger);
+	}
+
+	@Benchmark
+	public void getHexLine(Blackhole blackhole) {
+		for (int position = 0; position < size; position += PAGE_SIZE) {
+			blackhole.consume(hex.getHexLine(position, PAGE_SIZE));
+		}
+	}
+
+	@Benchmark
+	public void getHexLineBuffer(Blackhole blackhole) {
+		for (int position = 0; position < size; position += PAGE_SIZE) {
+			blackhole.consume(hex.getHexLineBuffer(position, PAGE_SIZE));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package no.group09.stk500_v1.benchmark.jmh;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.group09.stk500_v2.Message;
+
+/**
+ * Framing STK500v2 messages: building one to send, checking the checksum of a
+ * received one, and building one from received bytes. The body sizes are a
+ * sign on, a 128 byte page program command and the largest page of the v2
+ * protocol.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageBenchmark {
+	@Param({"1", "138", "266"})
+	public int bodySize;
+
+	private byte[] body;
+	private byte[] encoded;
+	private ArrayList<Byte> received;
+
+	@Setup
+	public void setUp() {
+		body = new byte[bodySize];
+		new Random(42).nextBytes(body);
+		encoded = new Message((byte) 1, body).getCompleteMessage();
+		received = new ArrayList<Byte>(encoded.length);
+		for (byte b : encoded) {
+			received.add(b);
+		}
+	}
+
+	@Benchmark
+	public byte[] encode() {
+		return new Message((byte) 1, body).getCompleteMessage();
+	}
+
+	@Benchmark
+	public boolean checksum() {
+		return Message.isValidChecksum(encoded);
+	}
+
+	@Benchmark
+	public Message decode() {
+		return new Message(received);
+	}
+}
@@ -0,0 +1,123 @@
+package no.group09.stk500_v1.benchmark.jmh;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.group09.stk500_v1.DeviceProfile;
+import no.group09.stk500_v1.DeviceRegistry;
+import no.group09.stk500_v1.Hex;
+import no.group09.stk500_v1.Logger;
+import no.group09.stk500_v1.STK500v1;
+import no.group09.stk500_v1.benchmark.HexParseBenchmark;
+import no.group09.stk500_v1.benchmark.NullLogger;
+import no.group09.stk500_v1.benchmark.OptibootSimulator;
+import no.group09.transport.Transport;
+
+/**
+ * Whole programming sessions with the default settings, against an
+ * {@link OptibootSimulator} at 115200 baud. The page size picks the simulated
+ * chip: an ATmega8, an ATmega328P or an ATmega1284P. Each session gets a new
+ * board and programmer, set up outside the measurement.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ProgrammingSessionBenchmark {
+	private static final int IMAGE_SIZE = 4 * 1024;
+
+	@Param({"64", "128", "256"})
+	public int pageSize;
+
+	@Param({"0", "20"})
+	public int roundTripMillis;
+
+	@Param({"false", "true"})
+	public boolean verify;
+
+	private Logger logger = new NullLogger();
+	private DeviceProfile profile;
+	private Hex hex;
+	private Transport transport;
+	private STK500v1 programmer;
+
+	@Setup(Level.Trial)
+	public void setUpImage() {
+		int signature;
+		switch (pageSize) {
+		case 64:
+			signature = 0x1E9307;
+			break;
+		case 128:
+			signature = 0x1E950F;
+			break;
+		case 256:
+			signature = 0x1E9705;
+			break;
+		default:
+			throw new IllegalArgumentException("No simulated chip with " + pageSize +
+					" byte pages");
+		}
+		profile = DeviceRegistry.getDefault().forSignature(signature);
+		hex = Hex.parse(HexParseBenchmark.createHexText(IMAGE_SIZE, new Random(42)),
+				logger);
+	}
+
+	@Setup(Level.Invocation)
+	public void setUpSession() {
+		OptibootSimulator board = new OptibootSimulator(profile);
+		board.setRoundTripNanos(roundTripMillis * 1000000L);
+		transport = board.getTransport();
+		board.start();
+		programmer = new STK500v1(transport, logger, hex);
+	}
+
+	@TearDown(Level.Invocation)
+	public void tearDownSession() throws IOException {
+		transport.close();
+	}
+
+	@Benchmark
+	public boolean session() {
+		if (!programmer.programUsingOptiboot(verify)) {
+			throw new IllegalStateException("Session failed in " +
+					programmer.getProtocolState());
+		}
+		return true;
+	}
+}
@@ -0,0 +1,110 @@
+package no.group09.stk500_v1.benchmark.jmh;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import no.group09.stk500_v1.EReaderState;
+import no.group09.stk500_v1.Reader;
+import no.group09.stk500_v1.TimeoutValues;
+import no.group09.stk500_v1.benchmark.NullLogger;
+import no.group09.transport.LoopbackTransport;
+
+/**
+ * Time from an answer arriving until the programmer has all of it, read one byte
+ * at a time and read as one block. The lengths are an STK_INSYNC STK_OK answer and
+ * a 128 byte page between them.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReaderBenchmark {
+	@Param({"2", "130"})
+	public int length;
+
+	private LoopbackTransport[] link;
+	private OutputStream device;
+	private Reader reader;
+	private byte[] answer;
+	private byte[] buffer;
+
+	@Setup
+	public void setUp() {
+		link = LoopbackTransport.createPair();
+		device = link[1].getOutputStream();
+		reader = new Reader(link[0].getInputStream(), new NullLogger());
+		Thread thread = new Thread(reader, "Reader");
+		thread.setDaemon(true);
+		thread.start();
+		reader.start();
+		answer = new byte[length];
+		buffer = new byte[length];
+		awaitWaiting();
+	}
+
+	@TearDown
+	public void tearDown() {
+		reader.stop();
+		reader.awaitState(EReaderState.STOPPED, 1000);
+		reader.requestCompleteStop();
+		link[0].close();
+	}
+
+	@Benchmark
+	public int singleByte() throws IOException, TimeoutException {
+		device.write(answer, 0, length);
+		int sum = 0;
+		for (int i = 0; i < length; i++) {
+			awaitWaiting();
+			sum += reader.read(TimeoutValues.READ);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public int block() throws IOException, TimeoutException {
+		device.write(answer, 0, length);
+		awaitWaiting();
+		return reader.read(buffer, 0, length, TimeoutValues.READ);
+	}
+
+	private void awaitWaiting() {
+		reader.awaitState(EReaderState.WAITING, 0);
+		reader.awaitStateActivated(0);
+	}
+}
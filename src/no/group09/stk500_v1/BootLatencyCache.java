@@ -0,0 +1,76 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.util.HashMap;
+
+/**
+ * Remembers how long each device took from a reset until its bootloader
+ * answered, so the next session starts asking for sync just before the
+ * bootloader is expected to listen, instead of after a fixed wait.
+ *
+ * Times are smoothed over sessions, so one slow start does not move the next
+ * probe far. Devices without an id share one entry.
+ */
+public class BootLatencyCache {
+	private static BootLatencyCache defaultCache;
+
+	/** Boot latency in milliseconds by device id */
+	private HashMap<String, Long> latencies = new HashMap<String, Long>();
+
+	/**
+	 * Get the cache shared by the whole process.
+	 * @return the process wide cache
+	 */
+	public static synchronized BootLatencyCache getDefault() {
+		if (defaultCache == null) {
+			defaultCache = new BootLatencyCache();
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * @param deviceId Id of the device, like its Bluetooth address, or null
+	 * @return time from the reset until the bootloader answered in milliseconds,
+	 * or -1 if the device has not been seen
+	 */
+	public synchronized long get(String deviceId) {
+		Long latency = latencies.get(deviceId);
+		return latency != null ? latency : -1;
+	}
+
+	/**
+	 * Add a boot latency seen in a session.
+	 * @param deviceId Id of the device, like its Bluetooth address, or null
+	 * @param millis Time from the reset until the bootloader answered
+	 */
+	public synchronized void record(String deviceId, long millis) {
+		Long latency = latencies.get(deviceId);
+		latencies.put(deviceId, latency != null ? (latency + millis) / 2 : millis);
+	}
+
+	/**
+	 * Forget the boot latency of a device, like when another board is connected
+	 * under the same id.
+	 * @param deviceId Id of the device
+	 */
+	public synchronized void forget(String deviceId) {
+		latencies.remove(deviceId);
+	}
+}
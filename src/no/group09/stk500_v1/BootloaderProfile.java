@@ -0,0 +1,82 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * What a bootloader does with the address loaded by STK_LOAD_ADDRESS after reading
+ * or writing a page. When the address moves on by itself, contiguous pages need
+ * only one load address.
+ */
+public enum BootloaderProfile {
+	/**
+	 * Optiboot. STK_READ_PAGE moves the address past the bytes read, while
+	 * STK_PROG_PAGE leaves it where it was. Optiboot answers STK_CHECK_AUTOINC
+	 * with OK without implementing it, so it can not be probed. The chip erase
+	 * command is answered but ignored, each page is erased as it is written.
+	 */
+	OPTIBOOT(true, true, false, false),
+	/**
+	 * The original STK500 firmware, which moves the address after both, and
+	 * erases the whole chip when asked to
+	 */
+	STK500(true, true, true, true),
+	/** Not known, ask the device with STK_CHECK_AUTOINC at the start of a session */
+	UNKNOWN(false, false, false, false);
+
+	private final boolean known;
+	private final boolean readAutoIncrement;
+	private final boolean writeAutoIncrement;
+	private final boolean chipErase;
+
+	private BootloaderProfile(boolean known, boolean read, boolean write,
+			boolean chipErase) {
+		this.known = known;
+		this.readAutoIncrement = read;
+		this.writeAutoIncrement = write;
+		this.chipErase = chipErase;
+	}
+
+	/**
+	 * @return false if the device has to be asked
+	 */
+	public boolean isKnown() {
+		return known;
+	}
+
+	/**
+	 * @return true if reading a page moves the address past it
+	 */
+	public boolean isReadAutoIncrement() {
+		return readAutoIncrement;
+	}
+
+	/**
+	 * @return true if writing a page moves the address past it
+	 */
+	public boolean isWriteAutoIncrement() {
+		return writeAutoIncrement;
+	}
+
+	/**
+	 * @return true if the chip erase command leaves every byte of the flash 0xFF
+	 */
+	public boolean isChipErase() {
+		return chipErase;
+	}
+}
@@ -0,0 +1,117 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * What the programmer needs to know about one AVR chip: its signature, the size
+ * of its flash and of a flash page, and how much of the top of the flash the
+ * bootloader takes. Images must end below the bootloader.
+ */
+public class DeviceProfile {
+	private final String name;
+	private final int signature;
+	private final int flashSize;
+	private final int pageSize;
+	private final int bootloaderSize;
+
+	/**
+	 * @param name Name of the chip, for logging
+	 * @param signature The three signature bytes, first byte highest
+	 * @param flashSize Flash size in bytes
+	 * @param pageSize Flash page size in bytes
+	 * @param bootloaderSize Bytes at the top of the flash taken by the bootloader
+	 */
+	public DeviceProfile(String name, int signature, int flashSize, int pageSize,
+			int bootloaderSize) {
+		if (pageSize <= 0 || flashSize <= 0 || bootloaderSize < 0 ||
+				bootloaderSize >= flashSize) {
+			throw new IllegalArgumentException("DeviceProfile: Invalid sizes for " + name);
+		}
+		this.name = name;
+		this.signature = signature;
+		this.flashSize = flashSize;
+		this.pageSize = pageSize;
+		this.bootloaderSize = bootloaderSize;
+	}
+
+	/**
+	 * @return name of the chip
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the three signature bytes, first byte highest
+	 */
+	public int getSignature() {
+		return signature;
+	}
+
+	/**
+	 * @return flash size in bytes
+	 */
+	public int getFlashSize() {
+		return flashSize;
+	}
+
+	/**
+	 * @return flash page size in bytes
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @return bytes at the top of the flash taken by the bootloader
+	 */
+	public int getBootloaderSize() {
+		return bootloaderSize;
+	}
+
+	/**
+	 * @return bytes of flash an image may use, below the bootloader
+	 */
+	public int getApplicationSize() {
+		return flashSize - bootloaderSize;
+	}
+
+	/**
+	 * Check that an image ends below the bootloader, so writing it can not
+	 * overwrite the bootloader.
+	 * @param hex A correctly parsed image
+	 * @return true if every byte of the image is below the bootloader
+	 */
+	public boolean fits(Hex hex) {
+		int segments = hex.getSegmentCount();
+		if (segments == 0) {
+			return true;
+		}
+		// Segments are sorted by address, the last one ends highest
+		int end = hex.getSegmentAddress(segments - 1) + hex.getSegmentLength(segments - 1);
+		return end <= getApplicationSize();
+	}
+
+	@Override
+	public String toString() {
+		return name + " (signature 0x" + Integer.toHexString(signature) + ", " +
+				flashSize + " bytes flash, " + pageSize + " byte pages, " +
+				bootloaderSize + " byte bootloader)";
+	}
+}
@@ -0,0 +1,109 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.util.HashMap;
+
+/**
+ * Finds the {@link DeviceProfile} of a chip from its signature bytes, and
+ * remembers which profile each device had, so a later session with the same
+ * device does not have to ask for the signature.
+ *
+ * The chips used on Arduino boards with an STK500v1 bootloader are built in,
+ * with the flash taken by Optiboot, or by the stock bootloader of the board.
+ * Other chips, or other bootloader sizes, can be added with
+ * {@link #register(DeviceProfile)}.
+ */
+public class DeviceRegistry {
+	private static DeviceRegistry defaultRegistry;
+
+	/** Profiles by signature */
+	private HashMap<Integer, DeviceProfile> profiles = new HashMap<Integer, DeviceProfile>();
+
+	/** Profiles by device id */
+	private HashMap<String, DeviceProfile> devices = new HashMap<String, DeviceProfile>();
+
+	/**
+	 * Create a registry holding the built in profiles.
+	 */
+	public DeviceRegistry() {
+		register(new DeviceProfile("ATmega8", 0x1E9307, 8 * 1024, 64, 512));
+		register(new DeviceProfile("ATmega168", 0x1E9406, 16 * 1024, 128, 512));
+		register(new DeviceProfile("ATmega168PA", 0x1E940B, 16 * 1024, 128, 512));
+		register(new DeviceProfile("ATmega328", 0x1E9514, 32 * 1024, 128, 512));
+		register(new DeviceProfile("ATmega328P", 0x1E950F, 32 * 1024, 128, 512));
+		register(new DeviceProfile("ATmega644P", 0x1E960A, 64 * 1024, 256, 1024));
+		register(new DeviceProfile("ATmega1284P", 0x1E9705, 128 * 1024, 256, 1024));
+		register(new DeviceProfile("ATmega1280", 0x1E9703, 128 * 1024, 256, 4096));
+		register(new DeviceProfile("ATmega2560", 0x1E9801, 256 * 1024, 256, 8192));
+	}
+
+	/**
+	 * Get the registry shared by the whole process.
+	 * @return the process wide registry
+	 */
+	public static synchronized DeviceRegistry getDefault() {
+		if (defaultRegistry == null) {
+			defaultRegistry = new DeviceRegistry();
+		}
+		return defaultRegistry;
+	}
+
+	/**
+	 * Add a profile, replacing any profile with the same signature.
+	 * @param profile The profile
+	 */
+	public synchronized void register(DeviceProfile profile) {
+		profiles.put(profile.getSignature(), profile);
+	}
+
+	/**
+	 * @param signature The three signature bytes, first byte highest
+	 * @return the profile of the chip, or null if it is not known
+	 */
+	public synchronized DeviceProfile forSignature(int signature) {
+		return profiles.get(signature);
+	}
+
+	/**
+	 * @param deviceId Id of the device, like its Bluetooth address
+	 * @return the profile found for the device before, or null
+	 */
+	public synchronized DeviceProfile forDevice(String deviceId) {
+		return devices.get(deviceId);
+	}
+
+	/**
+	 * Remember the profile of a device.
+	 * @param deviceId Id of the device, like its Bluetooth address
+	 * @param profile The profile found from its signature
+	 */
+	public synchronized void remember(String deviceId, DeviceProfile profile) {
+		devices.put(deviceId, profile);
+	}
+
+	/**
+	 * Forget the profile of a device, so the next session asks for its signature,
+	 * like when another board is connected under the same id.
+	 * @param deviceId Id of the device
+	 */
+	public synchronized void forget(String deviceId) {
+		devices.remove(deviceId);
+	}
+}
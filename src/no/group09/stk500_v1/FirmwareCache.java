@@ -0,0 +1,258 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process wide cache of parsed firmware images, so flashing the same build onto
+ * many boards parses it only once.
+ *
+ * Images are keyed by the SHA-256 hash of their input, so the same content is
+ * found again no matter where it comes from. The least recently used images are
+ * evicted when the memory held by the cache goes above its size limit. That is
+ * the data of every image and the {@link FlashPlan}s built for it. Plans are
+ * built after an image is cached, so they are charged at the next lookup. A cached
+ * {@link Hex} is never modified after parsing, so one image can be shared by any
+ * number of programming sessions and threads. Images that fail to parse are not
+ * cached.
+ */
+public class FirmwareCache {
+	/** Default size limit, room for a handful of ATmega2560 images */
+	public static final long DEFAULT_MAX_BYTES = 4 * 1024 * 1024;
+
+	private static FirmwareCache defaultCache;
+
+	private long maxBytes;
+	private long currentBytes;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/** Images by hash, in least recently used order */
+	private LinkedHashMap<ByteBuffer, Hex> images;
+
+	/**
+	 * Create a cache.
+	 * @param maxBytes Largest number of bytes to keep, data and flash plans summed
+	 * over all images
+	 */
+	public FirmwareCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+		images = new LinkedHashMap<ByteBuffer, Hex>(16, 0.75f, true);
+	}
+
+	/**
+	 * Get the cache shared by the whole process, limited to
+	 * {@link #DEFAULT_MAX_BYTES}.
+	 * @return the process wide cache
+	 */
+	public static synchronized FirmwareCache getDefault() {
+		if (defaultCache == null) {
+			defaultCache = new FirmwareCache(DEFAULT_MAX_BYTES);
+		}
+		return defaultCache;
+	}
+
+	/**
+	 * Get the image for a hex file in binary form (as taken by
+	 * {@link Hex#Hex(byte[], Logger)}), parsing it only if it is not cached.
+	 * @param binary byte array in Intel hex format
+	 * @param log Logger interface implementation for logging, used if parsing
+	 * @return The parsed image. Check {@link Hex#getChecksumStatus()} before use.
+	 */
+	public Hex get(byte[] binary, Logger log) {
+		MessageDigest digest = createDigest();
+		digest.update((byte) 'B');
+		digest.update(binary);
+		ByteBuffer key = ByteBuffer.wrap(digest.digest());
+
+		Hex hex = lookup(key, log);
+		if (hex == null) {
+			hex = store(key, new Hex(binary, log));
+		}
+		return hex;
+	}
+
+	/**
+	 * Get the image for a .hex or .bin file, parsing it only if its content is not
+	 * cached. Files ending with .bin are used as raw binaries loaded from address
+	 * 0, and any other file is parsed as a plain Intel hex file, as in
+	 * {@link Hex#fromFile(File, Logger)}. The file is read into memory once, and
+	 * both the hash and the image come from those bytes, so a cached image never
+	 * depends on the file, which may be rebuilt or truncated later.
+	 * @param file The file to load
+	 * @param log Logger interface implementation for logging, used if parsing
+	 * @return The parsed image. Check {@link Hex#getChecksumStatus()} before use.
+	 * @throws IOException If the file could not be read
+	 */
+	public Hex get(File file, Logger log) throws IOException {
+		boolean binary = file.getName().toLowerCase().endsWith(".bin");
+		byte[] content = readFile(file);
+
+		MessageDigest digest = createDigest();
+		digest.update((byte) (binary ? 'R' : 'A'));
+		digest.update(content);
+		ByteBuffer key = ByteBuffer.wrap(digest.digest());
+
+		Hex hex = lookup(key, log);
+		if (hex == null) {
+			ByteBuffer buffer = ByteBuffer.wrap(content);
+			hex = store(key, binary ? Hex.fromBinary(buffer, 0, log) :
+				Hex.parse(buffer, log));
+		}
+		return hex;
+	}
+
+	/**
+	 * Read a whole file into memory, as far as it goes while it is read.
+	 */
+	private static byte[] readFile(File file) throws IOException {
+		InputStream in = new FileInputStream(file);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream(
+					(int) Math.min(file.length(), Integer.MAX_VALUE - 8));
+			byte[] buffer = new byte[8192];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Look up an image and count the hit or miss.
+	 */
+	private synchronized Hex lookup(ByteBuffer key, Logger log) {
+		Hex hex = images.get(key);
+		if (hex != null) {
+			hits++;
+			log.logcat("FirmwareCache: Reusing parsed image, " + hits + " hits, " +
+					misses + " misses", "d");
+		} else {
+			misses++;
+		}
+		trim();
+		return hex;
+	}
+
+	/**
+	 * Add a newly parsed image and evict old ones until the cache fits its limit.
+	 * If another thread stored the same image in the meantime, that one is kept.
+	 * @return The image to use
+	 */
+	private synchronized Hex store(ByteBuffer key, Hex hex) {
+		if (!hex.getChecksumStatus() || hex.getMemorySize() > maxBytes) {
+			return hex;
+		}
+		Hex existing = images.get(key);
+		if (existing != null) {
+			return existing;
+		}
+
+		images.put(key, hex);
+		trim();
+		return hex;
+	}
+
+	/**
+	 * Count the memory of every image again, as images grow when flash plans are
+	 * built for them, and evict the least recently used ones until the cache fits
+	 * its limit.
+	 */
+	private void trim() {
+		currentBytes = 0;
+		for (Hex hex : images.values()) {
+			currentBytes += hex.getMemorySize();
+		}
+
+		Iterator<Map.Entry<ByteBuffer, Hex>> eldest = images.entrySet().iterator();
+		while (currentBytes > maxBytes && eldest.hasNext()) {
+			currentBytes -= eldest.next().getValue().getMemorySize();
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			//Every Java platform is required to support SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Remove every image from the cache. The counters are kept.
+	 */
+	public synchronized void clear() {
+		images.clear();
+		currentBytes = 0;
+	}
+
+	/**
+	 * @return number of lookups that found a parsed image
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return number of lookups that had to parse the image
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * @return number of images evicted to stay below the size limit
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * @return number of images in the cache
+	 */
+	public synchronized int size() {
+		return images.size();
+	}
+
+	/**
+	 * @return number of bytes held by the cached images and their flash plans,
+	 * as counted at the last lookup
+	 */
+	public synchronized long getCachedBytes() {
+		return currentBytes;
+	}
+}
@@ -0,0 +1,411 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Every command frame needed to flash and verify one firmware image with a given
+ * page size, built once and replayed by any number of programming sessions.
+ *
+ * The bootloader erases a whole flash page and writes it in full from its page
+ * buffer for every STK_PROG_PAGE, so each page holding any data of the image is
+ * sent as one page aligned frame of the full page size. Bytes of the page
+ * without data, between or around the {@link Hex} segments, are sent as 0xFF,
+ * like erased flash. Pages without any data are left out. For each page the
+ * plan holds a ready STK_LOAD_ADDRESS frame directly followed by the start of
+ * its STK_PROG_PAGE frame, all in one small buffer. The data of a page the image
+ * fills completely is a view of the image, whether on the heap or a memory
+ * mapped .bin file, so it is never copied into the plan. Only pages the image
+ * fills partly are copied, to add the 0xFF bytes. Sending a page needs no
+ * allocation. Every page is read back for verification with the same
+ * STK_READ_PAGE frame, after its STK_LOAD_ADDRESS frame.
+ *
+ * A plan is never modified after it is built, and is safe to share between
+ * threads. Get one through {@link Hex#getFlashPlan(int)}.
+ */
+public class FlashPlan {
+	/** Size of a STK_LOAD_ADDRESS frame */
+	public static final int LOAD_ADDRESS_SIZE = 4;
+	/** Size of a STK_PROG_PAGE frame without data */
+	public static final int PROG_PAGE_OVERHEAD = 5;
+	/** Size of a STK_PROG_PAGE frame up to the data */
+	private static final int PROG_PAGE_HEADER_SIZE = PROG_PAGE_OVERHEAD - 1;
+	/** Load address and program page frames up to the data */
+	private static final int HEADER_SIZE = LOAD_ADDRESS_SIZE + PROG_PAGE_HEADER_SIZE;
+	/** Bytes the address, data view and blank flag of a page take, roughly */
+	private static final int PAGE_BOOKKEEPING = 64;
+	/** Size of a STK_READ_PAGE frame */
+	public static final int READ_PAGE_SIZE = 5;
+
+	private int pageSize;
+	private int pageCount;
+	private int dataSize;
+
+	/** Load address + program page frames up to the data, for all pages */
+	private byte[] frames;
+	/** Pages the image fills partly, with 0xFF where it has no data */
+	private byte[] partialPages;
+
+	/** Byte address of each page */
+	private int[] pageAddress;
+	/** Data of each page, a view of the image or of partialPages */
+	private ByteBuffer[] pageData;
+	/** STK_READ_PAGE frame for a full page, the same for every page */
+	private byte[] readPage = new byte[READ_PAGE_SIZE];
+	/** Set for pages with every byte 0xFF */
+	private boolean[] blank;
+	private int blankPageCount;
+
+	/**
+	 * Build the plan.
+	 * @param hex A correctly parsed image
+	 * @param pageSize Flash page size in bytes, or how many bytes to send at once
+	 */
+	FlashPlan(Hex hex, int pageSize) {
+		if (pageSize <= 0 || pageSize > 0xFFFF) {
+			throw new IllegalArgumentException("FlashPlan: Invalid page size " + pageSize);
+		}
+		this.pageSize = pageSize;
+		this.dataSize = hex.getDataSize();
+
+		// Count the pages first, so every array gets its final size. Segments are
+		// sorted, so a page shared by two segments follows right after itself
+		int partialCount = 0;
+		int lastPage = -1;
+		for (int s = 0; s < hex.getSegmentCount(); s++) {
+			int address = hex.getSegmentAddress(s);
+			int end = address + hex.getSegmentLength(s);
+			for (int p = address / pageSize; p <= (end - 1) / pageSize; p++) {
+				if (p != lastPage) {
+					pageCount++;
+					if (address > p * pageSize || end < (p + 1) * pageSize) {
+						partialCount++;
+					}
+				}
+				lastPage = p;
+			}
+		}
+
+		pageAddress = new int[pageCount];
+		pageData = new ByteBuffer[pageCount];
+		blank = new boolean[pageCount];
+		frames = new byte[pageCount * HEADER_SIZE];
+		partialPages = new byte[partialCount * pageSize];
+		Arrays.fill(partialPages, (byte) 0xFF);
+		putPageHeader(readPage, 0, ConstantsStk500v1.STK_READ_PAGE);
+		readPage[READ_PAGE_SIZE - 1] = ConstantsStk500v1.CRC_EOP;
+
+		int page = -1;
+		int partial = 0;
+		for (int s = 0; s < hex.getSegmentCount(); s++) {
+			int address = hex.getSegmentAddress(s);
+			int position = hex.getSegmentOffset(s);
+			int end = address + hex.getSegmentLength(s);
+
+			while (address < end) {
+				int start = address - address % pageSize;
+				int length = Math.min(start + pageSize, end) - address;
+
+				if (page < 0 || pageAddress[page] != start) {
+					page++;
+					pageAddress[page] = start;
+					int offset = putLoadAddress(page * HEADER_SIZE, start);
+					putPageHeader(frames, offset, ConstantsStk500v1.STK_PROG_PAGE);
+
+					if (length == pageSize) {
+						pageData[page] = hex.getDataView(position, pageSize);
+					} else {
+						pageData[page] = ByteBuffer.wrap(partialPages, partial, pageSize)
+								.slice();
+						partial += pageSize;
+					}
+				}
+
+				if (length < pageSize) {
+					hex.getHexLineBuffer(position, length).get(partialPages,
+							pageData[page].arrayOffset() + address - start, length);
+				}
+				address += length;
+				position += length;
+			}
+		}
+
+		for (page = 0; page < pageCount; page++) {
+			blank[page] = isErased(pageData[page], 0, pageSize);
+			if (blank[page]) blankPageCount++;
+		}
+	}
+
+	/**
+	 * Put the start of a STK_PROG_PAGE or STK_READ_PAGE frame for a full page
+	 * of flash.
+	 * @return Index after the memory type
+	 */
+	private int putPageHeader(byte[] target, int offset, byte command) {
+		target[offset++] = command;
+		target[offset++] = (byte) ((pageSize >> 8) & 0xFF);
+		target[offset++] = (byte) (pageSize & 0xFF);
+		target[offset++] = (byte) 'F';
+		return offset;
+	}
+
+	/**
+	 * Put a STK_LOAD_ADDRESS frame, with the word address little endian.
+	 * @return Index after the frame
+	 */
+	private int putLoadAddress(int offset, int address) {
+		int word = address / 2;
+		frames[offset++] = ConstantsStk500v1.STK_LOAD_ADDRESS;
+		frames[offset++] = (byte) (word & 0xFF);
+		frames[offset++] = (byte) ((word >> 8) & 0xFF);
+		frames[offset++] = ConstantsStk500v1.CRC_EOP;
+		return offset;
+	}
+
+	/**
+	 * @return bytes held by the plan, not counting the image data it views
+	 */
+	long getMemorySize() {
+		return frames.length + partialPages.length + READ_PAGE_SIZE +
+				(long) pageCount * PAGE_BOOKKEEPING;
+	}
+
+	/**
+	 * @return the page size the plan was built for
+	 */
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @return number of pages to program, every page holding data of the image
+	 */
+	public int getPageCount() {
+		return pageCount;
+	}
+
+	/**
+	 * @return number of data bytes of the image in all pages, without the 0xFF
+	 * bytes filling the rest of the pages
+	 */
+	public int getDataSize() {
+		return dataSize;
+	}
+
+	/**
+	 * @param page Page index
+	 * @return byte address of the first byte in the page, a multiple of the
+	 * page size
+	 */
+	public int getPageAddress(int page) {
+		return pageAddress[page];
+	}
+
+	/**
+	 * @param page Page index
+	 * @return number of bytes written to the page, always the page size
+	 */
+	public int getPageLength(int page) {
+		return pageSize;
+	}
+
+	/**
+	 * Check if a page starts where the page before it ends, in the same 128 KB
+	 * bank, so an auto incremented address already points to it.
+	 * @param page Page index
+	 * @return true if the page follows the previous one directly
+	 */
+	public boolean isContiguous(int page) {
+		if (page == 0) {
+			return false;
+		}
+		return pageAddress[page] == pageAddress[page - 1] + pageSize &&
+				(pageAddress[page] >> 17) == (pageAddress[page - 1] >> 17);
+	}
+
+	/**
+	 * Check if a page is all 0xFF, so it does not need writing after the
+	 * flash has been erased.
+	 * @param page Page index
+	 * @return true if every byte of the page is 0xFF
+	 */
+	public boolean isBlank(int page) {
+		return blank[page];
+	}
+
+	/**
+	 * @return number of pages with every byte 0xFF
+	 */
+	public int getBlankPageCount() {
+		return blankPageCount;
+	}
+
+	/**
+	 * Find the pages that differ from an image already on the device. A page is
+	 * unchanged only when the other image has data in the page, so the whole page
+	 * was written with it, and the page it wrote, with 0xFF where it had no data,
+	 * is the same. Data the other image has outside this plan is not looked at.
+	 * @param previous The image on the device
+	 * @return indexes of the pages to write, in increasing order
+	 */
+	public int[] getChangedPages(Hex previous) {
+		int[] changed = new int[pageCount];
+		int count = 0;
+		for (int page = 0; page < pageCount; page++) {
+			if (!sameData(previous, page)) {
+				changed[count++] = page;
+			}
+		}
+		return Arrays.copyOf(changed, count);
+	}
+
+	/**
+	 * Check if another image writes the same bytes to a page.
+	 */
+	private boolean sameData(Hex other, int page) {
+		int address = pageAddress[page];
+		int end = address + pageSize;
+		int s = firstSegmentAfter(other, address);
+		if (s == other.getSegmentCount() || other.getSegmentAddress(s) >= end) {
+			return false;
+		}
+
+		ByteBuffer ours = getPageData(page);
+		// Address up to which the page has been compared
+		int at = address;
+		for (; s < other.getSegmentCount() && other.getSegmentAddress(s) < end; s++) {
+			int start = Math.max(other.getSegmentAddress(s), address);
+			int stop = Math.min(other.getSegmentAddress(s) + other.getSegmentLength(s), end);
+			ByteBuffer theirs = other.getHexLineBuffer(other.getSegmentOffset(s) +
+					start - other.getSegmentAddress(s), stop - start);
+			if (!isErased(ours, at - address, start - at) ||
+					!range(ours, start - address, stop - start).equals(theirs)) {
+				return false;
+			}
+			at = stop;
+		}
+		return isErased(ours, at - address, end - at);
+	}
+
+	/**
+	 * @return index of the first segment of an image ending after an address,
+	 * or the number of segments if there is none
+	 */
+	private static int firstSegmentAfter(Hex hex, int address) {
+		int low = 0;
+		int high = hex.getSegmentCount();
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (hex.getSegmentAddress(mid) + hex.getSegmentLength(mid) <= address) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return true if every byte in the range of the buffer is 0xFF
+	 */
+	private static boolean isErased(ByteBuffer data, int offset, int length) {
+		for (int i = offset; i < offset + length; i++) {
+			if (data.get(i) != (byte) 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return a view of a range of the buffer
+	 */
+	private static ByteBuffer range(ByteBuffer data, int offset, int length) {
+		ByteBuffer view = data.duplicate();
+		view.limit(offset + length);
+		view.position(offset);
+		return view.slice();
+	}
+
+	/**
+	 * Get the data bytes of a page without copying them.
+	 * @param page Page index
+	 * @return read only view of the page data
+	 */
+	public ByteBuffer getPageData(int page) {
+		return pageData[page].asReadOnlyBuffer();
+	}
+
+	/**
+	 * Send the STK_LOAD_ADDRESS frame of a page.
+	 * @param out Stream to write to
+	 * @param page Page index
+	 * @throws IOException if writing fails
+	 */
+	public void writeLoadAddress(OutputStream out, int page) throws IOException {
+		out.write(frames, page * HEADER_SIZE, LOAD_ADDRESS_SIZE);
+	}
+
+	/**
+	 * Send the STK_PROG_PAGE frame of a page.
+	 * @param out Stream to write to
+	 * @param page Page index
+	 * @throws IOException if writing fails
+	 */
+	public void writeProgramPage(OutputStream out, int page) throws IOException {
+		out.write(frames, page * HEADER_SIZE + LOAD_ADDRESS_SIZE, PROG_PAGE_HEADER_SIZE);
+		write(out, pageData[page]);
+		out.write(ConstantsStk500v1.CRC_EOP);
+	}
+
+	/**
+	 * Write the data in a buffer, from its array if it has one. A memory mapped
+	 * image is collected straight from the mapping by a {@link FrameWriter}.
+	 */
+	private static void write(OutputStream out, ByteBuffer data) throws IOException {
+		if (data.hasArray()) {
+			out.write(data.array(), data.arrayOffset() + data.position(), data.remaining());
+		} else if (out instanceof FrameWriter) {
+			((FrameWriter) out).write(data);
+		} else {
+			byte[] chunk = new byte[Math.min(data.remaining(), 256)];
+			ByteBuffer view = data.duplicate();
+			while (view.hasRemaining()) {
+				int n = Math.min(chunk.length, view.remaining());
+				view.get(chunk, 0, n);
+				out.write(chunk, 0, n);
+			}
+		}
+	}
+
+	/**
+	 * Send the STK_READ_PAGE frame of a page. The load address frame is not sent.
+	 * Every page is read with the same frame.
+	 * @param out Stream to write to
+	 * @param page Page index
+	 * @throws IOException if writing fails
+	 */
+	public void writeReadPage(OutputStream out, int page) throws IOException {
+		out.write(readPage, 0, READ_PAGE_SIZE);
+	}
+}
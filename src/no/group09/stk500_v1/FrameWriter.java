@@ -0,0 +1,132 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Collects STK500v1 command frames in one reusable buffer and sends them with a
+ * single write when flushed, so a batch of commands can leave as one packet on
+ * links like Bluetooth RFCOMM, where every write tends to become a packet of its
+ * own.
+ *
+ * Every flush counts as one packet, which makes it easy to see how well commands
+ * are coalesced.
+ */
+class FrameWriter extends OutputStream {
+	/** Room for a load address and a 256 byte program page frame */
+	private static final int INITIAL_CAPACITY = 512;
+
+	private OutputStream out;
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+	private int count;
+
+	private long packets;
+	private long bytes;
+
+	/**
+	 * @param out Stream to send the batches to
+	 */
+	FrameWriter(OutputStream out) {
+		this.out = out;
+	}
+
+	@Override
+	public void write(int b) {
+		ensureCapacity(1);
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) {
+		ensureCapacity(len);
+		System.arraycopy(b, off, buffer, count, len);
+		count += len;
+	}
+
+	/**
+	 * Collect the bytes left in a buffer, like a memory mapped image that has no
+	 * array to write from. The position of the buffer is not changed.
+	 * @param data The bytes to collect
+	 */
+	void write(ByteBuffer data) {
+		int length = data.remaining();
+		ensureCapacity(length);
+		data.duplicate().get(buffer, count, length);
+		count += length;
+	}
+
+	/**
+	 * Send a single frame, together with anything already collected.
+	 * @param frame The whole frame
+	 * @throws IOException if writing fails
+	 */
+	void send(byte[] frame) throws IOException {
+		write(frame, 0, frame.length);
+		flush();
+	}
+
+	/**
+	 * Send everything collected since the last flush as one write.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if (count == 0) {
+			return;
+		}
+		// Forget the batch even if it fails, the caller starts over anyway
+		int length = count;
+		count = 0;
+		out.write(buffer, 0, length);
+		out.flush();
+		packets++;
+		bytes += length;
+	}
+
+	/**
+	 * Throw away frames collected but not sent yet.
+	 */
+	void discard() {
+		count = 0;
+	}
+
+	/**
+	 * @return number of writes to the stream so far
+	 */
+	long getPacketCount() {
+		return packets;
+	}
+
+	/**
+	 * @return number of bytes written to the stream so far
+	 */
+	long getByteCount() {
+		return bytes;
+	}
+
+	private void ensureCapacity(int more) {
+		if (count + more > buffer.length) {
+			byte[] larger = new byte[Math.max(buffer.length * 2, count + more)];
+			System.arraycopy(buffer, 0, larger, 0, count);
+			buffer = larger;
+		}
+	}
+}
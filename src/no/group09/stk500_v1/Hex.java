@@ -18,29 +18,297 @@ package no.group09.stk500_v1;
  *	You should have received a copy of the GNU Lesser General Public License
  *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
  */
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class for interpreting Intel hex files and verifying the binary code. 
  * Use {@link #getHexLine(int, int) getHexLine} to request chunks of bytes.
+ * 
+ * The data bytes are kept in one flat primitive array, split into segments. A
+ * segment is one contiguous address range, and the segments are sorted by address
+ * so they also serve as the index from address to data position. Extended segment
+ * (02) and extended linear (04) address records are honored, so images with gaps
+ * or data placed above 64 KB get one segment per range and no filler bytes.
+ * 
+ * The constructor takes records in the binary form, where every ASCII hex pair
+ * is already converted to a byte. Use {@link #fromStream(InputStream, Logger)
+ * fromStream}, {@link #fromReader(java.io.Reader, Logger) fromReader} or
+ * {@link #fromChannel(ReadableByteChannel, Logger) fromChannel} to read a plain
+ * .hex file, or {@link #fromFile(File, Logger) fromFile} to memory map a .hex or
+ * .bin file. Large files can be checked on several cores with
+ * {@link #parseParallel(ByteBuffer, ForkJoinPool, Logger) parseParallel}.
  */
 public class Hex {
+	/** Initial capacity of the data array, enough for most Arduino Uno sketches */
+	private static final int INITIAL_CAPACITY = 32 * 1024;
+	
 	private Logger logger;
 	
-	private ArrayList<ArrayList<Byte>> binList = new ArrayList<ArrayList<Byte>>();
+	/** Data bytes from every data record, ordered by address once parsed */
+	private byte[] data = new byte[INITIAL_CAPACITY];
+	
+	/** The finished image, wrapping data or a memory mapped .bin file */
+	private ByteBuffer image;
+	
+	/** Number of valid bytes in data */
+	private int dataSize = 0;
+	
+	/** Load address of the first byte of each segment */
+	private int[] segmentAddress = new int[16];
+	
+	/** Position in data where each segment starts */
+	private int[] segmentOffset = new int[16];
+	
+	/** Number of data bytes in each segment */
+	private int[] segmentLength = new int[16];
+	
+	/** Number of segments in the index */
+	private int segmentCount = 0;
+	
+	/** Base address set by the last extended address record */
+	private int extendedAddress = 0;
+	
+	/** Set when the end of file record has been read */
+	private boolean endOfFile = false;
 	
-	private ArrayList<Byte> dataList = new ArrayList<Byte>();
+	/** Flash plans built for this image, by page size */
+	private HashMap<Integer, FlashPlan> flashPlans = new HashMap<Integer, FlashPlan>();
 	
 	private byte[] subHex; 
 	
 	private boolean state = false;
 	
 	public Hex(byte[] bin, Logger log) {
-		this.logger = log;
+		this(log);
 		this.subHex = bin;
 		
-		// create a new ArrayList and save state
-		state = splitHex();
+		// parse the records and save state
+		finish(splitHex());
+		
+		// the hex input is no longer needed
+		subHex = null;
+	}
+	
+	/**
+	 * Create an empty image, to be filled through
+	 * {@link #addRecord(int, int, byte[], int, int) addRecord} and completed with
+	 * {@link #finish(boolean) finish}.
+	 * 
+	 * @param log Logger interface implementation for logging
+	 */
+	Hex(Logger log) {
+		this.logger = log;
+	}
+	
+	/**
+	 * Parse a plain Intel hex file from a stream. The stream is read through one
+	 * small buffer and the records are added to the image as they are read.
+	 * The stream is not closed.
+	 * 
+	 * @param in Stream with ASCII hex records.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 * 
+	 * @throws IOException If the stream could not be read.
+	 */
+	public static Hex fromStream(InputStream in, Logger log) throws IOException {
+		return new HexStreamParser(log).parse(in);
+	}
+	
+	/**
+	 * Parse a plain Intel hex file from a character stream. The reader is not closed.
+	 * 
+	 * @param in Reader with ASCII hex records.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 * 
+	 * @throws IOException If the reader could not be read.
+	 */
+	public static Hex fromReader(java.io.Reader in, Logger log) throws IOException {
+		return new HexStreamParser(log).parse(in);
+	}
+	
+	/**
+	 * Parse a plain Intel hex file from a channel, like a
+	 * {@link java.nio.channels.FileChannel FileChannel}. The channel is not closed.
+	 * 
+	 * @param in Channel with ASCII hex records.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 * 
+	 * @throws IOException If the channel could not be read.
+	 */
+	public static Hex fromChannel(ReadableByteChannel in, Logger log) throws IOException {
+		return new HexStreamParser(log).parse(in);
+	}
+	
+	/**
+	 * Create an image from a raw binary, loaded as one segment.
+	 * 
+	 * @param bin Buffer with the binary, from position to limit.
+	 * @param address Load address of the first byte.
+	 * @param log Logger interface implementation for logging
+	 */
+	private Hex(ByteBuffer bin, int address, Logger log) {
+		this(log);
+		data = null;
+		image = bin.slice();
+		dataSize = image.remaining();
+		
+		segmentAddress = new int[] {address};
+		segmentOffset = new int[] {0};
+		segmentLength = new int[] {dataSize};
+		segmentCount = dataSize > 0 ? 1 : 0;
+		
+		state = dataSize > 0;
+		logger.logcat("Hex file status: " + state, "v");
+	}
+	
+	/**
+	 * Parse a plain Intel hex file held in a buffer, like a memory mapped file,
+	 * in place. The buffer is not modified.
+	 * 
+	 * @param text Buffer with ASCII hex records from position to limit.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 */
+	public static Hex parse(ByteBuffer text, Logger log) {
+		return new HexStreamParser(log).parse(text);
+	}
+	
+	/**
+	 * Parse a plain Intel hex file held in a buffer, checking and decoding the
+	 * records in parallel. Gives the same image and checksum status as
+	 * {@link #parse(ByteBuffer, Logger) parse}. The buffer is not modified.
+	 * 
+	 * @param text Buffer with ASCII hex records from position to limit.
+	 * @param pool Pool to run the parsing tasks in.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 */
+	public static Hex parseParallel(ByteBuffer text, ForkJoinPool pool, Logger log) {
+		return new HexParallelParser(text, log).parse(pool);
+	}
+	
+	/**
+	 * Memory map a plain Intel hex file and parse it in parallel.
+	 * 
+	 * @param file The file to load.
+	 * @param pool Pool to run the parsing tasks in.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 * 
+	 * @throws IOException If the file could not be mapped.
+	 */
+	public static Hex fromFileParallel(File file, ForkJoinPool pool, Logger log)
+			throws IOException {
+		return parseParallel(map(file), pool, log);
+	}
+	
+	/**
+	 * Memory map a .hex or .bin file and parse it in place. Files ending with
+	 * .bin are used as raw binaries loaded from address 0, and their data is
+	 * never copied to the heap. Any other file is parsed as a plain Intel hex file.
+	 * 
+	 * @param file The file to load.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The parsed image. Check {@link #getChecksumStatus()} before use.
+	 * 
+	 * @throws IOException If the file could not be mapped.
+	 */
+	public static Hex fromFile(File file, Logger log) throws IOException {
+		if (file.getName().toLowerCase().endsWith(".bin")) {
+			return fromBinaryFile(file, 0, log);
+		}
+		return new HexStreamParser(log).parse(map(file));
+	}
+	
+	/**
+	 * Memory map a raw binary file. The image is a view over the mapped file,
+	 * so page data is read straight from the file cache. The image follows the
+	 * file, so the file must not be changed or truncated while it is in use.
+	 * 
+	 * @param file The file to load.
+	 * @param address Load address of the first byte in the file.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The image, as one segment.
+	 * 
+	 * @throws IOException If the file could not be mapped.
+	 */
+	public static Hex fromBinaryFile(File file, int address, Logger log)
+			throws IOException {
+		return new Hex(map(file), address, log);
+	}
+	
+	/**
+	 * Create an image from a raw binary held in a buffer. The image is a view
+	 * over the buffer, which must not be modified afterwards.
+	 * 
+	 * @param bin Buffer with the binary, from position to limit.
+	 * @param address Load address of the first byte in the buffer.
+	 * @param log Logger interface implementation for logging
+	 * 
+	 * @return The image, as one segment.
+	 */
+	public static Hex fromBinary(ByteBuffer bin, int address, Logger log) {
+		return new Hex(bin, address, log);
+	}
+	
+	/**
+	 * Map a whole file read only. The mapping stays valid after the file is closed.
+	 * 
+	 * @param file The file to map.
+	 * 
+	 * @return Buffer over the file contents.
+	 * 
+	 * @throws IOException If the file could not be opened or mapped.
+	 */
+	private static MappedByteBuffer map(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			FileChannel channel = raf.getChannel();
+			return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} finally {
+			raf.close();
+		}
+	}
+	
+	/**
+	 * Complete the image once every record has been added. Sorts the segments
+	 * and trims the arrays to their final size.
+	 * 
+	 * @param parsed False if the parser found an error in the file.
+	 */
+	void finish(boolean parsed) {
+		if (parsed && !endOfFile) {
+			logger.logcat("finish: No end of file record!", "w");
+		}
+		state = parsed && endOfFile && sortSegments();
+		
+		data = Arrays.copyOf(data, dataSize);
+		image = ByteBuffer.wrap(data);
+		segmentAddress = Arrays.copyOf(segmentAddress, segmentCount);
+		segmentOffset = Arrays.copyOf(segmentOffset, segmentCount);
+		segmentLength = Arrays.copyOf(segmentLength, segmentCount);
 		
 		logger.logcat("Hex file status: " + state, "v");
 	}
@@ -51,7 +319,7 @@ public class Hex {
 	 * @return Number of data bytes.
 	 */
 	public int getDataSize() {
-		return dataList.size();
+		return dataSize;
 	}
 	
 	/**
@@ -64,6 +332,132 @@ public class Hex {
 		return state;
 	}
 	
+	/**
+	 * Return number of segments, contiguous address ranges, in the image.
+	 * 
+	 * @return Number of segments.
+	 */
+	public int getSegmentCount() {
+		return segmentCount;
+	}
+	
+	/**
+	 * Return the load address of the first byte in a segment.
+	 * 
+	 * @param segment Segment index, segments are sorted by address.
+	 * 
+	 * @return The absolute load address.
+	 */
+	public int getSegmentAddress(int segment) {
+		return segmentAddress[segment];
+	}
+	
+	/**
+	 * Return where a segment starts, as used by
+	 * {@link #getHexLine(int, int) getHexLine}.
+	 * 
+	 * @param segment Segment index, segments are sorted by address.
+	 * 
+	 * @return Position of the first data byte of the segment.
+	 */
+	public int getSegmentOffset(int segment) {
+		return segmentOffset[segment];
+	}
+	
+	/**
+	 * Return number of data bytes in a segment.
+	 * 
+	 * @param segment Segment index, segments are sorted by address.
+	 * 
+	 * @return Number of data bytes.
+	 */
+	public int getSegmentLength(int segment) {
+		return segmentLength[segment];
+	}
+	
+	/**
+	 * Find the segment holding a data byte.
+	 * 
+	 * @param position Position of the data byte, same as <code>startByte</code> in
+	 * {@link #getHexLine(int, int) getHexLine}.
+	 * 
+	 * @return Segment index, or -1 if <code>position</code> is out of bounds.
+	 */
+	public int getSegmentAt(int position) {
+		if (position < 0 || position >= dataSize) {
+			return -1;
+		}
+		int i = Arrays.binarySearch(segmentOffset, 0, segmentCount, position);
+		
+		// Not a segment start, use the segment the position belongs to
+		return i < 0 ? -i - 2 : i;
+	}
+	
+	/**
+	 * Find the segment covering a load address.
+	 * 
+	 * @param address Absolute load address.
+	 * 
+	 * @return Segment index, or -1 if no data is loaded at <code>address</code>.
+	 */
+	public int findSegment(int address) {
+		int i = Arrays.binarySearch(segmentAddress, 0, segmentCount, address);
+		if (i < 0) {
+			i = -i - 2;
+			if (i < 0 || address >= segmentAddress[i] + segmentLength[i]) {
+				return -1;
+			}
+		}
+		return i;
+	}
+	
+	/**
+	 * Return the load address of a data byte.
+	 * 
+	 * @param position Position of the data byte, same as <code>startByte</code> in
+	 * {@link #getHexLine(int, int) getHexLine}.
+	 * 
+	 * @return The load address, or -1 if <code>position</code> is out of bounds.
+	 */
+	public int getLoadAddress(int position) {
+		int i = getSegmentAt(position);
+		if (i < 0) {
+			return -1;
+		}
+		return segmentAddress[i] + position - segmentOffset[i];
+	}
+	
+	/**
+	 * Get the command frames for flashing this image with a given page size. The
+	 * plan is built on first use and then shared by every caller.
+	 * 
+	 * @param pageSize Flash page size in bytes, or how many bytes to send at once.
+	 * 
+	 * @return The plan.
+	 */
+	public synchronized FlashPlan getFlashPlan(int pageSize) {
+		FlashPlan plan = flashPlans.get(pageSize);
+		if (plan == null) {
+			plan = new FlashPlan(this, pageSize);
+			flashPlans.put(pageSize, plan);
+		}
+		return plan;
+	}
+	
+	/**
+	 * Return the memory held by the image: its data bytes and the flash plans
+	 * built for it so far.
+	 * 
+	 * @return Number of bytes.
+	 */
+	public synchronized long getMemorySize() {
+		long size = dataSize;
+		for (FlashPlan plan : flashPlans.values()) {
+			size += plan.getMemorySize();
+		}
+		return size;
+	}
+	
 	/**
 	 * Return data bytes.
 	 * 
@@ -74,56 +468,168 @@ public class Hex {
 	 */
 	public byte[] getHexLine(int startByte, int numberOfBytes)
 	{
-		try {
-			logger.logcat("Hex.getHexLine: startByte: " + startByte +
-					", numberOfBytes: " + numberOfBytes, "d");
-			return formatHexLine(startByte, numberOfBytes);
-		} catch (IndexOutOfBoundsException e) {
-			// There was no bytes, return an empty array
-			logger.logcat("Hex.getHexLine: startByte is out of bounds! Value was: " +
-					startByte + ", max value: " + dataList.size(), "w");
-			byte[] temp = new byte[0]; 
-			return temp;
+		logger.logcat("Hex.getHexLine: startByte: " + startByte +
+				", numberOfBytes: " + numberOfBytes, "d");
+		
+		int dataLength = getLineLength(startByte, numberOfBytes);
+		
+		// Create a new temporary array
+		byte[] tempArray = new byte[dataLength];
+		if (dataLength > 0) {
+			ByteBuffer view = image.duplicate();
+			view.position(startByte);
+			view.get(tempArray);
+		}
+		
+		return tempArray;
+	}
+	
+	/**
+	 * Return data bytes as a read only view, without copying them.
+	 * 
+	 * @param startByte Where to start loading bytes
+	 * @param numberOfBytes Number of bytes to return.
+	 * 
+	 * @return Buffer with data bytes, maximum <code>numberOfBytes</code> remaining.
+	 */
+	public ByteBuffer getHexLineBuffer(int startByte, int numberOfBytes)
+	{
+		return getDataView(startByte, numberOfBytes).asReadOnlyBuffer();
+	}
+	
+	/**
+	 * Return data bytes as a view like {@link #getHexLineBuffer(int, int)
+	 * getHexLineBuffer}, but not read only, so a view of data on the heap still
+	 * gives access to its array. The view must never be written to.
+	 * 
+	 * @param startByte Where to start loading bytes
+	 * @param numberOfBytes Number of bytes to return.
+	 * 
+	 * @return Buffer with data bytes, maximum <code>numberOfBytes</code> remaining.
+	 */
+	ByteBuffer getDataView(int startByte, int numberOfBytes)
+	{
+		int dataLength = getLineLength(startByte, numberOfBytes);
+		
+		ByteBuffer view = image.duplicate();
+		if (dataLength > 0) {
+			view.limit(startByte + dataLength);
+			view.position(startByte);
+		}
+		else {
+			view.limit(0);
+		}
+		return view.slice();
+	}
+	
+	/**
+	 * Write the image as a plain Intel hex file: data records of up to 16 bytes,
+	 * an extended linear address (04) record before data above each 64 KB
+	 * boundary, and the end of file record. The file parses back to the same
+	 * segments. The stream is not closed.
+	 * 
+	 * @param out Stream to write the ASCII records to.
+	 * 
+	 * @throws IOException If the stream could not be written.
+	 */
+	public void writeHex(OutputStream out) throws IOException {
+		// Record with the most data: ':', 21 bytes as hex pairs and a line break
+		byte[] line = new byte[1 + 2 * 21 + 2];
+		byte[] record = new byte[4 + 16];
+		ByteBuffer view = image.duplicate();
+		int upper = 0;
+		
+		for (int s = 0; s < segmentCount; s++) {
+			int address = segmentAddress[s];
+			int position = segmentOffset[s];
+			int end = address + segmentLength[s];
+			
+			while (address < end) {
+				if (address >>> 16 != upper) {
+					upper = address >>> 16;
+					record[0] = 2;
+					record[1] = 0;
+					record[2] = 0;
+					record[3] = 4;
+					record[4] = (byte) (upper >> 8);
+					record[5] = (byte) upper;
+					out.write(line, 0, encodeRecord(record, 6, line));
+				}
+				// Records do not cross a 64 KB boundary
+				int length = Math.min(16, Math.min(end - address,
+						0x10000 - (address & 0xFFFF)));
+				record[0] = (byte) length;
+				record[1] = (byte) (address >> 8);
+				record[2] = (byte) address;
+				record[3] = 0;
+				view.position(position);
+				view.get(record, 4, length);
+				out.write(line, 0, encodeRecord(record, 4 + length, line));
+				
+				address += length;
+				position += length;
+			}
 		}
+		record[0] = 0;
+		record[1] = 0;
+		record[2] = 0;
+		record[3] = 1;
+		out.write(line, 0, encodeRecord(record, 4, line));
 	}
 	
 	/**
-	 * Format hex file and return data bytes.
+	 * Put one record in ASCII form, with checksum and line break.
+	 * 
+	 * @param record Size, address, type and data bytes.
+	 * @param length Number of bytes in <code>record</code>.
+	 * @param line Array to put the characters in.
+	 * 
+	 * @return Number of characters.
+	 */
+	private static int encodeRecord(byte[] record, int length, byte[] line) {
+		final byte[] digits = {'0','1','2','3','4','5','6','7','8','9',
+				'A','B','C','D','E','F'};
+		int sum = 0;
+		int i = 0;
+		line[i++] = ':';
+		for (int j = 0; j <= length; j++) {
+			int b = j < length ? record[j] & 0xFF : -sum & 0xFF;
+			sum += b;
+			line[i++] = digits[b >>> 4];
+			line[i++] = digits[b & 0x0F];
+		}
+		line[i++] = '\r';
+		line[i++] = '\n';
+		return i;
+	}
+	
+	/**
+	 * Find how many data bytes can be returned from a position.
 	 * 
 	 * @param startByte Where to start loading bytes.
 	 * @param numberOfBytes Number of bytes to load.
 	 * 
-	 * @return Byte array with data bytes.
-	 * 
-	 * @throws IndexOutOfBoundsException When <code>startByte</code> does not exist.
+	 * @return Number of bytes available, 0 when <code>startByte</code> does not exist.
 	 */
-	private byte[] formatHexLine(int startByte, int numberOfBytes)
-			throws IndexOutOfBoundsException
+	private int getLineLength(int startByte, int numberOfBytes)
 	{
-		try {
-			dataList.get(startByte);
-		} catch (Exception e) {
-			throw new IndexOutOfBoundsException("Index " + startByte + " is out of bounds!");
+		if (startByte < 0 || startByte >= dataSize || numberOfBytes < 0) {
+			// There was no bytes, return an empty array
+			logger.logcat("Hex.getHexLine: startByte is out of bounds! Value was: " +
+					startByte + ", max value: " + dataSize, "w");
+			return 0;
 		}
 		
 		int dataLength = numberOfBytes;
 		
 		// Check if it is enough data bytes to read
-		if((startByte + numberOfBytes) > dataList.size()) {
-			dataLength = dataList.size() - startByte;
-			logger.logcat("Hex.formatHexLine: Could not read " + numberOfBytes +
+		if(numberOfBytes > dataSize - startByte) {
+			dataLength = dataSize - startByte;
+			logger.logcat("Hex.getHexLine: Could not read " + numberOfBytes +
 					" bytes, changed to " + dataLength, "i");
 		}
 		
-		// Create a new temporary array
-		byte[] tempArray = new byte[dataLength];
-		
-		// Store data bytes into array
-		for(int i=0; i<dataLength; i++) {
-			tempArray[i] = dataList.get(startByte+i);
-		}
-		
-		return tempArray;
+		return dataLength;
 	}
 	
 	/**
@@ -164,92 +670,226 @@ public class Hex {
 		int dataLength = 0;
 		
 		//The minimum length of a line is 6, including the start byte ':'
-		if((subHex.length + startOnDataByte)<6) {
+		if((subHex.length - startOnDataByte)<6) {
 			logger.logcat("splitHex(): The minimum size of a line is 6, this line was " 
-					+ subHex.length, "w");
+					+ (subHex.length - startOnDataByte), "w");
 			return -1;
 		}
 		
 		//save length
-		dataLength = subHex[startOnDataByte + 1];
+		dataLength = subHex[startOnDataByte + 1] & 0xFF;
 		
 		//The line must start with ':'
 		if(subHex[startOnDataByte] != 58) {
 			logger.logcat("splitHex(): Line not starting with ':' !", "w");
 			return -1;
 		}
-		//If record type is 0x01 (file end) and data size > 0, return false
-		else if(subHex[startOnDataByte + 4]==1 && dataLength>0) {
-			logger.logcat("splitHex(): Contains data, but are told to stop!", "w");
+		//The whole record, including checksum, must be present
+		else if(subHex.length < startOnDataByte + dataLength + 6) {
+			logger.logcat("splitHex(): Line is shorter than its size field!", "w");
 			return -1;
 		}
-		//If record type is 0x01 (file end) and it exist more bytes to read, return false
-		else if(subHex[startOnDataByte + 4]==1 &&
-				subHex.length>startOnDataByte + dataLength + 6) {
-			logger.logcat("splitHex(): Contains more lines with data, " +
-					"but are told to stop!", "w");
+		//Check if the checksum is correct
+		else if(checkData(startOnDataByte, dataLength)) {
+			int address = ((subHex[startOnDataByte + 2] & 0xFF) << 8) |
+					(subHex[startOnDataByte + 3] & 0xFF);
+			
+			if (!addRecord(subHex[startOnDataByte + 4], address, subHex,
+					startOnDataByte + 5, dataLength)) {
+				return -1;
+			}
+			
+			return (startOnDataByte + dataLength + 6);
+		}
+		//Checksum not correct
+		else {
+			logger.logcat("splitHex(): Checksum failed!", "w");
 			return -1;
 		}
+	}
+	
+	/**
+	 * Add one record with a valid checksum to the image, and check that the record
+	 * makes sense where it is.
+	 * 
+	 * @param type Record type.
+	 * @param address 16-bit address field of the record.
+	 * @param source Array holding the data bytes of the record.
+	 * @param offset Index of the first data byte in <code>source</code>.
+	 * @param length Number of data bytes.
+	 * 
+	 * @return False if the record is not allowed.
+	 */
+	boolean addRecord(int type, int address, byte[] source, int offset, int length) {
+		//No records can follow the end of file record
+		if(endOfFile) {
+			logger.logcat("addRecord(): Contains more lines with data, " +
+					"but are told to stop!", "w");
+			return false;
+		}
+		//If record type is 0x01 (file end) and data size > 0, return false
+		else if(type==1 && length>0) {
+			logger.logcat("addRecord(): Contains data, but are told to stop!", "w");
+			return false;
+		}
 		//If record type is 0x00 (data record) and data size equals 0, return false
-		else if(subHex[startOnDataByte + 4]==0 && subHex[startOnDataByte + 1]==0) {
-			logger.logcat("splitHex(): Told to send data, but contains no data!", "w");
-			return -1;
+		else if(type==0 && length==0) {
+			logger.logcat("addRecord(): Told to send data, but contains no data!", "w");
+			return false;
+		}
+		//Record types 0x02 and 0x04 (extended address) must have 2 data bytes
+		else if((type==2 || type==4) && length!=2) {
+			logger.logcat("addRecord(): Extended address record without 2 bytes!", "w");
+			return false;
+		}
+		
+		switch (type) {
+		case 0:
+			// Save data
+			addData(extendedAddress + address, source, offset, length);
+			return true;
+		case 1:
+			endOfFile = true;
+			return true;
+		case 2:
+			// Extended segment address, paragraph number
+			extendedAddress = (((source[offset] & 0xFF) << 8) |
+					(source[offset + 1] & 0xFF)) << 4;
+			return true;
+		case 4:
+			// Extended linear address, upper 16 bits
+			extendedAddress = (((source[offset] & 0xFF) << 8) |
+					(source[offset + 1] & 0xFF)) << 16;
+			return true;
+		case 3:
+		case 5:
+			// Start address records are not needed by the bootloader
+			return true;
+		default:
+			//Only record types 0x00 - 0x05 exist
+			logger.logcat("addRecord(): Unknown record type " + type, "w");
+			return false;
+		}
+	}
+	
+	/**
+	 * Append the data bytes of one record. The bytes extend the last segment when
+	 * they follow it directly, otherwise they start a new segment.
+	 * 
+	 * @param address Absolute load address of the first data byte.
+	 * @param source Array holding the data bytes.
+	 * @param offset Index of the first data byte in <code>source</code>.
+	 * @param length Number of data bytes.
+	 */
+	private void addData(int address, byte[] source, int offset, int length) {
+		if (dataSize + length > data.length) {
+			data = Arrays.copyOf(data, Math.max(data.length * 2, dataSize + length));
+		}
+		
+		int last = segmentCount - 1;
+		if (last >= 0 && segmentAddress[last] + segmentLength[last] == address) {
+			segmentLength[last] += length;
 		}
 		else {
-			binList.add(new ArrayList<Byte>());
-			
-			byte[] tempBytes = new byte[subHex[startOnDataByte + 1] + 6];
-			
-			tempBytes[0] = subHex[startOnDataByte + 1]; //size
-			tempBytes[1] = subHex[startOnDataByte + 2]; //start address
-			tempBytes[2] = subHex[startOnDataByte + 3]; //start address
-			tempBytes[3] = subHex[startOnDataByte + 4]; //record
-			
-			//save data
-			for (int i = 0; i < dataLength; i++) {
-				tempBytes[i] = subHex[i + startOnDataByte + 5];
+			if (segmentCount == segmentAddress.length) {
+				segmentAddress = Arrays.copyOf(segmentAddress, segmentCount * 2);
+				segmentOffset = Arrays.copyOf(segmentOffset, segmentCount * 2);
+				segmentLength = Arrays.copyOf(segmentLength, segmentCount * 2);
 			}
+			segmentAddress[segmentCount] = address;
+			segmentOffset[segmentCount] = dataSize;
+			segmentLength[segmentCount] = length;
+			segmentCount++;
+		}
+		
+		System.arraycopy(source, offset, data, dataSize, length);
+		dataSize += length;
+	}
+	
+	/**
+	 * Order the segments by address, so the data follows the same order, and merge
+	 * segments that turn out to be adjacent. Records are normally stored in
+	 * ascending order, so this rarely has to move any data.
+	 * 
+	 * @return False if two segments overlap.
+	 */
+	private boolean sortSegments() {
+		boolean sorted = true;
+		for (int i = 1; i < segmentCount && sorted; i++) {
+			sorted = segmentAddress[i - 1] < segmentAddress[i];
+		}
+		
+		if (!sorted) {
+			logger.logcat("sortSegments: Records out of order, sorting " +
+					segmentCount + " segments", "d");
 			
-			//save checksum
-			tempBytes[tempBytes.length - 1] = subHex[startOnDataByte + 5 + dataLength];
+			// Pack address and original index, so a primitive sort is enough
+			long[] order = new long[segmentCount];
+			for (int i = 0; i < segmentCount; i++) {
+				order[i] = ((long) segmentAddress[i] << 32) | i;
+			}
+			Arrays.sort(order);
 			
-			//Check if the checksum is correct
-			if(checkData(tempBytes, startOnDataByte)) {
-				//End of hex file
-				try {
-					// Save data
-					for(int i=0; i<dataLength; i++) {
-						dataList.add(subHex[startOnDataByte + i + 5]); 
-					}
-					
-					return (startOnDataByte + dataLength + 6);
-				} catch (ArrayIndexOutOfBoundsException e) {
-					// Array out of bounds
-					return -1;
-				}
+			byte[] sortedData = new byte[data.length];
+			int[] address = new int[segmentCount];
+			int[] offset = new int[segmentCount];
+			int[] length = new int[segmentCount];
+			int position = 0;
+			for (int i = 0; i < segmentCount; i++) {
+				int j = (int) order[i];
+				System.arraycopy(data, segmentOffset[j], sortedData, position,
+						segmentLength[j]);
+				address[i] = segmentAddress[j];
+				offset[i] = position;
+				length[i] = segmentLength[j];
+				position += length[i];
+			}
+			data = sortedData;
+			segmentAddress = address;
+			segmentOffset = offset;
+			segmentLength = length;
+		}
+		
+		// Merge adjacent segments and look for overlaps
+		int merged = 0;
+		for (int i = 1; i < segmentCount; i++) {
+			int end = segmentAddress[merged] + segmentLength[merged];
+			if (end > segmentAddress[i]) {
+				logger.logcat("sortSegments: Data at address " + segmentAddress[i] +
+						" is loaded twice!", "w");
+				return false;
+			}
+			else if (end == segmentAddress[i]) {
+				segmentLength[merged] += segmentLength[i];
 			}
-			//Checksum not correct
 			else {
-				logger.logcat("splitHex(): Checksum failed!", "w");
-				return -1;
+				merged++;
+				segmentAddress[merged] = segmentAddress[i];
+				segmentOffset[merged] = segmentOffset[i];
+				segmentLength[merged] = segmentLength[i];
 			}
 		}
+		if (segmentCount > 0) {
+			segmentCount = merged + 1;
+		}
+		
+		return true;
 	}
 	
 	/**
-	 * Calculate and check the checksum of the given byte array
-	 * with the checksum from hex file.
+	 * Calculate and check the checksum of a record with the checksum
+	 * from hex file.
 	 * 
-	 * @param data Byte array to check.
-	 * @param startByte Where to start loading bytes from hex file.
+	 * @param startByte Where the record starts in the hex file.
+	 * @param dataLength Number of data bytes in the record.
 	 * 
 	 * @return True if checksum is correct, false if not.
 	 */
-	private boolean checkData (byte[] data, int startByte) {
+	private boolean checkData (int startByte, int dataLength) {
 		int byteValue = 0;
 
 		//Add the values of all the fields together, except checksum 
-		for(int i=0; i<data.length-2; i++) {
+		for(int i=0; i<dataLength+4; i++) {
 			byteValue += subHex[startByte + i + 1];
 		}
 
@@ -257,7 +897,7 @@ public class Hex {
 
 		byte check = (byte) (b-byteValue);
 		
-		return (byte)(check&0xFF) == (data[(data.length-1)&0xFF]);
+		return check == subHex[startByte + dataLength + 5];
 	}
 	
 	/**
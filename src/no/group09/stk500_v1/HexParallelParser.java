@@ -0,0 +1,206 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parallel parser for plain (ASCII) Intel hex files, meant for validating many
+ * large images on machines with several cores.
+ *
+ * The text is split at record boundaries (a ':' only appears at the start of a
+ * record) and each part is checked and decoded by a fork-join task, using the
+ * same rules as {@link HexStreamParser}. The decoded records are then added to
+ * the image in file order, so extended address records and the end of file
+ * record work as in the sequential parser, and the result is the same image
+ * with the same {@link Hex#getChecksumStatus() checksum status}. Each part counts
+ * its lines from 1; the line of an error in the file is only worked out, during
+ * the merge, for the first part that failed.
+ *
+ * Use the factories in {@link Hex} rather than this class directly.
+ */
+class HexParallelParser {
+	/** Parts smaller than this are decoded by one task */
+	private static final int MIN_PART_SIZE = 16 * 1024;
+
+	private Logger logger;
+	private ByteBuffer text;
+
+	HexParallelParser(ByteBuffer text, Logger log) {
+		this.logger = log;
+		this.text = text;
+	}
+
+	/**
+	 * Check and decode the whole buffer in the pool, then build the image.
+	 *
+	 * @param pool Pool to run the tasks in.
+	 *
+	 * @return The complete image.
+	 */
+	Hex parse(ForkJoinPool pool) {
+		Part first = pool.invoke(new PartTask(text.position(), text.limit()));
+
+		// Add the records in file order, stopping at the first error
+		Hex hex = new Hex(logger);
+		boolean ok = true;
+		for (Part part = first; part != null && ok; part = part.next) {
+			ok = part.ok;
+			if (!ok) {
+				HexStreamParser.logError(logger, part.error,
+						countLines(text.position(), part.from) + part.errorLine);
+			}
+			for (int i = 0; i < part.length && ok; ) {
+				int dataLength = part.records[i] & 0xFF;
+				int address = ((part.records[i + 1] & 0xFF) << 8) |
+						(part.records[i + 2] & 0xFF);
+				ok = hex.addRecord(part.records[i + 3] & 0xFF, address,
+						part.records, i + 4, dataLength);
+				i += dataLength + 4;
+			}
+		}
+		hex.finish(ok);
+		return hex;
+	}
+
+	/**
+	 * Find the first record start at or after an index.
+	 *
+	 * @param from Index to start searching from.
+	 * @param to Index to stop searching at.
+	 *
+	 * @return Index of the ':', or <code>to</code> if there is none.
+	 */
+	private int nextRecord(int from, int to) {
+		for (int i = from; i < to; i++) {
+			if (text.get(i) == ':') {
+				return i;
+			}
+		}
+		return to;
+	}
+
+	/**
+	 * Count the line breaks in part of the text.
+	 *
+	 * @param from Index of the first character.
+	 * @param to Index after the last character.
+	 *
+	 * @return Number of '\n' characters.
+	 */
+	private int countLines(int from, int to) {
+		int lines = 0;
+		for (int i = from; i < to; i++) {
+			if (text.get(i) == '\n') {
+				lines++;
+			}
+		}
+		return lines;
+	}
+
+	/**
+	 * Decoded records of one part of the text. Parts are chained in file order.
+	 */
+	private static class Part {
+		/** Records without checksum: size, 2 byte address, type and data */
+		byte[] records = new byte[1024];
+		/** Number of bytes used in records */
+		int length;
+		/** False if an error was found in this part */
+		boolean ok;
+		/** Index of the first character of this part */
+		int from;
+		/** The first error found, and its line counted from the start of the part */
+		String error;
+		int errorLine;
+		/** The part following this one */
+		Part next;
+	}
+
+	/**
+	 * Decodes one part of the text, splitting it when it is large.
+	 */
+	private class PartTask extends RecursiveTask<Part> {
+		private static final long serialVersionUID = 1L;
+
+		private int from;
+		private int to;
+
+		PartTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Part compute() {
+			if (to - from > 2 * MIN_PART_SIZE) {
+				int middle = nextRecord(from + (to - from) / 2, to);
+				if (middle < to) {
+					PartTask second = new PartTask(middle, to);
+					second.fork();
+					Part first = new PartTask(from, middle).compute();
+					Part last = first;
+					while (last.next != null) {
+						last = last.next;
+					}
+					last.next = second.join();
+					return first;
+				}
+			}
+			return decode();
+		}
+
+		/**
+		 * Check and decode this part on the current thread.
+		 *
+		 * @return The decoded records.
+		 */
+		private Part decode() {
+			final Part part = new Part();
+			part.from = from;
+
+			HexStreamParser parser = new HexStreamParser(logger, 1) {
+				@Override
+				boolean addRecord(byte[] record, int length) {
+					// Keep everything but the checksum
+					int size = length - 1;
+					if (part.length + size > part.records.length) {
+						part.records = Arrays.copyOf(part.records,
+								Math.max(part.records.length * 2, part.length + size));
+					}
+					System.arraycopy(record, 0, part.records, part.length, size);
+					part.length += size;
+					return true;
+				}
+
+				@Override
+				void reportError(String msg, int line) {
+					// Logged in file order once the line in the file is known
+					part.error = msg;
+					part.errorLine = line;
+				}
+			};
+			part.ok = parser.parse(text, from, to);
+			return part;
+		}
+	}
+}
@@ -0,0 +1,332 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Single pass parser for plain (ASCII) Intel hex files.
+ *
+ * Characters are fed one at a time into a small state machine. Hex digits are
+ * decoded through a lookup table, the checksum is summed while the record is
+ * decoded, and every complete record is handed to the {@link Hex} image right
+ * away. Only one fixed read buffer and one record buffer are used, no matter
+ * how large the file is.
+ *
+ * Use the factories in {@link Hex} rather than this class directly. The parallel
+ * parser reuses this class to decode parts of a file, by overriding
+ * {@link #addRecord(byte[], int) addRecord} and
+ * {@link #reportError(String, int) reportError}.
+ */
+class HexStreamParser {
+	/** Size of the read buffer */
+	private static final int BUFFER_SIZE = 512;
+
+	/** Largest record: size, 2 byte address, type, 255 data bytes, checksum */
+	private static final int MAX_RECORD_SIZE = 260;
+
+	/** Value of each ASCII hex digit, -1 for any other character */
+	private static final byte[] NIBBLE = new byte[128];
+
+	static {
+		for (int i = 0; i < NIBBLE.length; i++) {
+			NIBBLE[i] = -1;
+		}
+		for (int i = 0; i < 10; i++) {
+			NIBBLE['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			NIBBLE['A' + i] = (byte) (10 + i);
+			NIBBLE['a' + i] = (byte) (10 + i);
+		}
+	}
+
+	private Logger logger;
+	private Hex hex;
+
+	/** Decoded bytes of the current record */
+	private byte[] record = new byte[MAX_RECORD_SIZE];
+
+	/** Number of bytes decoded in the current record */
+	private int recordLength;
+
+	/** Number of bytes the current record should have, -1 until the size is read */
+	private int expectedLength;
+
+	/** Value of the first hex digit of a pair, -1 if waiting for a new pair */
+	private int highNibble;
+
+	/** Sum of the bytes decoded in the current record */
+	private int sum;
+
+	/** True between ':' and the end of the record */
+	private boolean inRecord;
+
+	/** Line number, used in log messages */
+	private int line;
+
+	/** Set when the file is found to be wrong */
+	private boolean failed;
+
+	HexStreamParser(Logger log) {
+		this.logger = log;
+		this.hex = new Hex(log);
+		this.line = 1;
+	}
+
+	/**
+	 * Create a parser that passes records to {@link #addRecord(byte[], int)
+	 * addRecord} without building an image.
+	 *
+	 * @param log Logger interface implementation for logging
+	 * @param firstLine Line number to start counting from, used in log messages
+	 */
+	HexStreamParser(Logger log, int firstLine) {
+		this.logger = log;
+		this.line = firstLine;
+	}
+
+	/**
+	 * Parse a stream of ASCII records.
+	 *
+	 * @param in Stream to read until end of stream.
+	 *
+	 * @return The complete image.
+	 *
+	 * @throws IOException If the stream could not be read.
+	 */
+	Hex parse(InputStream in) throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int read;
+
+		while (!failed && (read = in.read(buffer)) != -1) {
+			for (int i = 0; i < read && !failed; i++) {
+				feed(buffer[i] & 0xFF);
+			}
+		}
+		return finish();
+	}
+
+	/**
+	 * Parse a character stream of ASCII records.
+	 *
+	 * @param in Reader to read until end of stream.
+	 *
+	 * @return The complete image.
+	 *
+	 * @throws IOException If the reader could not be read.
+	 */
+	Hex parse(java.io.Reader in) throws IOException {
+		char[] buffer = new char[BUFFER_SIZE];
+		int read;
+
+		while (!failed && (read = in.read(buffer)) != -1) {
+			for (int i = 0; i < read && !failed; i++) {
+				feed(buffer[i]);
+			}
+		}
+		return finish();
+	}
+
+	/**
+	 * Parse a channel of ASCII records.
+	 *
+	 * @param in Channel to read until end of stream.
+	 *
+	 * @return The complete image.
+	 *
+	 * @throws IOException If the channel could not be read.
+	 */
+	Hex parse(ReadableByteChannel in) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+		byte[] array = buffer.array();
+
+		while (!failed && in.read(buffer) != -1) {
+			int read = buffer.position();
+			for (int i = 0; i < read && !failed; i++) {
+				feed(array[i] & 0xFF);
+			}
+			buffer.clear();
+		}
+		return finish();
+	}
+
+	/**
+	 * Parse ASCII records in a buffer, like a memory mapped file, in place.
+	 *
+	 * @param in Buffer with the records from position to limit.
+	 *
+	 * @return The complete image.
+	 */
+	Hex parse(ByteBuffer in) {
+		parse(in, in.position(), in.limit());
+		return finish();
+	}
+
+	/**
+	 * Parse part of a buffer. The part must start at the beginning of a record
+	 * or the file, and end at the start of a record or the end of the file.
+	 *
+	 * @param in Buffer with ASCII records.
+	 * @param from Index of the first character.
+	 * @param to Index after the last character.
+	 *
+	 * @return False if an error was found.
+	 */
+	boolean parse(ByteBuffer in, int from, int to) {
+		for (int i = from; i < to && !failed; i++) {
+			feed(in.get(i) & 0xFF);
+		}
+		if (!failed && inRecord) {
+			fail("File ends in the middle of a record");
+		}
+		return !failed;
+	}
+
+	/**
+	 * Process one character.
+	 *
+	 * @param c The character, or byte value.
+	 */
+	private void feed(int c) {
+		if (c == ':') {
+			if (inRecord) {
+				fail("New record before the last one ended");
+				return;
+			}
+			inRecord = true;
+			recordLength = 0;
+			expectedLength = -1;
+			highNibble = -1;
+			sum = 0;
+			return;
+		}
+
+		int value = c < NIBBLE.length ? NIBBLE[c] : -1;
+
+		if (value < 0) {
+			if (c == '\n') {
+				line++;
+			}
+			if (c != '\n' && c != '\r' && c != ' ' && c != '\t') {
+				fail("Unexpected character " + c);
+			}
+			else if (inRecord) {
+				fail("Record ended after " + recordLength + " bytes");
+			}
+		}
+		else if (!inRecord) {
+			fail("Line not starting with ':' !");
+		}
+		else if (highNibble < 0) {
+			highNibble = value;
+		}
+		else {
+			int b = (highNibble << 4) | value;
+			highNibble = -1;
+			record[recordLength++] = (byte) b;
+			sum += b;
+
+			if (recordLength == 1) {
+				// size, address, type and checksum come on top of the data
+				expectedLength = b + 5;
+			}
+			else if (recordLength == expectedLength) {
+				endRecord();
+			}
+		}
+	}
+
+	/**
+	 * Check the checksum of a complete record and add it to the image.
+	 */
+	private void endRecord() {
+		inRecord = false;
+
+		//The sum of every byte, including the checksum, is 0
+		if ((sum & 0xFF) != 0) {
+			fail("Checksum failed!");
+			return;
+		}
+
+		if (!addRecord(record, recordLength)) {
+			fail("Record not allowed");
+		}
+	}
+
+	/**
+	 * Pass a record with a correct checksum on to the image.
+	 *
+	 * @param record Decoded record: size, 2 byte address, type, data and checksum.
+	 * @param length Number of bytes in <code>record</code>.
+	 *
+	 * @return False if the record is not allowed.
+	 */
+	boolean addRecord(byte[] record, int length) {
+		int address = ((record[1] & 0xFF) << 8) | (record[2] & 0xFF);
+		return hex.addRecord(record[3] & 0xFF, address, record, 4, length - 5);
+	}
+
+	/**
+	 * Stop parsing, the file is not correct.
+	 *
+	 * @param msg Reason for logging.
+	 */
+	private void fail(String msg) {
+		failed = true;
+		reportError(msg, line);
+	}
+
+	/**
+	 * Log why the file is not correct.
+	 *
+	 * @param msg Reason for logging.
+	 * @param line Line the error was found on.
+	 */
+	void reportError(String msg, int line) {
+		logError(logger, msg, line);
+	}
+
+	/**
+	 * Log an error found in a file.
+	 *
+	 * @param logger Logger to use.
+	 * @param msg Reason for logging.
+	 * @param line Line the error was found on.
+	 */
+	static void logError(Logger logger, String msg, int line) {
+		logger.logcat("HexStreamParser: " + msg + " (line " + line + ")", "w");
+	}
+
+	/**
+	 * Complete the image.
+	 *
+	 * @return The image, with state set by what the parser found.
+	 */
+	private Hex finish() {
+		if (!failed && inRecord) {
+			fail("File ends in the middle of a record");
+		}
+		hex.finish(!failed);
+		return hex;
+	}
+}
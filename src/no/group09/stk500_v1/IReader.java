@@ -54,6 +54,23 @@ public interface IReader {
 	 */
 	public int read(TimeoutValues timeout) throws TimeoutException, IOException;
 	
+	/**
+	 * Read a block of bytes from the InputStream. The whole block shares one
+	 * deadline, instead of one per byte.
+	 * @param buffer Array to store the bytes in
+	 * @param offset Index of the first byte to store
+	 * @param length Number of bytes to read
+	 * @param timeout How long reading the whole block can take before a
+	 * TimeoutException should be thrown. Never less than the single byte timeout.
+	 * @return length when the block is filled
+	 * @return RESULT_END_OF_STREAM if the stream ended before the block was filled
+	 * @return RESULT_NOT_DONE if the state does not support reading
+	 * @throws TimeoutException If the block was not filled in time
+	 * @throws IOException If a problem occurred with the stream
+	 */
+	public int read(byte[] buffer, int offset, int length, TimeoutValues timeout)
+			throws TimeoutException, IOException;
+	
 	/**
 	 * Stop the reader. start() will still be able to restart it.
 	 * @return true if the reader could be ordered to stop or is currently STOPPING (or
@@ -81,4 +98,34 @@ public interface IReader {
 	 * @return false if it has yet to initialize fully
 	 */
 	public boolean wasCurrentStateActivated();
+	
+	/**
+	 * Block until the reader is in the given state. The calling thread waits
+	 * until the reader thread switches state and wakes it up.
+	 * @param state State to wait for
+	 * @param timeout Milliseconds to wait, 0 or less to wait indefinitely
+	 * @return true if the reader is in the state
+	 * @return false if the timeout ran out or the thread was interrupted
+	 */
+	public boolean awaitState(EReaderState state, long timeout);
+	
+	/**
+	 * Block until the current state has been activated/initialized.
+	 * @param timeout Milliseconds to wait, 0 or less to wait indefinitely
+	 * @return true if the current state has been activated
+	 * @return false if the timeout ran out or the thread was interrupted
+	 */
+	public boolean awaitStateActivated(long timeout);
+	
+	/**
+	 * Block until the given number of bytes has been received and not read yet,
+	 * without reading them. The calling thread waits until the thread reading
+	 * the stream stores the bytes and wakes it up.
+	 * @param count Number of bytes to wait for
+	 * @param deadline Time in milliseconds, as given by System.currentTimeMillis(),
+	 * to stop waiting at
+	 * @return number of bytes received and not read yet, less than count if the
+	 * deadline passed or the thread was interrupted
+	 */
+	public int awaitAvailable(int count, long deadline);
 }
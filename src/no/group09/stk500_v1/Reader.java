@@ -29,20 +29,29 @@ import java.util.concurrent.TimeoutException;
  * InputStream. This implementation uses states inheriting from a base state class with
  * common functionality.
  *
- * The reader attempts to stay responsive while reading, by only asking to read maximum
- * the amount of bytes already received (in BufferedInputStream or the socket receiver
- * buffer.
+ * A separate input pump thread blocks on the InputStream and moves every received
+ * byte into a ring buffer, so the states never have to block on the stream, and never
+ * have to poll it either. A blocked read can not be cancelled, so a reader created
+ * later on the same stream should {@link #takeInputFrom(Reader) take over} the input
+ * of the one before it.
  * 
  * The reader runs the execute method of the current state for each iteration; switching
- * of states is handled by the states themselves. Calls of the {@link IReader} methods
- * are automatically performed on the current state.
+ * of states is handled by the states themselves. Between iterations the reader thread
+ * waits on the reader until a state switch is queued, input arrives (if the state is
+ * waiting for input) or a deadline passes, so an idle reader uses no CPU time. Calls
+ * of the {@link IReader} methods are automatically performed on the current state.
  * 
  * See the {@link EReaderState EReaderState enum} documentation for details on what each
  * state does.
  */
 public class Reader implements Runnable, IReader {
+	/** Size of the input ring buffer, single largest expected return is 258 */
+	private static final int RING_SIZE = 1024;
+
+	/** Longest time a state waits for an event before running again */
+	private static final long IDLE_TIMEOUT = 1000;
+
 	private InputStream in;
-	private BufferedInputStream bis;
 	private Logger logger;
 	private volatile Exception lastException;
 	private volatile IReaderState currentState;
@@ -52,6 +61,24 @@ public class Reader implements Runnable, IReader {
 	private Queue<IReaderState> eventQueue;
 	private int result;
 
+	/** Received bytes not read yet, guarded by the reader */
+	private byte[] ring;
+	private int ringStart;
+	private int ringCount;
+	/** Pump filling the ring, null if no thread reads the stream for this reader */
+	private InputPump inputPump;
+	/** Set when the input pump should stop once its current read returns */
+	private boolean inputPumpStopping;
+	/** Set when the input pump failed to read the stream */
+	private IOException inputException;
+
+	/** Block being filled by a block read, null while reading single bytes */
+	private byte[] block;
+	private int blockOffset;
+	private int blockLength;
+	private int blockFilled;
+	private long blockTimeout;
+
 
 	/**
 	 * Instance the reader and all the states utilized by it
@@ -68,8 +95,7 @@ public class Reader implements Runnable, IReader {
 		eventQueue = new LinkedList<IReaderState>();
 
 		in = input;
-		//single largest expected return is 258
-		bis = new BufferedInputStream(in, 1024);
+		ring = new byte[RING_SIZE];
 		this.logger = logger; 
 
 		//instance the states
@@ -166,7 +192,279 @@ public class Reader implements Runnable, IReader {
 	private synchronized void resetQueue() {
 		eventQueue = new LinkedList<IReaderState>();
 	}
-	
+
+	/**
+	 * Block the reader thread until a state switch is queued, or until input
+	 * arrives when <code>onInput</code> is set, or until the timeout runs out.
+	 * @param onInput Wake up when received bytes are in the ring or reading failed
+	 * @param timeout Longest time to wait in milliseconds
+	 */
+	private synchronized void awaitEvent(boolean onInput, long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (eventQueue.isEmpty() && !doCompleteStop &&
+				!(onInput && (ringCount > 0 || inputException != null))) {
+			long left = deadline - System.currentTimeMillis();
+			if (left <= 0) {
+				return;
+			}
+			try {
+				wait(left);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Start the thread moving bytes from the InputStream into the ring, or keep
+	 * the one being stopped.
+	 */
+	private synchronized void startInputPump() {
+		inputPumpStopping = false;
+		if (inputPump == null) {
+			inputException = null;
+			inputPump = new InputPump(this);
+			Thread thread = new Thread(inputPump, "Reader input pump");
+			thread.setDaemon(true);
+			thread.start();
+		}
+	}
+
+	/**
+	 * Make the input pump stop. A pump waiting for room in the ring stops at
+	 * once. A pump blocked on the stream stops when its read returns, and the
+	 * bytes it read are kept in the ring for a restart or for the next reader.
+	 */
+	private synchronized void stopInputPump() {
+		inputPumpStopping = true;
+		notifyAll();
+	}
+
+	/**
+	 * Take over the input of a reader that has been stopped completely, before
+	 * this reader is started. Bytes the previous reader received and did not
+	 * hand out are moved over, and if its input pump is still blocked on the
+	 * stream, the pump fills this reader's ring from then on. Without this, the
+	 * blocked pump would take the first bytes meant for this reader.
+	 * @param previous Reader that read the same InputStream
+	 */
+	void takeInputFrom(Reader previous) {
+		synchronized(previous) {
+			synchronized(this) {
+				int n = Math.min(previous.ringCount, ring.length);
+				previous.inputRead(ring, 0, n);
+				ringStart = 0;
+				ringCount = n;
+				inputPump = previous.inputPump;
+				inputPumpStopping = true;
+				if (inputPump != null) {
+					inputPump.owner = this;
+				}
+				previous.inputPump = null;
+			}
+			//a pump waiting for room in the previous ring goes on with this one
+			previous.notifyAll();
+		}
+	}
+
+	/**
+	 * Number of received bytes that can be read without blocking.
+	 * @throws IOException if nothing is left and the stream could not be read
+	 */
+	private synchronized int inputAvailable() throws IOException {
+		if (ringCount == 0 && inputException != null) {
+			throw inputException;
+		}
+		return ringCount;
+	}
+
+	/**
+	 * Take one received byte.
+	 * @return the byte, or -1 if nothing has been received
+	 */
+	private synchronized int inputRead() {
+		if (ringCount == 0) {
+			return RESULT_END_OF_STREAM;
+		}
+		int b = ring[ringStart] & 0xFF;
+		ringStart = (ringStart + 1) % ring.length;
+		ringCount--;
+		notifyAll();
+		return b;
+	}
+
+	/**
+	 * Take received bytes into an array.
+	 * @return the number of bytes moved, or -1 if nothing has been received
+	 */
+	private synchronized int inputRead(byte[] buffer, int offset, int length) {
+		if (ringCount == 0) {
+			return RESULT_END_OF_STREAM;
+		}
+		int n = Math.min(length, ringCount);
+		int first = Math.min(n, ring.length - ringStart);
+		System.arraycopy(ring, ringStart, buffer, offset, first);
+		System.arraycopy(ring, 0, buffer, offset + first, n - first);
+		ringStart = (ringStart + n) % ring.length;
+		ringCount -= n;
+		notifyAll();
+		return n;
+	}
+
+	/**
+	 * Throw away received bytes.
+	 * @return the number of bytes skipped
+	 */
+	private synchronized long inputSkip(long toSkip) {
+		int n = (int) Math.min(toSkip, ringCount);
+		ringStart = (ringStart + n) % ring.length;
+		ringCount -= n;
+		notifyAll();
+		return n;
+	}
+
+	/**
+	 * Moves bytes from the InputStream into the ring of its owner. The pump blocks
+	 * in read() on the stream, and every read wakes the threads waiting on the
+	 * owner, so arriving bytes are handed on at once without any polling. A
+	 * blocked read can not be cancelled without closing the stream, so a stopped
+	 * pump ends when its read returns, after storing what it read.
+	 */
+	private static class InputPump implements Runnable {
+		private final InputStream in;
+		private final Logger logger;
+		/** Reader the bytes go to, only changed by takeInputFrom */
+		private volatile Reader owner;
+
+		InputPump(Reader owner) {
+			this.owner = owner;
+			this.in = owner.in;
+			this.logger = owner.logger;
+		}
+
+		@Override
+		public void run() {
+			byte[] chunk = new byte[RING_SIZE];
+			IOException failure = null;
+			try {
+				int n;
+				while ((n = awaitRoom(0)) > 0) {
+					n = in.read(chunk, 0, n);
+					if (n == RESULT_END_OF_STREAM) {
+						logger.logcat("InputPump.run: EndOfStream", "w");
+						break;
+					}
+					store(chunk, n);
+				}
+			} catch (IOException e) {
+				logger.logcat("InputPump.run: " + e.getMessage(), "e");
+				failure = e;
+			}
+			end(failure);
+			logger.logcat("InputPump.run: Stopped", "i");
+		}
+
+		/**
+		 * Wait until the owner's ring has room, unless the pump should stop.
+		 * @param needed Number of bytes that must fit, 0 for any room
+		 * @return number of bytes that fit, or -1 if the pump should stop
+		 */
+		private int awaitRoom(int needed) {
+			while (true) {
+				Reader reader = owner;
+				synchronized(reader) {
+					if (owner != reader) {
+						//taken over, go on with the new owner
+						continue;
+					}
+					boolean stopping = reader.inputPumpStopping || reader.doCompleteStop;
+					if (needed == 0 && stopping) {
+						reader.inputPump = null;
+						return -1;
+					}
+					int free = reader.ring.length - reader.ringCount;
+					if (free > 0 && free >= needed) {
+						return free;
+					}
+					if (stopping) {
+						//the ring is not read until a restart, keep what is there
+						return -1;
+					}
+					//a full ring is emptied by reads, which notify
+					try {
+						reader.wait();
+					} catch (InterruptedException e) {
+						reader.inputPump = null;
+						return -1;
+					}
+				}
+			}
+		}
+
+		/**
+		 * Add bytes to the ring of the owner and wake up its waiting threads.
+		 * Bytes read for a stopped reader are kept too, as long as they fit.
+		 */
+		private void store(byte[] chunk, int n) {
+			while (awaitRoom(n) >= n) {
+				Reader reader = owner;
+				synchronized(reader) {
+					int free = reader.ring.length - reader.ringCount;
+					if (owner != reader || free < n) {
+						//taken over since the room was found
+						continue;
+					}
+					int end = (reader.ringStart + reader.ringCount) % reader.ring.length;
+					int first = Math.min(n, reader.ring.length - end);
+					System.arraycopy(chunk, 0, reader.ring, end, first);
+					System.arraycopy(chunk, first, reader.ring, 0, n - first);
+					reader.ringCount += n;
+					reader.notifyAll();
+					return;
+				}
+			}
+		}
+
+		/**
+		 * Let the owner know that nothing more will be read for it.
+		 * @param failure Why reading stopped, or null
+		 */
+		private void end(IOException failure) {
+			while (true) {
+				Reader reader = owner;
+				synchronized(reader) {
+					if (owner != reader) {
+						continue;
+					}
+					if (reader.inputPump == this) {
+						reader.inputPump = null;
+					}
+					if (failure != null) {
+						reader.inputException = failure;
+					}
+					reader.notifyAll();
+					return;
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized int awaitAvailable(int count, long deadline) {
+		try {
+			while (ringCount < count) {
+				long left = deadline - System.currentTimeMillis();
+				if (left <= 0) {
+					break;
+				}
+				wait(left);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return ringCount;
+	}
+
 	@Override
 	public boolean wasCurrentStateActivated() {
 		return currentState.hasStateBeenActivated();
@@ -177,6 +475,62 @@ public class Reader implements Runnable, IReader {
 		((IReader) currentState).forget();
 	}
 
+	@Override
+	public boolean awaitState(EReaderState state, long timeout) {
+		return awaitCurrentState(state, timeout);
+	}
+
+	@Override
+	public boolean awaitStateActivated(long timeout) {
+		return awaitCurrentState(null, timeout);
+	}
+
+	/**
+	 * Wait on the reader for the current state to become <code>state</code> and
+	 * be activated. The reader thread notifies on every switch and activation.
+	 * @param state State to wait for, or null for any activated state
+	 * @param timeout Milliseconds to wait, 0 or less to wait indefinitely
+	 * @return false if the timeout ran out or the thread was interrupted
+	 */
+	private synchronized boolean awaitCurrentState(EReaderState state, long timeout) {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (state != null ? currentState.getEnum() != state :
+			!currentState.hasStateBeenActivated()) {
+			long left = timeout > 0 ? deadline - System.currentTimeMillis() : 0;
+			if (timeout > 0 && left <= 0) {
+				return false;
+			}
+			try {
+				wait(left);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Wait until the current state is no longer <code>state</code>.
+	 * @param state The state seen by the caller
+	 */
+	private synchronized void awaitSwitchFrom(IReaderState state) {
+		while (currentState == state && !doCompleteStop) {
+			try {
+				wait(IDLE_TIMEOUT);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Wake up every thread waiting for the current state to change.
+	 */
+	private synchronized void stateChanged() {
+		notifyAll();
+	}
+
 	@Override
 	public EReaderState getState() {
 		return currentState.getEnum();
@@ -192,6 +546,12 @@ public class Reader implements Runnable, IReader {
 		return ((IReader)currentState).read(timeout);
 	}
 
+	@Override
+	public int read(byte[] buffer, int offset, int length, TimeoutValues timeout)
+			throws TimeoutException, IOException {
+		return ((IReader)currentState).read(buffer, offset, length, timeout);
+	}
+
 	@Override
 	public boolean stop() {
 		return ((IReader)currentState).stop();
@@ -209,7 +569,10 @@ public class Reader implements Runnable, IReader {
 	public void requestCompleteStop() {
 		if (currentState.getEnum() == EReaderState.STOPPED) {
 			logger.logcat("requestCompleteStop: setting doCompleteStop to true", "d");
-			doCompleteStop = true;
+			synchronized(this) {
+				doCompleteStop = true;
+				notifyAll();
+			}
 		}
 		logger.logcat("requestCompleteStop: can only shut down completely while " +
 				"stopped. Current state: " + currentState.getEnum(), "d");
@@ -219,7 +582,12 @@ public class Reader implements Runnable, IReader {
 	public void run() {
 		//Run until requested to stop
 		while (!doCompleteStop) {
-			currentState.execute();
+			IReaderState state = currentState;
+			state.execute();
+			//Sleep until there is something to do, unless the state changed
+			if (state == currentState && state.hasStateBeenActivated()) {
+				((BaseState) state).idle();
+			}
 		}
 		logger.logcat("Reader.run: Fully stopped (needs new Thread to restart)", "i");
 	}
@@ -232,6 +600,7 @@ public class Reader implements Runnable, IReader {
 	 */
 	public void setCurrentState(IReaderState currentState) {
 		this.currentState = currentState;
+		stateChanged();
 	}
 
 	/**
@@ -240,7 +609,6 @@ public class Reader implements Runnable, IReader {
 	abstract class BaseState implements IReaderState, IReader {
 
 		private EReaderState eState;
-		protected volatile boolean active;
 		protected Reader reader;
 		protected volatile boolean activated;
 		protected boolean abort;
@@ -248,7 +616,6 @@ public class Reader implements Runnable, IReader {
 		public BaseState(Reader reader, EReaderState eState) {
 			this.eState = eState;
 			this.reader = reader;
-			active = true;
 			activated = false;
 			abort = false;
 		}
@@ -263,10 +630,26 @@ public class Reader implements Runnable, IReader {
 			return (currentState == this && activated);
 		}
 
+		@Override
+		public boolean awaitState(EReaderState state, long timeout) {
+			return reader.awaitState(state, timeout);
+		}
+
+		@Override
+		public boolean awaitStateActivated(long timeout) {
+			return reader.awaitStateActivated(timeout);
+		}
+
+		@Override
+		public int awaitAvailable(int count, long deadline) {
+			return reader.awaitAvailable(count, deadline);
+		}
+
 		@Override
 		public void execute() {
 			if (!activated && !abort) {
 				activate();
+				stateChanged();
 			}
 			else {
 				//Check if it should switch state
@@ -277,22 +660,18 @@ public class Reader implements Runnable, IReader {
 					((BaseState) nextState).abort = false;
 					abort = true;
 					activated = false;
+					stateChanged();
 					return;
 				}
 			}
-			if (!active) {
-				synchronized(this) {
-					try {
-						logger.logcat(getEnum() + "(Base).execute: waiting...", "v");
-						wait(1000);
-						active = true;
-					} catch (InterruptedException e)
-					{
-						logger.logcat(getEnum() + "(Base).execute: woken up!", "v");
-						active = true;
-					}
-				}
-			}
+		}
+
+		/**
+		 * Wait for something to do after an execution. By default only a state
+		 * switch wakes the state up.
+		 */
+		protected void idle() {
+			awaitEvent(false, IDLE_TIMEOUT);
 		}
 
 		@Override
@@ -310,6 +689,12 @@ public class Reader implements Runnable, IReader {
 			return RESULT_NOT_DONE;
 		}
 
+		@Override
+		public int read(byte[] buffer, int offset, int length, TimeoutValues timeout)
+				throws TimeoutException, IOException {
+			return RESULT_NOT_DONE;
+		}
+
 		@Override
 		public int getResult() {
 			return RESULT_NOT_DONE;
@@ -333,19 +718,16 @@ public class Reader implements Runnable, IReader {
 
 		public StoppedState(Reader reader, EReaderState eState) {
 			super(reader, eState);
-			active = false;
 		}
 
 		@Override
 		public void execute() {
 			super.execute();
 			if (abort) return;
-			active = false;
 		}
 
 		public void activate() {
 			logger.logcat("StoppedState.activate: The reader has stopped", "i");
-			bis = null;
 			activated = true;
 			abort = false;
 		}
@@ -369,17 +751,14 @@ public class Reader implements Runnable, IReader {
 
 		public StartingState(Reader reader, EReaderState eState) {
 			super(reader, eState);
-			if (abort) return;
-			active = true;
 		}
 
 		@Override
 		public void activate() {
 			logger.logcat("StartingState.activate: Starting...", "i");
 			activated = true;
-			active = true;
 			abort = false;
-			bis = new BufferedInputStream(in);
+			startInputPump();
 			switchState(EReaderState.WAITING);
 		}
 
@@ -414,7 +793,6 @@ public class Reader implements Runnable, IReader {
 		public void activate() {
 			logger.logcat("WaitingState.activate: Ready to work", "d");
 			lastException = null;
-			active = true;
 			activated = true;
 			abort = false;
 		}
@@ -435,10 +813,10 @@ public class Reader implements Runnable, IReader {
 		public void forget() {
 			int toSkip;
 			try {
-				toSkip = bis.available();
+				toSkip = inputAvailable();
 				logger.logcat("WaitingState.forget: Attempts to skip " + toSkip +
 						" bytes...", "d");
-				long skipped = bis.skip(toSkip);
+				long skipped = inputSkip(toSkip);
 				logger.logcat("WaitingState.forget: Skipped " + skipped + " bytes", "d");
 			} catch (IOException e) {
 				logger.logcat("WaitingState.forget: " + e.getMessage(), "i");
@@ -456,9 +834,44 @@ public class Reader implements Runnable, IReader {
 		public int read(TimeoutValues timeout) throws TimeoutException, IOException {
 			logger.logcat(getEnum() + " read: entered read method in Reader.java", "i");
 			switchState(EReaderState.READING);
+			return awaitResult();
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length, TimeoutValues timeout)
+				throws TimeoutException, IOException {
+			if (buffer == null || offset < 0 || length <= 0 ||
+					offset + length > buffer.length) {
+				throw new IllegalArgumentException("WaitingState.read: Invalid block");
+			}
+			logger.logcat(getEnum() + " read: reading block of " + length + " bytes", "i");
+			synchronized(reader) {
+				block = buffer;
+				blockOffset = offset;
+				blockLength = length;
+				blockFilled = 0;
+				blockTimeout = Math.max(timeout.getTimeout(),
+						TimeoutValues.DEFAULT.getTimeout());
+			}
+			switchState(EReaderState.READING);
+			try {
+				return awaitResult();
+			} finally {
+				synchronized(reader) {
+					block = null;
+				}
+			}
+		}
+
+		/**
+		 * Wait for the reading started by a read method to finish.
+		 * @return the result of the reading
+		 */
+		private int awaitResult() throws TimeoutException, IOException {
 			while (true) {
-				EReaderState s = currentState.getEnum();
-				IReader state = (IReader)currentState;
+				IReaderState current = currentState;
+				EReaderState s = current.getEnum();
+				IReader state = (IReader)current;
 				switch (s) {
 				case RESULT_READY : {
 					int res = state.getResult();
@@ -482,9 +895,7 @@ public class Reader implements Runnable, IReader {
 				}
 				case READING : {} //intentional fall through
 				case WAITING : {
-					try {
-						Thread.sleep(1);
-					} catch (InterruptedException e) {}
+					awaitSwitchFrom(current);
 					break;
 				}
 				case STOPPED : {} //fall through to stopping
@@ -503,6 +914,7 @@ public class Reader implements Runnable, IReader {
 
 	class ReadingState extends BaseState {
 		private long readInitiated;
+		private long timeout;
 
 		public ReadingState(Reader reader, EReaderState eState) {
 			super(reader, eState);
@@ -514,9 +926,9 @@ public class Reader implements Runnable, IReader {
 			logger.logcat("ReadingState.activate: Reading started...", "d");
 			synchronized(reader) {
 				result = RESULT_NOT_DONE;
+				timeout = block != null ? blockTimeout : TimeoutValues.DEFAULT.getTimeout();
 			}
 			readInitiated = System.currentTimeMillis();
-			active = true;
 			activated = true;
 			abort = false;
 		}
@@ -529,17 +941,20 @@ public class Reader implements Runnable, IReader {
 				int bytesInBuffer = -1;
 				long now = System.currentTimeMillis();
 
-				if (now - readInitiated > TimeoutValues.DEFAULT.getTimeout()) {
+				if (now - readInitiated > timeout) {
 					switchState(EReaderState.TIMEOUT_OCCURRED);
 					return;
 				}
 
 				//check if there are bytes in the buffer
 				else {
-					bytesInBuffer = (bis.available());
-					if (bytesInBuffer > 0) {
+					bytesInBuffer = (inputAvailable());
+					if (bytesInBuffer > 0 && block != null) {
+						readBlock(bytesInBuffer);
+					}
+					else if (bytesInBuffer > 0) {
 						logger.logcat(getEnum() + ".execute: bytes in buffer: " + bytesInBuffer, "d");
-						int b = bis.read();
+						int b = inputRead();
 						//end of stream occurred, further operations will trigger IOException
 						if (b == RESULT_END_OF_STREAM) {
 							logger.logcat("ReadingState.execute: EndOfStream", "w");
@@ -563,6 +978,40 @@ public class Reader implements Runnable, IReader {
 			}
 		}
 
+		@Override
+		protected void idle() {
+			long left = readInitiated + timeout - System.currentTimeMillis();
+			//wake up just after the deadline, to time out
+			awaitEvent(true, Math.max(left + 1, 1));
+		}
+
+		/**
+		 * Move the buffered bytes into the block. The result is the block length
+		 * once it is filled.
+		 * @param bytesInBuffer Number of bytes that can be read without blocking
+		 */
+		private void readBlock(int bytesInBuffer) throws IOException {
+			int n = inputRead(block, blockOffset + blockFilled,
+					Math.min(bytesInBuffer, blockLength - blockFilled));
+			logger.logcat(getEnum() + ".execute: read " + n + " bytes of block", "d");
+			//end of stream occurred, further operations will trigger IOException
+			if (n == RESULT_END_OF_STREAM) {
+				logger.logcat("ReadingState.execute: EndOfStream", "w");
+				synchronized(reader) {
+					result = n;
+				}
+				switchState(EReaderState.FAIL);
+				return;
+			}
+			blockFilled += n;
+			if (blockFilled == blockLength) {
+				synchronized(reader) {
+					result = blockLength;
+				}
+				switchState(EReaderState.RESULT_READY);
+			}
+		}
+
 		@Override
 		public boolean stop() {
 			logger.logcat("ReadingState.stop: Stopping, this might take some time", "i");
@@ -615,7 +1064,6 @@ public class Reader implements Runnable, IReader {
 			synchronized (this) {
 				resultFetched = true;
 			}
-			active = true;
 			return res;
 		}
 
@@ -654,7 +1102,7 @@ public class Reader implements Runnable, IReader {
 
 					//see estimate of skippable bytes (should be number of buffered and 
 					//those in the socket receiver buffer)
-					skippableBytes = bis.available();
+					skippableBytes = inputAvailable();
 					if (skippableBytes != toSkip) {
 						logger.logcat(getEnum() + ".execute: " + skippableBytes +
 								" possible to skip.", "i");
@@ -670,6 +1118,12 @@ public class Reader implements Runnable, IReader {
 			}
 		}
 
+		@Override
+		protected void idle() {
+			//watch for late bytes until some arrive
+			awaitEvent(!receivedSomething, IDLE_TIMEOUT);
+		}
+
 		@Override
 		public boolean isReadingAllowed() {
 			//return (!readInProgress && !forgetInProgress);
@@ -685,6 +1139,16 @@ public class Reader implements Runnable, IReader {
 			return super.read(timeout);
 		}
 
+		@Override
+		public int read(byte[] buffer, int offset, int length, TimeoutValues timeout)
+				throws TimeoutException, IOException {
+			if (!isReadingAllowed()) {
+				throw new IllegalStateException("Reading not allowed while reading or " +
+						"forgetting!");
+			}
+			return super.read(buffer, offset, length, timeout);
+		}
+
 		@Override
 		public int getResult() {
 			if (receivedSomething) {
@@ -703,10 +1167,10 @@ public class Reader implements Runnable, IReader {
 			forgetInProgress = true;
 			int toSkip;
 			try {
-				toSkip = bis.available();
+				toSkip = inputAvailable();
 				logger.logcat("TimeoutOccurred.forget: Attempts to skip " + toSkip +
 						" bytes...", "d");
-				long skipped = bis.skip(toSkip);
+				long skipped = inputSkip(toSkip);
 				logger.logcat("TimeoutOccurred.forget: Skipped " + skipped + " bytes",
 						"d");
 			} catch (IOException e) {
@@ -730,7 +1194,7 @@ public class Reader implements Runnable, IReader {
 			toSkip = -1;
 
 			try {
-				avail = bis.available();
+				avail = inputAvailable();
 				if (avail > 0) {
 					logger.logcat(getEnum() + ".activate: " + avail + "unread " +
 							"bytes already in the buffer!", "w");
@@ -741,7 +1205,6 @@ public class Reader implements Runnable, IReader {
 				lastException = e;
 				switchState(EReaderState.FAIL);
 			}
-			active = true;
 			activated = true;
 		}
 
@@ -778,7 +1241,6 @@ public class Reader implements Runnable, IReader {
 		public void execute() {
 			super.execute();
 			if (abort) return;
-			active = false;
 		}
 
 		@Override
@@ -822,7 +1284,7 @@ public class Reader implements Runnable, IReader {
 		public void activate() {
 			resetQueue();
 			logger.logcat("StoppingState.activate: Shutdown in progress...", "i");
-			active = true;
+			stopInputPump();
 			((BaseState)states.get(EReaderState.STOPPED)).abort = false;
 			activated = true;
 			abort = false;
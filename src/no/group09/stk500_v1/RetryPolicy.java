@@ -0,0 +1,73 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * Limits for repairing an image after verification: how many times the pages
+ * that did not match may be written again, and how many bad pages are worth
+ * repairing at all. When more pages are bad than the limit, something else is
+ * wrong and the whole image should be written again instead.
+ */
+public class RetryPolicy {
+	/** Never repair, a failed verification fails the upload */
+	public static final RetryPolicy NONE = new RetryPolicy(0, 0);
+
+	private final int maxRounds;
+	private final int maxPages;
+
+	/**
+	 * @param maxRounds Times the bad pages may be written and read back again
+	 * @param maxPages Most bad pages to repair, more fail the upload
+	 */
+	public RetryPolicy(int maxRounds, int maxPages) {
+		if (maxRounds < 0 || maxPages < 0) {
+			throw new IllegalArgumentException("Retry limits can not be negative");
+		}
+		this.maxRounds = maxRounds;
+		this.maxPages = maxPages;
+	}
+
+	/**
+	 * @return times the bad pages may be written and read back again
+	 */
+	public int getMaxRounds() {
+		return maxRounds;
+	}
+
+	/**
+	 * @return most bad pages to repair
+	 */
+	public int getMaxPages() {
+		return maxPages;
+	}
+
+	/**
+	 * @param mismatchedPages Pages that did not match
+	 * @param rounds Repair rounds done so far
+	 * @return true if another repair round is allowed
+	 */
+	boolean allowsRepair(int mismatchedPages, int rounds) {
+		return rounds < maxRounds && mismatchedPages <= maxPages;
+	}
+
+	@Override
+	public String toString() {
+		return "RetryPolicy(" + maxRounds + " rounds, " + maxPages + " pages)";
+	}
+}
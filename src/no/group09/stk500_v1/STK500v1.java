@@ -18,12 +18,16 @@ package no.group09.stk500_v1;
  *	You should have received a copy of the GNU Lesser General Public License
  *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
  */
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.concurrent.TimeoutException;
 
+import no.group09.transport.Transport;
+
 
 /**
  * The protocol class for STK500v1. The current implementation only works with
@@ -55,47 +59,144 @@ public class STK500v1 {
 	private boolean recoverySuccessful = false;
 
 	private boolean readWrittenPage = false;
+	/** Extended address byte last sent to the device, -1 if none sent yet */
+	private int extendedAddressByte = -1;
+	/** Commands allowed in flight while writing, 1 means stop-and-wait */
+	private int pipelineWindow = 1;
+	/** Tune the pipeline window while writing */
+	private boolean adaptiveWindow = false;
+	/** Largest window the tuner tries, 8 pages */
+	private static final int MAX_ADAPTIVE_WINDOW = 16;
+	/** What the bootloader does with the address after a page */
+	private BootloaderProfile bootloaderProfile = BootloaderProfile.OPTIBOOT;
+	/** Set for the session, from the profile or by asking the device */
+	private boolean readAutoIncrement;
+	private boolean writeAutoIncrement;
+	/** Outcome of the last verification, null if none was done */
+	private volatile VerifyResult verifyResult;
+	/** How pages that fail verification are written again */
+	private RetryPolicy retryPolicy = RetryPolicy.NONE;
+	/** Id of the device, keys the snapshot and the device profile, null if not known */
+	private volatile String deviceId;
+	/** Images last flashed onto each device, null to always write every page */
+	private SnapshotStore snapshotStore;
+	/** Profile of the device, found at the start of the session */
+	private volatile DeviceProfile deviceProfile;
+	/** Page size used when the device is not known */
+	private static final int DEFAULT_PAGE_SIZE = 128;
+	/** Read the device before writing, to write only pages that differ */
+	private boolean compareBeforeWrite = false;
+	/** Set for the session when the whole flash was erased, so blank pages are skipped */
+	private boolean flashErased;
+	/** Pages written and left alone by the last upload */
+	private volatile int pagesWritten;
+	private volatile int pagesSkipped;
+
+	/** Time between STK_GET_SYNC probes after a reset, in milliseconds */
+	private static final long PROBE_INTERVAL = 10;
+	/** Time without new bytes after which no more probes are answered */
+	private static final long PROBE_QUIET = 3 * PROBE_INTERVAL;
+	/** Longest time from a reset until the bootloader must answer */
+	private static final long BOOT_TIMEOUT = 1000;
+
+	/** Bytes read back at a time while verifying */
+	private static final int VERIFY_CHUNK_SIZE = 64;
+
+	/** STK_INSYNC and the answer byte, as read by checkInput */
+	private final byte[] answer = new byte[2];
 
 	private ArrayList<Long> statistics;
 	private boolean partialRecovery;
-	private int timeoutRecoveries;
+	private volatile int timeoutRecoveries;
+	/** Times {@link #recover()} ran in the session, and the time it took */
+	private volatile int recoveryAttempts;
+	private volatile long recoveryNanos;
 	private Thread readerThread;
+	/** Every command goes through here, to be sent in as few writes as possible */
+	private FrameWriter frames;
 
 	/**
 	 * Initialize the programmer communicating with the Optiboot bootloader. This does
 	 * not start the programming process, call the
 	 * {@link #programUsingOptiboot(boolean, int) programUsingOptiboot} method for that.
+	 * The hex file is parsed through the {@link FirmwareCache#getDefault() process
+	 * wide cache}, so flashing the same file again reuses the parsed image.
 	 * @param output OutputStream to use for communications
 	 * @param input InputStream for communications
 	 * @param log Logger interface implementation for logging
 	 * @param binary byte array in Intel hex format
 	 */
 	public STK500v1 (OutputStream output, InputStream input, Logger log, byte[] binary) {
+		this(output, input, log, FirmwareCache.getDefault().get(binary, log));
+	}
+
+	/**
+	 * Initialize the programmer with a .hex or .bin file, parsed through the
+	 * {@link FirmwareCache#getDefault() process wide cache}.
+	 * @param output OutputStream to use for communications
+	 * @param input InputStream for communications
+	 * @param log Logger interface implementation for logging
+	 * @param file the .hex or .bin file to program
+	 * @return the programmer, not yet started
+	 * @throws IOException if the file could not be read
+	 */
+	public static STK500v1 fromFile(OutputStream output, InputStream input, Logger log,
+			File file) throws IOException {
+		return new STK500v1(output, input, log, FirmwareCache.getDefault().get(file, log));
+	}
+
+	/**
+	 * Initialize the programmer with an already parsed hex file, for example one
+	 * read with {@link Hex#fromStream(InputStream, Logger) Hex.fromStream}. This does
+	 * not start the programming process, call the
+	 * {@link #programUsingOptiboot(boolean, int) programUsingOptiboot} method for that.
+	 * @param output OutputStream to use for communications
+	 * @param input InputStream for communications
+	 * @param log Logger interface implementation for logging
+	 * @param hex the parsed hex file to program
+	 */
+	public STK500v1 (OutputStream output, InputStream input, Logger log, Hex hex) {
 		state = ProtocolState.INITIALIZING;
-		this.hexParser = new Hex(binary, log);
+		this.hexParser = hex;
 
 		this.output = output;
 		this.input = input;
 		this.logger = log;
+		this.frames = new FrameWriter(output);
 		logger.logcat("STKv1 constructor: Initializing protocol code", "v");
 
 		statistics = new ArrayList<Long>();
 	}
 
+	/**
+	 * Initialize the programmer on a {@link Transport}, like a TCP link to a serial
+	 * gateway or a loopback to a simulated device. Commands go out through the
+	 * transport's stream, one write per batch of frames.
+	 * @param transport Link to the bootloader
+	 * @param log Logger interface implementation for logging
+	 * @param hex the parsed hex file to program
+	 */
+	public STK500v1 (Transport transport, Logger log, Hex hex) {
+		this(transport.getOutputStream(), transport.getInputStream(), log, hex);
+		logger.logcat("STKv1 constructor: Transport mtu " + transport.getMtu() +
+				", latency " + transport.getLatencyNanos() / 1000 + " us", "v");
+	}
+
 	/**
 	 * Prepares the wrapper class ({@link Reader})
 	 */
 	private void initializeWrapper() {
+		Reader previous = (Reader) reader;
 		reader = new Reader(input, logger);
+		if (previous != null) {
+			//the last session's reader may still be blocked on the stream
+			((Reader) reader).takeInputFrom(previous);
+		}
 		readerThread = new Thread((Runnable) reader);
 		readerThread.start();
 
 		reader.start();
-		while(reader.getState() != EReaderState.WAITING) {
-			try {
-				Thread.sleep(2);
-			} catch (InterruptedException e) {}
-		}
+		reader.awaitState(EReaderState.WAITING, 0);
 		waitForReaderStateActivated();
 
 		logger.logcat("STKv1 constructor: ReadWrapper should be started now", "v");
@@ -121,13 +222,15 @@ public class STK500v1 {
 	 */
 	private void recover() {
 		logger.logcat("Recover: Attempting timeout recovery", "i");
+		long started = System.nanoTime();
+		recoveryAttempts++;
 		timeoutOccurred = true;
 		recoverySuccessful = false;
 		for (int i = 0; i < 5; i++) { 
 			partialRecovery = false;
 			if (spamSync()) {
 				partialRecovery = true;
-				while (reader.getState() != EReaderState.WAITING) {}
+				reader.awaitState(EReaderState.WAITING, 0);
 				waitForReaderStateActivated();
 				//ignore bytes received from spamming (or even older ones)
 				reader.forget();
@@ -151,6 +254,7 @@ public class STK500v1 {
 				break;
 			}
 		}
+		recoveryNanos += System.nanoTime() - started;
 	}
 
 	private void restartReader() {
@@ -161,11 +265,7 @@ public class STK500v1 {
 			if (!stopScheduled) {
 				stopScheduled = reader.stop();
 			}
-			try {
-				Thread.sleep(10);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+			reader.awaitState(EReaderState.STOPPED, 10);
 		}
 
 		waitForReaderStateActivated();
@@ -174,11 +274,7 @@ public class STK500v1 {
 			if (!startScheduled) {
 				startScheduled = reader.start(); 
 			}
-			try {
-				Thread.sleep(1);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+			reader.awaitState(EReaderState.WAITING, 10);
 		}
 		waitForReaderStateActivated();
 	}
@@ -210,7 +306,7 @@ public class STK500v1 {
 						reader.getState(), "i");
 			}
 			try {
-				output.write(command);
+				frames.send(command);
 			} catch (IOException e) {
 				logger.logcat("Unable to send sync: " + e.getMessage(), "i");
 				return false;
@@ -242,6 +338,219 @@ public class STK500v1 {
 		
 	}
 	
+	/**
+	 * Set how many commands may be sent before their answers arrive while writing.
+	 * Each page takes two commands, load address and program page, so a window
+	 * of 8 keeps 4 pages in flight. Larger windows hide the round trip time of
+	 * links like Bluetooth, but the bootloader has to buffer the extra bytes
+	 * while it writes a page. The default, 1, waits for every answer, and works
+	 * with any bootloader. A window of 2 still writes one page at a time, but
+	 * sends its load address and program page frames in one packet; the
+	 * bootloader answers load address right away, so this is safe too.
+	 * @param commands Commands in flight, at least 1
+	 */
+	public void setPipelineWindow(int commands) {
+		if (commands < 1) {
+			throw new IllegalArgumentException("Pipeline window must be at least 1");
+		}
+		pipelineWindow = commands;
+	}
+
+	/**
+	 * Tell the programmer which bootloader it talks to. When the bootloader
+	 * moves the address on after a page, contiguous pages are read or written
+	 * after a single load address. The default is
+	 * {@link BootloaderProfile#OPTIBOOT OPTIBOOT}. With
+	 * {@link BootloaderProfile#UNKNOWN UNKNOWN} the device is asked at the start
+	 * of every session.
+	 * @param profile The bootloader
+	 */
+	public void setBootloaderProfile(BootloaderProfile profile) {
+		if (profile == null) {
+			throw new IllegalArgumentException("Bootloader profile can not be null");
+		}
+		bootloaderProfile = profile;
+	}
+
+	/**
+	 * Set how pages that fail verification are repaired. With a policy other
+	 * than {@link RetryPolicy#NONE NONE}, verification reads back every page and
+	 * then writes and reads back only the pages that did not match, instead of
+	 * failing the whole upload. The default is NONE.
+	 * @param policy Limits for the repair
+	 */
+	public void setRetryPolicy(RetryPolicy policy) {
+		if (policy == null) {
+			throw new IllegalArgumentException("Retry policy can not be null");
+		}
+		retryPolicy = policy;
+	}
+
+	/**
+	 * Upload only what changed since the last upload to this device. The image
+	 * last flashed onto the device is taken from the store, only pages that
+	 * differ from it are written, and the chip is not erased first; Optiboot
+	 * erases each page as it writes it. After a successful upload the store
+	 * gets the new image, after a failed one it forgets the device, so the next
+	 * upload writes every page again.
+	 * 
+	 * The store can not know if the device was flashed some other way in the
+	 * meantime, so differential uploads should be verified. Snapshots are kept
+	 * by the id set with {@link #setDeviceId(String)}, and not used without one.
+	 * @param store Snapshots to use, null to always write every page
+	 */
+	public void setSnapshotStore(SnapshotStore store) {
+		this.snapshotStore = store;
+	}
+
+	/**
+	 * Tell the programmer which device it talks to, so what is learned about the
+	 * device is kept for the next session: the image flashed onto it, see
+	 * {@link #setSnapshotStore(SnapshotStore)}, and its {@link DeviceProfile}.
+	 * @param deviceId Id of the device, like its Bluetooth address, or null
+	 */
+	public void setDeviceId(String deviceId) {
+		this.deviceId = deviceId;
+	}
+
+	/**
+	 * @return Id of the device, or null if not set
+	 */
+	public String getDeviceId() {
+		return deviceId;
+	}
+
+	/**
+	 * @return Profile of the device found by the last upload, or null if the
+	 * device was not recognised
+	 */
+	public DeviceProfile getDeviceProfile() {
+		return deviceProfile;
+	}
+
+	/**
+	 * Read every page back before writing, and write only the pages that differ
+	 * from the image. Reading a page is much faster than erasing and writing it,
+	 * so this pays off when most of the device already holds the image, even
+	 * without a snapshot of it. When more than half of the pages differ, the
+	 * comparison stops and the whole image is written as usual. A snapshot, when
+	 * there is one, is used instead of reading the device.
+	 * @param compare True to compare before writing
+	 * @see #setSnapshotStore(SnapshotStore)
+	 */
+	public void setCompareBeforeWrite(boolean compare) {
+		compareBeforeWrite = compare;
+	}
+
+	/**
+	 * @return True if the device is read before writing
+	 */
+	public boolean isCompareBeforeWrite() {
+		return compareBeforeWrite;
+	}
+
+	/**
+	 * @return Pages written by the last upload, repairs not counted
+	 */
+	public int getPagesWritten() {
+		return pagesWritten;
+	}
+
+	/**
+	 * @return Pages the last upload did not write, because the device already
+	 * had them
+	 * @see #setSnapshotStore(SnapshotStore)
+	 */
+	public int getPagesSkipped() {
+		return pagesSkipped;
+	}
+
+	/**
+	 * @return How pages that fail verification are repaired
+	 */
+	public RetryPolicy getRetryPolicy() {
+		return retryPolicy;
+	}
+
+	/**
+	 * @return The bootloader the programmer expects
+	 */
+	public BootloaderProfile getBootloaderProfile() {
+		return bootloaderProfile;
+	}
+
+	/**
+	 * @return Commands allowed in flight while writing. With an adaptive window,
+	 * the window the last upload ended with.
+	 * @see #setPipelineWindow(int)
+	 */
+	public int getPipelineWindow() {
+		return pipelineWindow;
+	}
+
+	/**
+	 * Let the programmer pick the pipeline window while writing. Every page is
+	 * sent as one chunk of the page size given to
+	 * {@link #programUsingOptiboot(boolean, int) programUsingOptiboot}, as the
+	 * bootloader programs exactly one flash page per command; what adapts is how
+	 * many pages are in flight. Starting from
+	 * {@link #setPipelineWindow(int) the pipeline window}, the window grows a page
+	 * at a time as long as the measured throughput rises, and is halved when
+	 * pages are not acknowledged. The window an upload ends with is kept, see
+	 * {@link #getPipelineWindow()}, and the next upload starts from it.
+	 * @param adaptive True to tune the window
+	 */
+	public void setAdaptiveWindow(boolean adaptive) {
+		adaptiveWindow = adaptive;
+	}
+
+	/**
+	 * @return True if the pipeline window is tuned while writing
+	 */
+	public boolean isAdaptiveWindow() {
+		return adaptiveWindow;
+	}
+
+	/**
+	 * Get the outcome of verifying the last written image: the pages that did not
+	 * match and their addresses.
+	 * @return the result, or null if nothing has been verified
+	 */
+	public VerifyResult getVerifyResult() {
+		return verifyResult;
+	}
+
+	/**
+	 * Get the number of writes to the OutputStream so far. Commands sent
+	 * together count as one, as they are written together.
+	 * @return number of packets written
+	 */
+	public long getPacketsWritten() {
+		return frames.getPacketCount();
+	}
+
+	/**
+	 * @return number of timeouts the last session recovered from
+	 */
+	public int getTimeoutRecoveries() {
+		return timeoutRecoveries;
+	}
+
+	/**
+	 * @return number of times the last session tried to recover from a timeout,
+	 * successfully or not
+	 */
+	public int getRecoveryAttempts() {
+		return recoveryAttempts;
+	}
+
+	/**
+	 * @return time the last session spent recovering from timeouts, in nanoseconds
+	 */
+	public long getRecoveryNanos() {
+		return recoveryNanos;
+	}
+
 	/**
 	 * Return progress of programming as integer, 0 - 100.
 	 * If verification is enabled, writing goes from 0-50 and reading continues to 100.
@@ -280,14 +589,29 @@ public class STK500v1 {
 		logger.logcat("writingStats: Average of " + size + ": " + average, "i");
 	}
 
+	/**
+	 * Start the programming process, writing a flash page at a time. The page
+	 * size is found from the signature of the device, see {@link DeviceRegistry}.
+	 * 
+	 * @param checkWrittenData Verify data after the write process. Recommended
+	 * value is true, but to speed things up this can be skipped.
+	 * 
+	 * @return True if the arduino was programmed.
+	 * @see #programUsingOptiboot(boolean, int)
+	 */
+	public boolean programUsingOptiboot(boolean checkWrittenData) {
+		return programUsingOptiboot(checkWrittenData, 0);
+	}
+
 	/**
 	 * Start the programming process. This includes initializing communication
 	 * with the bootloader.
 	 * 
 	 * @param checkWrittenData Verify data after the write process. Recommended
 	 * value is true, but to speed things up this can be skipped.
-	 * @param numberOfBytes Number of bytes to write and read at once.
-	 * Recommended value is 128.
+	 * @param numberOfBytes Number of bytes to write and read at once, 0 to use
+	 * the page size of the device. Recommended value is 128. When the device is
+	 * recognised from its signature, its page size is used anyway.
 	 * 
 	 * @return True if the arduino was programmed. If returning false it is
 	 * recommended to run this again or verify written data by using readWrittenBytes 
@@ -298,6 +622,9 @@ public class STK500v1 {
 		partialRecovery = false;
 		recoverySuccessful = false;
 		timeoutRecoveries = 0;
+		recoveryAttempts = 0;
+		recoveryNanos = 0;
+		extendedAddressByte = -1;
 		state = ProtocolState.CONNECTING;
 		long startTime;
 		long endTime;
@@ -326,10 +653,37 @@ public class STK500v1 {
 
 				// Check hex file
 				if(hexParser.getChecksumStatus()) {
+					// Find the device, for its page size and room for the image
+					deviceProfile = identifyDevice();
+					if (timeoutOccurred && !recoverySuccessful) {
+						state = ProtocolState.ERROR_CONNECT;
+						shutdownReaderCompletely();
+						return false;
+					} else if (timeoutOccurred) {
+						timeoutOccurred = false;
+					}
+					int pageSize = choosePageSize(deviceProfile, numberOfBytes);
+
+					if (deviceProfile != null && !deviceProfile.fits(hexParser)) {
+						state = ProtocolState.ERROR_IMAGE_SIZE;
+						logger.logcat("programUsingOptiboot: Image does not fit below " +
+								"the bootloader of the " + deviceProfile.getName() +
+								", " + deviceProfile.getApplicationSize() + " bytes! " +
+								"Cancelling...", "w");
+						shutdownReaderCompletely();
+						return false;
+					}
+
 					logger.logcat("programUsingOptiboot: Starting to write and read.", "v");
 
-					// Erase chip before starting to program
-					if(!chipEraseUniversal()) {
+					detectAutoIncrement();
+
+					// Pages the device does not hold yet, null for all
+					int[] changedPages = findChangedPages(pageSize);
+
+					// Erase chip before starting to program, unless the
+					// pages that did not change are kept
+					if(changedPages == null && !chipEraseUniversal()) {
 						if (timeoutOccurred && !recoverySuccessful){
 							state = ProtocolState.ERROR_WRITE;
 							shutdownReaderCompletely();
@@ -340,15 +694,19 @@ public class STK500v1 {
 						logger.logcat("uploadFile: Chip not erased!", "w");
 						break;
 					}
+					flashErased = changedPages == null &&
+							bootloaderProfile.isChipErase();
 
 					//Upload and verify uploaded bytes.
 					statistics = new ArrayList<Long>();
-					if (writeAndReadFile(checkWrittenData, numberOfBytes)){
+					if (writeAndReadFile(checkWrittenData, pageSize, changedPages)){
 						logger.logcat("programUsingOptiboot: program successful", "d");
 					} else {
 						//Write and collect statistics from writing
 						writingStats();
-						state = ProtocolState.ERROR_WRITE;
+						if (state != ProtocolState.ERROR_READ) {
+							state = ProtocolState.ERROR_WRITE;
+						}
 						if (timeoutOccurred && !recoverySuccessful){
 							//TODO Should trigger hard reset and new attempt
 							logger.logcat("ProgramUsingOptiboot: Lost communication " +
@@ -376,12 +734,15 @@ public class STK500v1 {
 					if(leaveProgramMode()) {
 						logger.logcat("programUsingOptiboot: The arduino has now " +
 								"left programming mode.", "i");
-						if (state != ProtocolState.ERROR_READ &&
-								state != ProtocolState.ERROR_WRITE) {
+						// A failed write or verify is no success, even if the
+						// bootloader was left cleanly
+						boolean programmed = state != ProtocolState.ERROR_READ &&
+								state != ProtocolState.ERROR_WRITE;
+						if (programmed) {
 							state = ProtocolState.FINISHED;
 						}
 						shutdownReaderCompletely();
-						return true;
+						return programmed;
 					}
 					else {
 						if (timeoutOccurred && !recoverySuccessful) {
@@ -442,6 +803,7 @@ public class STK500v1 {
 			else if (!stopScheduled){
 				stopScheduled = reader.stop();
 			}
+			reader.awaitState(EReaderState.STOPPED, 10);
 		}
 		waitForReaderStateActivated(timeout/2);
 		((Reader)reader).requestCompleteStop();
@@ -458,22 +820,17 @@ public class STK500v1 {
 				restartReader();
 			}
 			waitForReaderStateActivated();
+			// Anything the sketch sent is not an answer
+			reader.forget();
 			if(!softReset()) {
 				logger.logcat("programUsingOptiboot: Arduino didn't restart!", "w");
 				state = ProtocolState.ERROR_CONNECT;
 				return false;
 			}
+			long resetTime = System.currentTimeMillis();
 
 			logger.logcat("programUsingOptiboot: Waiting for the arduino to restart", "i");
-			// Wait for the arduino to start up
-			try {
-				Thread.sleep(150);
-			} catch (InterruptedException e) {
-			}
-
-			logger.logcat("programUsingOptiboot: Attempting synchronization", "i");
-			//get sync and set parameters
-			connect = getSynchronization();
+			connect = probeSync(resetTime);
 			if (connect) {
 				return true;
 			}
@@ -485,6 +842,84 @@ public class STK500v1 {
 		return false;
 	}
 
+	/**
+	 * Send STK_GET_SYNC every few milliseconds after a reset until the bootloader
+	 * answers. Probing starts a little before the time the device took to boot
+	 * last time, see {@link BootLatencyCache}. Once bytes come back, probing stops
+	 * and the answers to probes still on their way are awaited. The sync holds
+	 * when the last of them is STK_INSYNC STK_OK.
+	 * @param resetTime When the reset was sent
+	 * @return True if in sync with the bootloader
+	 */
+	private boolean probeSync(long resetTime) {
+		BootLatencyCache cache = BootLatencyCache.getDefault();
+		String id = deviceId;
+		long learned = cache.get(id);
+		long firstProbe = resetTime;
+		if (learned > 0) {
+			firstProbe += learned - Math.max(2 * PROBE_INTERVAL, learned / 4);
+			logger.logcat("probeSync: Booted in " + learned + " ms last time", "i");
+		}
+		sleepUntil(firstProbe);
+
+		byte[] probe = {ConstantsStk500v1.STK_GET_SYNC, ConstantsStk500v1.CRC_EOP};
+		long deadline = resetTime + BOOT_TIMEOUT;
+		while (System.currentTimeMillis() < deadline) {
+			try {
+				frames.send(probe);
+			} catch (IOException e) {
+				logger.logcat("probeSync: Unable to send sync: " + e.getMessage(), "w");
+				return false;
+			}
+			int received = reader.awaitAvailable(2,
+					System.currentTimeMillis() + PROBE_INTERVAL);
+			if (received < 2) {
+				continue;
+			}
+
+			long bootLatency = System.currentTimeMillis() - resetTime;
+			// Wait until the answers to earlier probes stop coming
+			int seen;
+			do {
+				seen = received;
+				received = reader.awaitAvailable(seen + 1,
+						System.currentTimeMillis() + PROBE_QUIET);
+			} while (received > seen);
+
+			byte[] answers = new byte[seen];
+			try {
+				if (read(answers, TimeoutValues.CONNECT) == answers.length &&
+						answers[seen - 2] == ConstantsStk500v1.STK_INSYNC &&
+						answers[seen - 1] == ConstantsStk500v1.STK_OK) {
+					cache.record(id, bootLatency);
+					logger.logcat("probeSync: Bootloader answered " + bootLatency +
+							" ms after the reset", "i");
+					return true;
+				}
+			} catch (TimeoutException e) {
+				logger.logcat("probeSync: Timeout reading answers", "w");
+				return false;
+			} catch (IOException e) {
+				logger.logcat("probeSync: Unable to read answers: " + e.getMessage(), "w");
+				return false;
+			}
+			logger.logcat("probeSync: Not an answer: " + Hex.bytesToHex(answers), "d");
+		}
+		logger.logcat("probeSync: No answer from the bootloader", "w");
+		return false;
+	}
+
+	private static void sleepUntil(long time) {
+		long left;
+		while ((left = time - System.currentTimeMillis()) > 0) {
+			try {
+				Thread.sleep(left);
+			} catch (InterruptedException e) {
+				return;
+			}
+		}
+	}
+
 	/**
 	 * Reset arduino. This requires the ComputerSerial library on the arduino.
 	 * It will fail if extensive corruption occurs during programming, and will require a
@@ -504,9 +939,7 @@ public class STK500v1 {
 
 		// Restart arduino by sending reset command to arduino
 		try {
-			for (int i = 0; i < write.length; i++) {
-				output.write(write[i]);
-			}
+			frames.send(write);
 		} catch (IOException e) {
 			logger.logcat("softReset: Could not write to arduino.", "w");
 			return false;
@@ -596,7 +1029,7 @@ public class STK500v1 {
 			byte[] out = new byte[] {
 					ConstantsStk500v1.STK_GET_SIGN_ON, ConstantsStk500v1.CRC_EOP
 			};
-			output.write(out);
+			frames.send(out);
 			logger.logcat("checkIfStarterKitPresent: Sending bytes to get " +
 					"starter kit: " + Hex.bytesToHex(out), "d");
 		} catch (IOException e) {
@@ -662,7 +1095,7 @@ public class STK500v1 {
 		byte[] getSyncCommand = {ConstantsStk500v1.STK_GET_SYNC, ConstantsStk500v1.CRC_EOP};
 
 		try {
-			output.write(getSyncCommand);
+			frames.send(getSyncCommand);
 		} catch (IOException e) {
 			logger.logcat("getSynchronization: Unable to write output in " +
 					"getSynchronization", "i");
@@ -703,7 +1136,7 @@ public class STK500v1 {
 		logger.logcat("enterProgramMode: Sending bytes to enter programming mode: "
 				+ Hex.bytesToHex(command), "d");
 		try {
-			output.write(command);
+			frames.send(command);
 		} catch (IOException e) {
 			logger.logcat("enterProgramMode: Communication problem on sending" +
 					"request to enter programming mode", "i");
@@ -730,7 +1163,7 @@ public class STK500v1 {
 		};
 
 		try {
-			output.write(command);
+			frames.send(command);
 		} catch (IOException e) {
 			logger.logcat("leaveProgramMode: Communication problem on leaving" +
 					"programming mode", "i");
@@ -758,7 +1191,7 @@ public class STK500v1 {
 		logger.logcat("chipErase: Sending bytes to erase chip: " + Hex.bytesToHex(command), "d");
 
 		try {
-			output.write(command);
+			frames.send(command);
 			logger.logcat("chipErase: Chip erased!", "d");
 		} catch (IOException e) {
 			logger.logcat("chipErase: Communication problem on chip erase.", "v");
@@ -791,75 +1224,83 @@ public class STK500v1 {
 
 		//Try to write
 		try {
-			output.write(command);
+			frames.send(command);
 		} catch (IOException e) {
 			logger.logcat("chipEraseUniversal: Communication problem on chip erase.", "v");
 			return false;
 		}
 
-		//read start command + n data bytes + end command
+		//read start command + 1 data byte + end command
 		byte[] in = new byte[3];
-		int numberOfBytes;
 
 		logger.logcat("chipEraseUniversal: Waiting for " + in.length + " bytes.", "d");
 
 		//Read data
 		try {
-			for (int i = 0; i < 3; i++) {
-				numberOfBytes = read(TimeoutValues.READ);
-
-				in[i] = (byte)numberOfBytes;
-
-				switch (i) {
-				case 0:
-					if(numberOfBytes != ConstantsStk500v1.STK_INSYNC) {
-						logger.logcat("chipEraseUniversal: STK_INSYNC failed on first byte, " +
-								Hex.oneByteToHex(in[i]), "w");
-						return false;
-					}
-				case 1:
-					continue;
-				case 2:
-					if(numberOfBytes == ConstantsStk500v1.STK_OK) {
-						logger.logcat("readPage: STK_OK, " +
-								Hex.oneByteToHex(in[i]), "w");
-					}
-					return true;
-				default:
-					return false;
-				}
+			if (read(in, TimeoutValues.READ) != in.length) {
+				logger.logcat("chipEraseUniversal: Something went wrong...", "w");
+				return false;
 			}
-			//Something went wrong
-			logger.logcat("readPage: Something went wrong...", "w");
-			return false;
 		} catch (TimeoutException e) {
-			logger.logcat("readPage: Unable to read", "w");
+			logger.logcat("chipEraseUniversal: Unable to read", "w");
 			return false;
 		} catch (IOException e) {
-			logger.logcat("readPage: Problem reading! " + e.getMessage(), "e");
+			logger.logcat("chipEraseUniversal: Problem reading! " + e.getMessage(), "e");
 			return false;
 		}
+
+		if(in[0] != ConstantsStk500v1.STK_INSYNC) {
+			logger.logcat("chipEraseUniversal: STK_INSYNC failed on first byte, " +
+					Hex.oneByteToHex(in[0]), "w");
+			return false;
+		}
+		if(in[2] == ConstantsStk500v1.STK_OK) {
+			logger.logcat("chipEraseUniversal: STK_OK, " +
+					Hex.oneByteToHex(in[2]), "w");
+		}
+		return true;
+	}
+
+	/**
+	 * Decide for this session whether reading and writing pages move the address
+	 * on, from the {@link BootloaderProfile bootloader profile}, or by asking
+	 * the device if the profile is unknown. A device that does not answer is
+	 * assumed not to auto-increment, so every page gets its own load address.
+	 */
+	private void detectAutoIncrement() {
+		if (bootloaderProfile.isKnown()) {
+			readAutoIncrement = bootloaderProfile.isReadAutoIncrement();
+			writeAutoIncrement = bootloaderProfile.isWriteAutoIncrement();
+		}
+		else {
+			boolean autoIncrement = checkForAddressAutoincrement();
+			if (!autoIncrement && timeoutOccurred) {
+				timeoutOccurred = false;
+			}
+			readAutoIncrement = autoIncrement;
+			writeAutoIncrement = autoIncrement;
+		}
+		logger.logcat("detectAutoIncrement: " + bootloaderProfile + ", read: " +
+				readAutoIncrement + ", write: " + writeAutoIncrement, "i");
 	}
 
 	/**
 	 * Check if the write/read address is automatically incremented while using 
 	 * the Cmnd_STK_PROG/READ_FLASH/EEPROM commands. Since STK500 always 
 	 * auto-increments the address, this command will always be successful.
+	 * Optiboot answers OK as well, without auto-incrementing on writes, so this
+	 * is only asked with an {@link BootloaderProfile#UNKNOWN UNKNOWN} profile.
 	 * 
 	 * @return true if response is STK_INSYNC and STK_OK, false if not.
 	 */
-	@SuppressWarnings("unused")
 	private boolean checkForAddressAutoincrement() {
-
-		//TODO: Add call to this method for non-Optiboot devices
-
 		byte[] command = new byte[2];
 
 		command[0] = ConstantsStk500v1.STK_CHECK_AUTOINC;
 		command[1] = ConstantsStk500v1.CRC_EOP;
 
 		try {
-			output.write(command);
+			frames.send(command);
 		} catch (IOException e) {
 			logger.logcat("checkForAddressAutoincrement: Unable to write output " +
 					"in checkForAddressAutoincrement", "i");
@@ -871,31 +1312,28 @@ public class STK500v1 {
 	}
 
 	/**
-	 * Load 16-bit address down to starterkit. This command is used to set the 
-	 * address for the next read or write operation to FLASH or EEPROM. Must 
-	 * always be used prior to Cmnd_STK_PROG_PAGE or Cmnd_STK_READ_PAGE.
+	 * Load the address of a page in a {@link FlashPlan} down to the starterkit.
+	 * This sets the address for the next STK_PROG_PAGE or STK_READ_PAGE, and the
+	 * frame comes ready from the plan. Addresses above 128 KB also need the
+	 * extended address byte, which is sent through
+	 * {@link #loadExtendedAddress(int) loadExtendedAddress} when it changes.
 	 * 
-	 * @param address the address that is to be written as an integer
+	 * @param plan the plan being programmed
+	 * @param page index of the page in the plan
 	 * 
 	 * @return true if it is OK to write the address, false if not.
 	 */
-	private boolean loadAddress(int address) {
-		//Split integer address into two bytes address 
-		byte[] tempAddr = packTwoBytes(address / 2);
-
-		byte[] loadAddr = new byte[4];
-
-		loadAddr[0] = ConstantsStk500v1.STK_LOAD_ADDRESS;
-		loadAddr[1] = tempAddr[1];
-		loadAddr[2] = tempAddr[0];
-		loadAddr[3] = ConstantsStk500v1.CRC_EOP;
-
-		logger.logcat("loadAddress: Sending bytes to load address: " + 
-				Hex.bytesToHex(loadAddr), "d");
+	private boolean loadAddress(FlashPlan plan, int page) {
+		int address = plan.getPageAddress(page);
+		if (!checkExtendedAddress(address)) {
+			return false;
+		}
+		
 		logger.logcat("loadAddress: Memory address to load: " + address +
 				" (" + (address/2) + ")", "d");
 		try {
-			output.write(loadAddr);
+			plan.writeLoadAddress(frames, page);
+			frames.flush();
 		} catch (IOException e) {
 			logger.logcat("loadAddress: Unable to write output in loadAddress", "w");
 			e.printStackTrace();
@@ -914,20 +1352,79 @@ public class STK500v1 {
 	}
 
 	/**
-	 * Takes an integer, splits it into bytes, and puts it in an byte array
+	 * Send the extended address byte if the given address needs another one than
+	 * the device has loaded.
+	 * 
+	 * @param address byte address about to be loaded
 	 * 
-	 * @param integer the integer that is to be split
-	 * @return an array with the integer as bytes, with the most significant first
+	 * @return false if the extended address had to be sent and failed.
+	 */
+	private boolean checkExtendedAddress(int address) {
+		if (needsExtendedAddress(address)) {
+			return loadExtendedAddress((address >> 17) & 0xFF);
+		}
+		return true;
+	}
+
+	/**
+	 * @param address byte address about to be loaded
+	 * @return true if the extended address byte has to be sent first
 	 */
-	private byte[] packTwoBytes(int integer) {
-		byte[] bytes = new byte[2];
-		//store the 8 least significant bits
-		bytes[1] = (byte) (integer & 0xFF);
-		//store the next 8 bits
-		bytes[0] = (byte) ((integer >> 8) & 0xFF);
-		return bytes;
+	private boolean needsExtendedAddress(int address) {
+		int extended = (address >> 17) & 0xFF;
+		return extended != extendedAddressByte && (extended != 0 || extendedAddressByte > 0);
 	}
 
+	/**
+	 * Load the extended address byte (bits 17-24 of the byte address) used by
+	 * devices with more than 128 KB flash, like the ATmega2560. Sent as the
+	 * Load Extended Address universal command, which Optiboot handles on such
+	 * devices.
+	 * 
+	 * @param extended the extended address byte
+	 * 
+	 * @return true if the device accepted the address, false if not.
+	 */
+	private boolean loadExtendedAddress(int extended) {
+		byte[] command = new byte[6];
+		
+		command[0] = ConstantsStk500v1.STK_UNIVERSAL;
+		command[1] = (byte)0x4D;
+		command[2] = (byte)0;
+		command[3] = (byte)extended;
+		command[4] = (byte)0;
+		command[5] = ConstantsStk500v1.CRC_EOP;
+		
+		logger.logcat("loadExtendedAddress: Sending bytes to load extended address: " +
+				Hex.bytesToHex(command), "d");
+		try {
+			frames.send(command);
+		} catch (IOException e) {
+			logger.logcat("loadExtendedAddress: Unable to write output", "w");
+			return false;
+		}
+		
+		//Universal commands answer with one byte between INSYNC and OK
+		try {
+			if (read(TimeoutValues.READ) == ConstantsStk500v1.STK_INSYNC) {
+				read(TimeoutValues.READ);
+				if (read(TimeoutValues.READ) == ConstantsStk500v1.STK_OK) {
+					extendedAddressByte = extended;
+					return true;
+				}
+			}
+		} catch (TimeoutException e) {
+			logger.logcat("loadExtendedAddress: Timeout!", "w");
+			recover();
+			return false;
+		} catch (IOException e) {
+			logger.logcat("loadExtendedAddress: Can't read! " + e.getMessage(), "w");
+			return false;
+		}
+		logger.logcat("loadExtendedAddress: failed to load extended address.", "w");
+		return false;
+	}
+	
 	/**
 	 * Method used to program one byte in EEPROM memory
 	 * 
@@ -946,7 +1443,7 @@ public class STK500v1 {
 		programCommand[2] = ConstantsStk500v1.CRC_EOP;
 
 		try {
-			output.write(programCommand);
+			frames.send(programCommand);
 		} catch (IOException e) {
 			logger.logcat("programDataMemory: Could not write output in " +
 					"programDataMemory", "i");
@@ -959,55 +1456,24 @@ public class STK500v1 {
 
 
 	/**
-	 * Download a block of data to the starterkit and program it in FLASH or 
-	 * EEPROM of the current device. The data block size should not be larger 
-	 * than 256 bytes. bytes_high and bytes_low
-	 * are part of an integer that describes the address to be written/read
+	 * Download a block of data to the starterkit and program it in FLASH of the
+	 * current device. The STK_PROG_PAGE frame comes ready from the plan, so
+	 * nothing is built or copied here. Writing to EEPROM is not supported by
+	 * optiboot, and so not by the plan either.
 	 * 
-	 * @param writeFlash boolean indicating if it should be written to flash
-	 * memory or EEPROM. True = flash. False = EEPROM. Writing to EEPROM is not
-	 * supported by optiboot
-	 * @param data byte array of data
+	 * @param plan the plan being programmed
+	 * @param page index of the page in the plan. Its address must be loaded first.
 	 * 
 	 * @return true if response is STK_INSYNC and STK_OK, false if not.
 	 */
-	private boolean programPage(boolean writeFlash, byte[] data) {
-		byte[] programPage = new byte[5+data.length];
-		byte memtype;
-
-		programPage[0] = ConstantsStk500v1.STK_PROG_PAGE;
-
-		programPage[1] = (byte) ((data.length >> 8) & 0xFF);
-		programPage[2] = (byte) (data.length & 0xFF);
-
-		// Write flash
-		if (writeFlash) {
-			memtype = (byte)'F';
-		}
-		// Write EEPROM
-		else {
-			// This is not implemented in optiboot
-			throw new IllegalArgumentException("Does not support writing to EEPROM.");
-			
-//			memtype = (byte)'E';
-		}
-		programPage[3] = memtype;
-
-		//Put all the data together with the rest of the command
-		for (int i = 0; i < data.length; i++) {
-			programPage[i+4] = data[i];
-		}
-
-		programPage[data.length+4] = ConstantsStk500v1.CRC_EOP;
-
-		logger.logcat("programPage: Length of data to program: " + data.length, "v");
-		logger.logcat("programPage: Writing bytes: " + Hex.bytesToHex(programPage), "d");
-		logger.logcat("programPage: Data array: " + Hex.bytesToHex(data), "v");
-		logger.logcat("programPage: programPage array, length: " + programPage.length, "v");
+	private boolean programPage(FlashPlan plan, int page) {
+		logger.logcat("programPage: Length of data to program: " +
+				plan.getPageLength(page), "v");
 
 		// Send bytes
 		try {
-			output.write(programPage);
+			plan.writeProgramPage(frames, page);
+			frames.flush();
 		} catch (IOException e) {
 			logger.logcat("programPage: Could not write output in programDataMemory", "i");
 			e.printStackTrace();
@@ -1023,136 +1489,81 @@ public class STK500v1 {
 
 
 	/**
-	 * Read a block of data from FLASH or EEPROM of the current device. The data
-	 * block size should not be larger than 256 bytes. bytes_high and bytes_low
-	 * are part of an integer that describes the address to be written/read.
-	 * Remember to use {@link #loadAddress(int) loadAddress} every time before you start
-	 * reading. STK500v1 supports {@link #checkForAddressAutoincrement() auto increment},
-	 * but we do not recommend relying on this.
+	 * Read a page of a {@link FlashPlan} back from FLASH and compare it with the
+	 * image while it arrives. The page is read a chunk at a time into a buffer
+	 * owned by the caller, so no readback is kept. The address of the page must
+	 * be loaded first.
 	 * 
-	 * @param address integer
-	 * @param writeFlash boolean indicating if it should be written to flash memory
-	 * or EEPROM. True = flash. False = EEPROM 
+	 * @param plan the plan being verified
+	 * @param page index of the page in the plan
+	 * @param chunk buffer for the bytes being compared, reused for every page
+	 * @param offsets gets the offsets of differing bytes, as long as the page
 	 * 
-	 * @return an byte array with the response from the selected device on the format
-	 * [Resp_STK_INSYNC, data, Resp_STK_OK] or 
-	 * [Resp_STK_NOSYNC] (If no Sync_CRC_EOP received). If the response does not
-	 * match any of the above, something went wrong and the method returns null.
+	 * @return the number of differing bytes, or -1 if the response was wrong.
 	 * The caller should then retry.
 	 */
-	private byte[] readPage(int address, boolean writeFlash) {
-		byte[] addr = packTwoBytes(address);
-		return readPage(addr[0], addr[1], writeFlash);
-	}
-
-	/**
-	 * Read a block of data from FLASH or EEPROM of the current device. The data
-	 * block size should not be larger than 256 bytes. bytes_high and bytes_low
-	 * are part of an integer that describes the address to be written/read.
-	 * Remember to use {@link #loadAddress(int) loadAddress} every time before you start
-	 * reading. STK500v1 supports {@link #checkForAddressAutoincrement() auto increment},
-	 * but we do not recommend relying on this.
-	 * 
-	 * @param bytes_high most significant byte of block size
-	 * @param bytes_low least significant byte of block size
-	 * @param writeFlash boolean indicating if it should read flash memory
-	 * or EEPROM. True = flash. False = EEPROM 
-	 * 
-	 * @return an byte array with the response from the selected device on the format
-	 * [Resp_STK_INSYNC, data, Resp_STK_OK] or 
-	 * [Resp_STK_NOSYNC] (If no Sync_CRC_EOP received). If the response does not
-	 * match any of the above, something went wrong and the method returns null.
-	 * The caller should then retry.
-	 */
-	private byte[] readPage(byte bytes_high, byte bytes_low, boolean writeFlash) {
-		byte[] readCommand = new byte[5];
-		byte memtype;
-
-		readCommand[0] = ConstantsStk500v1.STK_READ_PAGE;
-
-		readCommand[1] = bytes_high;
-		readCommand[2] = bytes_low;
-		
-		// Read flash
-		if (writeFlash) {
-			memtype = (byte)'F';
-		}
-		// Read EEPROM
-		else {
-			// This is not implemented in optiboot
-			throw new IllegalArgumentException("Does not support reading from EEPROM.");
-			
-//			memtype = (byte)'E';
-			
-		}
-		readCommand[3] = memtype;
-		readCommand[4] = ConstantsStk500v1.CRC_EOP;
-
-		logger.logcat("readPage: Sending bytes: " + 
-				Hex.bytesToHex(readCommand), "d");
-
-		// Send bytes
+	private int verifyPage(FlashPlan plan, int page, byte[] chunk, int[] offsets) {
 		try {
-			output.write(readCommand);
+			plan.writeReadPage(frames, page);
+			frames.flush();
 		} catch (IOException e) {
-			logger.logcat("readPage: Could not write output read command in " +
-					"readPage", "w");
-			e.printStackTrace();
+			logger.logcat("verifyPage: Could not write output read command in " +
+					"verifyPage", "w");
+			return -1;
 		}
 
-		int numberOfBytes = 0;
-
-		//read start command + n data bytes + end command
-		byte[] in = new byte[unPackTwoBytes(bytes_high, bytes_low)]; 
+		ByteBuffer expected = plan.getPageData(page);
+		int length = expected.remaining();
+		int mismatches = 0;
 
-		logger.logcat("readPage: Waiting for " + in.length + " bytes.", "d");
-
-		//Read data
 		try {
-			for (int i = 0; i < in.length+2; i++) {
-				numberOfBytes = read(TimeoutValues.READ);
-
-				// First byte
-				if(i==0) {
-					if(numberOfBytes != ConstantsStk500v1.STK_INSYNC) {
-						logger.logcat("readPage: STK_INSYNC failed on first byte, " +
-								Hex.oneByteToHex((byte)numberOfBytes), "w");
-						return null;
-					}
-					else {
-						logger.logcat("readPage: STK_INSYNC, " + Hex.oneByteToHex((byte)numberOfBytes), "d");
-						continue;
-					}
+			if (read(chunk, 0, 1, TimeoutValues.READ) != 1 ||
+					chunk[0] != ConstantsStk500v1.STK_INSYNC) {
+				logger.logcat("verifyPage: STK_INSYNC failed on first byte, " +
+						Hex.oneByteToHex(chunk[0]), "w");
+				return -1;
+			}
+			for (int offset = 0; offset < length; ) {
+				int n = Math.min(chunk.length, length - offset);
+				if (read(chunk, 0, n, TimeoutValues.READ) != n) {
+					logger.logcat("verifyPage: Something went wrong...", "w");
+					return -1;
 				}
-				// Last byte
-				else if(i==in.length+1) {
-					if(numberOfBytes != ConstantsStk500v1.STK_OK) {
-						logger.logcat("readPage: STK_OK failed on last byte, " + i +
-								", value " + Hex.oneByteToHex((byte)numberOfBytes), "w");
-						return null;
-					}
-					else {
-						logger.logcat("readPage: Read OK.", "d");
-						return in;
+				for (int i = 0; i < n; i++, offset++) {
+					byte wanted = expected.get();
+					if (chunk[i] != wanted) {
+						if (mismatches == 0) {
+							logger.logcat("verifyPage: First difference at address " +
+									(plan.getPageAddress(page) + offset) + ", expected " +
+									Hex.oneByteToHex(wanted) + ", read " +
+									Hex.oneByteToHex(chunk[i]), "w");
+						}
+						offsets[mismatches++] = offset;
 					}
 				}
-				else {
-					in[i-1] = (byte)numberOfBytes;
-				}
 			}
-			//Something went wrong
-			logger.logcat("readPage: Something went wrong...", "w");
-			return null;
+			if (read(chunk, 0, 1, TimeoutValues.READ) != 1) {
+				logger.logcat("verifyPage: No STK_OK after the page data", "w");
+				return -1;
+			}
+			if (chunk[0] != ConstantsStk500v1.STK_OK) {
+				logger.logcat("verifyPage: STK_OK failed on last byte, value " +
+						Hex.oneByteToHex(chunk[0]), "w");
+				return -1;
+			}
 		} catch (TimeoutException e) {
-			logger.logcat("readPage: Unable to read! " + e.getMessage(), "w");
-			return null;
+			logger.logcat("verifyPage: Unable to read! " + e.getMessage(), "w");
+			if (!timeoutOccurred) {
+				recover();
+			}
+			return -1;
 		} catch (IOException e) {
-			logger.logcat("readPage: Unable to read! " + e.getMessage(), "w");
-			return null;
+			logger.logcat("verifyPage: Unable to read! " + e.getMessage(), "w");
+			return -1;
 		}
+		return mismatches;
 	}
 
-
 	/**
 	 * Read one byte from EEPROM memory.
 	 * 
@@ -1174,7 +1585,7 @@ public class STK500v1 {
 		readCommand[1] = ConstantsStk500v1.CRC_EOP;
 
 		try {
-			output.write(readCommand);
+			frames.send(readCommand);
 		} catch (IOException e) {
 			logger.logcat("readDataMemory: Could not write output read command " +
 					"in readDataMemory", "i");
@@ -1218,7 +1629,7 @@ public class STK500v1 {
 		readCommand[1] = ConstantsStk500v1.CRC_EOP;
 
 		try {
-			output.write(readCommand);
+			frames.send(readCommand);
 		} catch (IOException e) {
 			logger.logcat("readFlashMemory: Could not write output read command " +
 					"in readFlashMemory", "i");
@@ -1272,34 +1683,25 @@ public class STK500v1 {
 	 */
 	private boolean checkInput(boolean checkCommand, byte command, TimeoutValues timeout) {
 
-		int intInput = -1;
+		//STK_INSYNC and the answer, read as one block
+		byte[] input = answer;
 
 		logger.logcat("checkInput called with command: " + Hex.oneByteToHex(command), "w");
 		logger.logcat("checkInput: checkCommand = " + checkCommand, "i");
 
 		try {
-			intInput = read(timeout);
-
-			if (intInput == -1) {
+			if (read(input, timeout) != input.length) {
 				logger.logcat("checkInput: End of stream encountered", "w");
 				return false;
 			}
 
 			byte byteInput;
 
-			if (intInput == ConstantsStk500v1.STK_INSYNC){
+			if (input[0] == ConstantsStk500v1.STK_INSYNC){
 				logger.logcat("checkInput: received INSYNC", "i");
 
-				intInput = read(timeout);
-				logger.logcat("checkInput: intInput = " + intInput, "i");
-
-				if (intInput == -1) {
-					logger.logcat("checkInput: End of stream encountered", "w");
-					return false;
-				}
-
-				//Input is not equal to -1. Cast to byte
-				byteInput = (byte)intInput;
+				byteInput = input[1];
+				logger.logcat("checkInput: intInput = " + (byteInput & 0xFF), "i");
 
 				//if this is a command expected to return other things in addition to sync and ok:
 				if (checkCommand) {
@@ -1381,7 +1783,7 @@ public class STK500v1 {
 		try {
 			logger.logcat("programFlashMemory: sending bytes to write word: " +
 					Hex.bytesToHex(uploadFile), "d");
-			output.write(uploadFile);
+			frames.send(uploadFile);
 		} catch (IOException e) {
 			logger.logcat("programFlashMemory: Unable to write output in programFlashMemory", "i");
 			e.printStackTrace();
@@ -1439,44 +1841,412 @@ public class STK500v1 {
 	}
 
 	/**
-	 * Upload and read files to the flash memory. This method sends the content of
-	 * the binary byte array in pairs of two to the flash memory. Can also be used
-	 * to read data and compare this to the hex file.
+	 * Upload files to the flash memory, then optionally read them back and compare
+	 * them with the hex file. The outcome of the comparison is kept, see
+	 * {@link #getVerifyResult()}.
 	 * 
 	 * @param checkWrittenData Verify written bytes.
 	 * @param bytesToLoad How many bytes to write or read at once.
+	 * @param changedPages Pages to write, or null to write every page.
 	 * 
 	 * @return True if uploading and reading was successful.
 	 */
-	private boolean writeAndReadFile(boolean checkWrittenData, int bytesToLoad) {
+	private boolean writeAndReadFile(boolean checkWrittenData, int bytesToLoad,
+			int[] changedPages) {
 		setProgress(0);
 		uploadFileTries = 0;
 		if(checkWrittenData) readWrittenPage = true;
 		else readWrittenPage = false;
 
-		boolean success = uploadFile(bytesToLoad, true);
+		FlashPlan plan = hexParser.getFlashPlan(bytesToLoad);
+		long packets = frames.getPacketCount();
+		verifyResult = null;
+		pagesWritten = 0;
+		pagesSkipped = 0;
+
+		boolean success;
+		if (changedPages == null) {
+			success = uploadFile(bytesToLoad);
+			pagesSkipped = flashErased ? plan.getBlankPageCount() : 0;
+			pagesWritten = plan.getPageCount() - pagesSkipped;
+		}
+		else {
+			success = rewritePages(plan, changedPages);
+			pagesWritten = changedPages.length;
+			pagesSkipped = plan.getPageCount() - changedPages.length;
+			logger.logcat("writeAndReadFile: " + pagesWritten + " pages written, " +
+					pagesSkipped + " pages unchanged", "i");
+		}
+		logPacketsPerPage("write", frames.getPacketCount() - packets, pagesWritten);
 
 		if(success && checkWrittenData) {
-			if(uploadFile(bytesToLoad, false)) {
-				success = true;
+			RetryPolicy policy = retryPolicy;
+
+			// No need to look for more bad pages than would be repaired
+			packets = frames.getPacketCount();
+			verifyResult = verifyFile(plan, null, policy.getMaxPages(), true);
+			logPacketsPerPage("verify", frames.getPacketCount() - packets,
+					plan.getPageCount());
+			logger.logcat("writeAndReadFile: verify: " + verifyResult, "i");
+
+			int rounds = 0;
+			while (!verifyResult.isVerified() && verifyResult.isComplete() &&
+					policy.allowsRepair(verifyResult.getMismatchedPages().length, rounds)) {
+				int[] pages = verifyResult.getMismatchedPages();
+				rounds++;
+				logger.logcat("writeAndReadFile: repair round " + rounds + ", " +
+						pages.length + " pages", "i");
+
+				if (!rewritePages(plan, pages)) {
+					break;
+				}
+				verifyResult.repaired(verifyFile(plan, pages, pages.length, false),
+						pages.length);
+				logger.logcat("writeAndReadFile: verify: " + verifyResult, "i");
+			}
+
+			if (!verifyResult.isVerified()) {
+				state = ProtocolState.ERROR_READ;
+				success = false;
 			}
 		}
 
+		updateSnapshot(success);
 		return success;
 	}
 
+	/**
+	 * Compare the image with the snapshot of the device, if there is one.
+	 * 
+	 * @param bytesToLoad Page size the image is written with.
+	 * 
+	 * @return Indexes of the pages that changed, or null if every page must be
+	 * written.
+	 */
+	private int[] findChangedPages(int bytesToLoad) {
+		FlashPlan plan = hexParser.getFlashPlan(bytesToLoad);
+		String id = deviceId;
+		SnapshotStore store = id == null ? null : snapshotStore;
+		Hex previous = store == null ? null : store.load(id, logger);
+		if (previous != null) {
+			int[] changed = plan.getChangedPages(previous);
+			logger.logcat("findChangedPages: " + changed.length + " pages changed " +
+					"since the last upload to " + id, "i");
+			return changed;
+		}
+		if (store != null) {
+			logger.logcat("findChangedPages: No snapshot of " + id, "i");
+		}
+		if (compareBeforeWrite) {
+			return readChangedPages(plan);
+		}
+		return null;
+	}
 
 	/**
-	 * Upload and read files to the flash memory. This method sends the content of
-	 * the binary byte array in pairs of two to the flash memory. Can also be used
-	 * to read data and compare this to the hex file.
+	 * Read the device and compare it with the image, page by page. Gives up as
+	 * soon as more than half of the pages differ, as writing all of them after
+	 * a chip erase is then about as fast.
 	 * 
-	 * @param bytesToLoad How many bytes to write or read at once.
-	 * @param write If this method should write or read. True = write. 
+	 * @param plan The image to write.
+	 * 
+	 * @return Indexes of the pages that differ, or null if every page should be
+	 * written.
+	 */
+	private int[] readChangedPages(FlashPlan plan) {
+		uploadFileTries = 0;
+		VerifyResult result = verifyFile(plan, null, plan.getPageCount() / 2, false);
+		uploadFileTries = 0;
+
+		if (!result.isComplete()) {
+			logger.logcat("readChangedPages: " + result + ", writing every page", "i");
+			return null;
+		}
+		logger.logcat("readChangedPages: " + result.getMismatchedPages().length +
+				" of " + plan.getPageCount() + " pages differ on the device", "i");
+		return result.getMismatchedPages();
+	}
+
+	/**
+	 * Keep the image as the snapshot of the device after a successful upload,
+	 * or forget the device when it is not known what it holds.
+	 * 
+	 * @param success True if the image was written, and verified if asked to.
+	 */
+	private void updateSnapshot(boolean success) {
+		String id = deviceId;
+		SnapshotStore store = snapshotStore;
+		if (store == null || id == null) {
+			return;
+		}
+		if (success) {
+			try {
+				store.save(id, hexParser);
+				return;
+			} catch (IOException e) {
+				logger.logcat("updateSnapshot: Could not save snapshot of " +
+						id + ": " + e.getMessage(), "w");
+			}
+		}
+		store.remove(id);
+	}
+
+	/**
+	 * Find the profile of the device: the one found for its id before, or the
+	 * one matching its signature.
+	 * 
+	 * @return The profile, or null if the device is not known.
+	 */
+	private DeviceProfile identifyDevice() {
+		DeviceRegistry registry = DeviceRegistry.getDefault();
+		String id = deviceId;
+		if (id != null) {
+			DeviceProfile known = registry.forDevice(id);
+			if (known != null) {
+				logger.logcat("identifyDevice: " + id + " is a " + known.getName(), "i");
+				return known;
+			}
+		}
+
+		int signature = readSignature();
+		if (signature < 0) {
+			logger.logcat("identifyDevice: Could not read the signature", "w");
+			return null;
+		}
+		DeviceProfile profile = registry.forSignature(signature);
+		if (profile == null) {
+			logger.logcat("identifyDevice: Unknown signature 0x" +
+					Integer.toHexString(signature), "w");
+			return null;
+		}
+		logger.logcat("identifyDevice: Found " + profile, "i");
+		if (id != null) {
+			registry.remember(id, profile);
+		}
+		return profile;
+	}
+
+	/**
+	 * Read the three signature bytes of the chip with STK_READ_SIGN.
+	 * 
+	 * @return The signature, first byte highest, or -1 on failure.
+	 */
+	private int readSignature() {
+		byte[] command = new byte[2];
+
+		command[0] = ConstantsStk500v1.STK_READ_SIGN;
+		command[1] = ConstantsStk500v1.CRC_EOP;
+
+		try {
+			frames.send(command);
+		} catch (IOException e) {
+			logger.logcat("readSignature: Unable to write output in readSignature", "w");
+			return -1;
+		}
+
+		//start command + 3 signature bytes + end command, read as one block
+		byte[] response = new byte[5];
+		try {
+			if (read(response, TimeoutValues.READ) != response.length) {
+				logger.logcat("readSignature: Something went wrong...", "w");
+				return -1;
+			}
+		} catch (TimeoutException e) {
+			logger.logcat("readSignature: Unable to read! " + e.getMessage(), "w");
+			if (!timeoutOccurred) {
+				recover();
+			}
+			return -1;
+		} catch (IOException e) {
+			logger.logcat("readSignature: Unable to read! " + e.getMessage(), "w");
+			return -1;
+		}
+
+		if (response[0] != ConstantsStk500v1.STK_INSYNC ||
+				response[4] != ConstantsStk500v1.STK_OK) {
+			logger.logcat("readSignature: Response not in sync, " +
+					Hex.bytesToHex(response), "w");
+			return -1;
+		}
+		return ((response[1] & 0xFF) << 16) | ((response[2] & 0xFF) << 8) |
+				(response[3] & 0xFF);
+	}
+
+	/**
+	 * Pick the page size to write with. The page size of a known device wins
+	 * over the one asked for, as writing with another size corrupts the flash.
+	 * 
+	 * @param profile The device, or null if not known.
+	 * @param requested Page size asked for, 0 if none.
+	 * 
+	 * @return The page size.
+	 */
+	private int choosePageSize(DeviceProfile profile, int requested) {
+		if (profile == null) {
+			return requested > 0 ? requested : DEFAULT_PAGE_SIZE;
+		}
+		if (requested > 0 && requested != profile.getPageSize()) {
+			logger.logcat("choosePageSize: " + requested + " bytes asked for, " +
+					"using the " + profile.getPageSize() + " byte pages of the " +
+					profile.getName(), "w");
+		}
+		return profile.getPageSize();
+	}
+
+	/**
+	 * Read the written pages back and compare them with the image, byte by byte
+	 * as they arrive. Only a small buffer is used, whatever the page size.
+	 * Verification can stop at the first page that does not match, so the time
+	 * it takes depends on the number of pages checked.
+	 * 
+	 * @param plan The image as written.
+	 * @param pages Indexes of the pages to check, in increasing order, or null
+	 * to check every page.
+	 * @param mismatchLimit Stop when more pages than this do not match. 0 stops
+	 * at the first page that does not match.
+	 * @param showProgress Move the progress from 50 to 100 while reading.
+	 * 
+	 * @return Pages checked and the addresses that did not match.
+	 */
+	private VerifyResult verifyFile(FlashPlan plan, int[] pages, int mismatchLimit,
+			boolean showProgress) {
+		state = ProtocolState.READING;
+
+		int count = pages == null ? plan.getPageCount() : pages.length;
+		VerifyResult result = new VerifyResult(count);
+		byte[] chunk = new byte[VERIFY_CHUNK_SIZE];
+		int[] offsets = new int[plan.getPageSize()];
+
+		int index = 0;
+		// Page checked last, -1 if none
+		int previous = -1;
+		int mismatchedPages = 0;
+		// Set while the device address is known to be right after the last page
+		boolean addressFollows = false;
+
+		while (index < count) {
+			// Give up...
+			if(uploadFileTries>10) return result;
+
+			int page = pages == null ? index : pages[index];
+			boolean success = readAutoIncrement && addressFollows &&
+					page == previous + 1 && plan.isContiguous(page);
+			if (!success) {
+				success = loadAddress(plan, page);
+			}
+
+			int mismatches = -1;
+			if (success) {
+				mismatches = verifyPage(plan, page, chunk, offsets);
+				success = mismatches >= 0;
+			}
+			addressFollows = success;
+
+			//Reading was unsuccessful. Try again without incrementing
+			if (!success) {
+				if (timeoutOccurred && !recoverySuccessful) {
+					// Trying to reset
+					if(hardwareReset()) continue;
+
+					return result;
+				}
+				timeoutOccurred = false;
+				uploadFileTries++;
+				continue;
+			}
+
+			result.pageChecked();
+			if (mismatches > 0) {
+				logger.logcat("verifyFile: " + mismatches + " bytes differ in page at " +
+						plan.getPageAddress(page), "w");
+				result.addMismatch(page, plan.getPageAddress(page), offsets, mismatches);
+				if (++mismatchedPages > mismatchLimit) {
+					return result;
+				}
+			}
+
+			previous = page;
+			index++;
+
+			// Calculate progress
+			if (showProgress) {
+				setProgress(50 + 50 * (double)index / (double)count);
+			}
+		}
+		result.setComplete();
+		return result;
+	}
+
+	/**
+	 * Write some pages of the image again, one at a time, loading the address of
+	 * each.
+	 * 
+	 * @param plan The image being written.
+	 * @param pages Indexes of the pages to write.
+	 * 
+	 * @return True if every page was written.
+	 */
+	private boolean rewritePages(FlashPlan plan, int[] pages) {
+		state = ProtocolState.WRITING;
+
+		int index = 0;
+		while (index < pages.length) {
+			// Give up...
+			if(uploadFileTries>10) return false;
+
+			int page = pages[index];
+			logger.logcat("rewritePages: page at address " +
+					plan.getPageAddress(page), "d");
+
+			if (loadAddress(plan, page) && programPage(plan, page)) {
+				index++;
+				continue;
+			}
+
+			//Try again, like uploadFile
+			if (timeoutOccurred && !recoverySuccessful) {
+				// Trying to reset
+				if(hardwareReset()) continue;
+
+				return false;
+			}
+			timeoutOccurred = false;
+			uploadFileTries++;
+		}
+		return true;
+	}
+
+	/**
+	 * Log how many writes to the stream a pass over the file needed.
+	 * 
+	 * @param pass Name of the pass.
+	 * @param packets Writes during the pass.
+	 * @param pages Pages handled by the pass.
+	 */
+	private void logPacketsPerPage(String pass, long packets, int pages) {
+		logger.logcat("writeAndReadFile: " + pass + ": " + packets + " packets for " +
+				pages + " pages (" + (pages > 0 ? (double)packets / pages : 0) +
+				" per page)", "i");
+	}
+
+
+	/**
+	 * Upload files to the flash memory. This method sends the content of
+	 * the binary byte array to the flash memory, a page at a time.
+	 * 
+	 * The data of the hex file is programmed at its own load addresses, one whole
+	 * flash page of <code>bytesToLoad</code> bytes at a time, as every
+	 * STK_PROG_PAGE erases and rewrites a whole page. Every page holding data is
+	 * sent from its page aligned address, with the data of all segments in it and
+	 * 0xFF, the value of erased flash, in between. Pages without data are skipped.
+	 * The pages and their command frames come from the {@link FlashPlan} of the
+	 * image, which is built once and reused by every upload and retry.
+	 * 
+	 * @param bytesToLoad How many bytes to write at once.
 	 * 
 	 * @return True if everything was successful.
 	 */
-	private boolean uploadFile(int bytesToLoad, boolean write) {
+	private boolean uploadFile(int bytesToLoad) {
 		// Calculate progress
 		state = ProtocolState.WRITING;//TODO: if Check checkReadWriteBytes and chipErase
 		//universal needs state updates after merging
@@ -1486,28 +2256,41 @@ public class STK500v1 {
 		logger.logcat("uploadFile: Data bytes to write: " +
 				bytesToLoad, "d");
 
-		// Counter used to keep the position in the hex-file
-		int hexPosition = 0;
+		// Every frame for this page size, built once per image
+		FlashPlan plan = hexParser.getFlashPlan(bytesToLoad);
 
-		//Run through the entire hex file, ignoring the last line
-		while (hexPosition < hexParser.getDataSize()) {
-			// Give up...
-			if(uploadFileTries>10) return false;
+		// A page needs two commands, so smaller windows are stop-and-wait
+		if (pipelineWindow >= 2 || adaptiveWindow) {
+			return uploadPipelined(plan);
+		}
 
-			// Get bytes from hex file
-			byte[] tempArray = hexParser.getHexLine(hexPosition, bytesToLoad);
+		// Page of the plan to program next
+		int page = 0;
+		// Set while the device address is known to be right after the last page
+		boolean addressFollows = false;
+		boolean autoIncrement = writeAutoIncrement;
+		int loadsSkipped = 0;
 
-			logger.logcat("uploadFile: " + hexPosition + ", " + bytesToLoad, "v");
-			logger.logcat("uploadFile: " + Hex.bytesToHex(tempArray), "v");
+		//Run through every page of the plan
+		while (page < plan.getPageCount()) {
+			// Give up...
+			if(uploadFileTries>10) return false;
 
-			// No more data bytes to load, return true
-			if(tempArray.length == 0) {
-				return true;
+			// Already 0xFF after the chip erase
+			if (isSkipped(plan, page)) {
+				page++;
+				addressFollows = false;
+				continue;
 			}
 
-			//Load address, 5 attempts
-			for (int j = 1; j < 5; j++) {
-				if(loadAddress(hexPosition)) { 
+			logger.logcat("uploadFile: Page " + page + " at address " +
+					plan.getPageAddress(page) + ", " + plan.getPageLength(page), "v");
+
+			//Load address, 5 attempts, unless the device moved on to this page
+			boolean skipLoad = autoIncrement && addressFollows && plan.isContiguous(page);
+			if (skipLoad) loadsSkipped++;
+			for (int j = 1; j < 5 && !skipLoad; j++) {
+				if(loadAddress(plan, page)) { 
 					logger.logcat("uploadFile: loadAddress OK after " + j + " attempts.", "v");
 					break;
 				} else {
@@ -1526,47 +2309,28 @@ public class STK500v1 {
 
 			boolean success = true;
 
-			if(write) {
-				logger.logcat("uploadFile: Trying to write data.", "d");
-
-				// Check if programming of page was successful.
-				// Increment counter and program next page
-				if (programPage(true, tempArray)) {
-					hexPosition+=tempArray.length;
-
-					// Calculate progress
-					double tempProgress = (double)hexPosition / (double)hexParser.getDataSize();
-					
-					if(readWrittenPage) setProgress(tempProgress*50);
-					else setProgress(tempProgress*100);
-					
-					logger.logcat("progress: " + getProgress() + " % " +
-							hexPosition + " / " + hexParser.getDataSize(), "d");
-				}
-				else {
-					success = false;
-				}
+			logger.logcat("uploadFile: Trying to write data.", "d");
+
+			// Check if programming of page was successful.
+			// Increment counter and program next page
+			if (programPage(plan, page)) {
+				page++;
+
+				// Calculate progress
+				double tempProgress = (double)page / (double)plan.getPageCount();
+				
+				if(readWrittenPage) setProgress(tempProgress*50);
+				else setProgress(tempProgress*100);
+				
+				logger.logcat("progress: " + getProgress() + " % " +
+						page + " / " + plan.getPageCount() + " pages", "d");
 			}
 			else {
-				logger.logcat("uploadFile: Trying to read written data.", "d");
-
-				// Check if reading of written data was successful.
-				// Increment counter and read next page
-				if(readPage(bytesToLoad, false) == tempArray) {
-					hexPosition+=tempArray.length;
-
-					// Calculate progress
-					logger.logcat("hexPosition: " + hexPosition +
-							", hexParser.getDataSize(): " + hexParser.getDataSize(), "d");
-					setProgress((double)hexPosition / (double)hexParser.getDataSize() + 50);
-					
-					logger.logcat("progress: " + getProgress() + " % ", "d");
-				}
-				else {
-					success = false;
-				}
+				success = false;
 			}
 
+			addressFollows = success;
+
 			//Programming was unsuccessful. Try again without incrementing
 			if(!success) {
 				if (timeoutOccurred && !recoverySuccessful) {
@@ -1613,30 +2377,212 @@ public class STK500v1 {
 			}
 		}
 		logger.logcat("uploadFile: End of file. "+
+				"Upload finished with success, " + loadsSkipped + " load address " +
+				"commands skipped.", "d");
+
+		return true;
+	}
+
+	/**
+	 * Write the pages of a plan with several commands in flight, see
+	 * {@link #setPipelineWindow(int) setPipelineWindow}. Frames are sent ahead
+	 * while the answers are read in the order the commands were sent. When an
+	 * answer is missing or wrong, the answers still on their way are thrown away
+	 * and writing starts over from the first page not acknowledged. Rewriting a
+	 * page is harmless, as the bootloader erases it first.
+	 * 
+	 * A page needing another extended address byte than the pages before it
+	 * waits until everything in flight is acknowledged.
+	 * 
+	 * @param plan The plan to write.
+	 * 
+	 * @return True if every page was acknowledged.
+	 */
+	private boolean uploadPipelined(FlashPlan plan) {
+		int pageCount = plan.getPageCount();
+		// Pages with both answers received
+		int acknowledged = 0;
+
+		WindowTuner tuner = adaptiveWindow ?
+				new WindowTuner(pipelineWindow, 2, MAX_ADAPTIVE_WINDOW) : null;
+		// Pages, bytes and start time of the current throughput measurement
+		int intervalPages = 0;
+		int intervalBytes = 0;
+		long intervalStart = System.nanoTime();
+
+		while (acknowledged < pageCount) {
+			// Give up...
+			if(uploadFileTries>10) return false;
+
+			int sent = acknowledged;
+			int inFlight = 0;
+			boolean success = true;
+			// The address is only known to follow within one run of sends
+			int runStart = acknowledged;
+
+			while (acknowledged < pageCount) {
+				// Fill the window, leaving out blank pages on an erased chip
+				while (sent < pageCount) {
+					if (isSkipped(plan, sent)) {
+						sent++;
+						continue;
+					}
+					int window = tuner != null ? tuner.getWindow() : pipelineWindow;
+					if (inFlight + commandsForPage(plan, sent, runStart) > window) {
+						break;
+					}
+					int address = plan.getPageAddress(sent);
+					if (needsExtendedAddress(address)) {
+						// Only sent between pages, with nothing in flight
+						if (inFlight > 0) break;
+						if (!checkExtendedAddress(address)) {
+							success = false;
+							break;
+						}
+					}
+					int commands = commandsForPage(plan, sent, runStart);
+					try {
+						if (commands == 2) {
+							plan.writeLoadAddress(frames, sent);
+						}
+						plan.writeProgramPage(frames, sent);
+					} catch (IOException e) {
+						logger.logcat("uploadPipelined: Unable to write output", "w");
+						return false;
+					}
+					sent++;
+					inFlight += commands;
+				}
+				if (!success) {
+					frames.discard();
+					break;
+				}
+				// One packet for the whole batch
+				try {
+					frames.flush();
+				} catch (IOException e) {
+					logger.logcat("uploadPipelined: Unable to write output", "w");
+					return false;
+				}
+
+				// Answers for the oldest page in flight, none for pages not sent
+				int commands = isSkipped(plan, acknowledged) ? 0 :
+						commandsForPage(plan, acknowledged, runStart);
+				if ((commands == 2 && !checkInput()) || (commands > 0 &&
+						!checkInput(false, ConstantsStk500v1.STK_PROG_PAGE, TimeoutValues.WRITE))) {
+					logger.logcat("uploadPipelined: Page " + acknowledged +
+							" not acknowledged, " + (sent - acknowledged) +
+							" pages in flight", "w");
+					success = false;
+					break;
+				}
+				inFlight -= commands;
+				if (commands > 0) {
+					intervalBytes += plan.getPageLength(acknowledged);
+				}
+				acknowledged++;
+
+				if (tuner != null && ++intervalPages == WindowTuner.INTERVAL_PAGES) {
+					long now = System.nanoTime();
+					tuner.measured(intervalBytes, now - intervalStart);
+					logger.logcat("uploadPipelined: " + intervalBytes + " bytes in " +
+							(now - intervalStart) / 1000000 + " ms, window now " +
+							tuner.getWindow(), "d");
+					intervalPages = 0;
+					intervalBytes = 0;
+					intervalStart = now;
+				}
+
+				// Calculate progress
+				double tempProgress = (double)acknowledged / (double)pageCount;
+				if(readWrittenPage) setProgress(tempProgress*50);
+				else setProgress(tempProgress*100);
+			}
+
+			if (success) break;
+
+			// Send less at once, and measure from here
+			if (tuner != null) {
+				tuner.failed();
+				intervalPages = 0;
+				intervalBytes = 0;
+			}
+
+			// Roll back to the last acknowledged page
+			if (timeoutOccurred && !recoverySuccessful) {
+				// Trying to reset
+				if(hardwareReset()) continue;
+
+				return false;
+			}
+			else if (timeoutOccurred) {
+				timeoutOccurred = false;
+			}
+			else if (!flushPipeline()) {
+				return false;
+			}
+			uploadFileTries++;
+			intervalStart = System.nanoTime();
+		}
+		logger.logcat("uploadPipelined: End of file. "+
 				"Upload finished with success.", "d");
 
+		if (tuner != null) {
+			pipelineWindow = tuner.getWindow();
+			logger.logcat("uploadPipelined: Pipeline window chosen: " + pipelineWindow +
+					" commands, " + pipelineWindow / 2 * plan.getPageSize() +
+					" bytes per round trip, " + tuner.getFailures() + " failed batches", "i");
+		}
+
 		return true;
 	}
 
+	/**
+	 * @param plan The plan being written.
+	 * @param page The page.
+	 * @param runStart First page sent since the last time the pipeline was reset.
+	 * 
+	 * @return 1 if the device moved on to the page by itself, 2 if the page
+	 * needs a load address before the program page command.
+	 */
+	private int commandsForPage(FlashPlan plan, int page, int runStart) {
+		return writeAutoIncrement && page > runStart && plan.isContiguous(page) &&
+				!isSkipped(plan, page - 1) ? 1 : 2;
+	}
 
 	/**
-	 * Read two unsigned bytes into an integer
-	 * @param high Most significant byte
-	 * @param low  Least significant byte
-	 * @return
+	 * Check if a page is left out of the upload, because it is all 0xFF and the
+	 * whole flash was erased at the start of the session.
+	 * @param plan The plan being written
+	 * @param page Page index
+	 * @return true if the page is not written
 	 */
-	private static int unPackTwoBytes(byte high, byte low) {
-		int out = (decodeByte(high) << 8) | (decodeByte(low));
-		return out;
+	private boolean isSkipped(FlashPlan plan, int page) {
+		return flashErased && plan.isBlank(page);
 	}
 
 	/**
-	 * Get the unsigned value of a byte
-	 * @param unsignedByte
-	 * @return
+	 * Throw away answers to commands still in flight, and get in sync again.
+	 * 
+	 * @return True if in sync.
 	 */
-	private static int decodeByte(byte unsignedByte) {
-		return 0xFF & unsignedByte;
+	private boolean flushPipeline() {
+		// Let the answers on their way arrive
+		try {
+			Thread.sleep(TimeoutValues.WRITE.getTimeout());
+		} catch (InterruptedException e) {
+		}
+		if (reader.awaitState(EReaderState.WAITING, TimeoutValues.DEFAULT.getTimeout())) {
+			waitForReaderStateActivated();
+			reader.forget();
+		}
+		for (int i = 0; i < 3; i++) {
+			if (getSynchronization()) {
+				return true;
+			}
+		}
+		logger.logcat("flushPipeline: Unable to get in sync", "w");
+		return false;
 	}
 
 	/**
@@ -1658,7 +2604,8 @@ public class STK500v1 {
 	 * a single byte.
 	 * 
 	 * This method makes use of the {@link IReader#read(TimeoutValues)} method to
-	 * perform the actual reading.
+	 * perform the actual reading, or {@link IReader#read(byte[], int, int,
+	 * TimeoutValues)} to fill a buffer under one deadline.
 	 * 
 	 * @param buffer Array of bytes to store the read bytes
 	 * @param timeout The selected timeout enumeration chosen. Used to determine
@@ -1671,21 +2618,39 @@ public class STK500v1 {
 	private int read(byte[] buffer, TimeoutValues timeout) throws TimeoutException,
 	IOException {
 		long wait = 50;
-		long time = System.currentTimeMillis();
 		logger.logcat("read: waiting for reader waiting state", "i");
-		while (reader.getState() != EReaderState.WAITING){
-			if (System.currentTimeMillis() - time > wait) {
-				logger.logcat("read: Giving up waiting for reader", "d");
-				return IReader.RESULT_NOT_DONE;
-			}
-			try {
-				Thread.sleep(1);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
+		if (!reader.awaitState(EReaderState.WAITING, wait)) {
+			logger.logcat("read: Giving up waiting for reader", "d");
+			return IReader.RESULT_NOT_DONE;
 		}
 		waitForReaderStateActivated(10);
-		return reader.read(timeout);
+		if (buffer == null) {
+			return reader.read(timeout);
+		}
+		return reader.read(buffer, 0, buffer.length, timeout);
+	}
+
+	/**
+	 * Fill part of a buffer under one deadline, see
+	 * {@link #read(byte[], TimeoutValues)}.
+	 * 
+	 * @param buffer Array of bytes to store the read bytes
+	 * @param offset Index of the first byte to store
+	 * @param length Number of bytes to read
+	 * @param timeout The selected timeout enumeration chosen.
+	 * @return -1 if end of stream encountered, otherwise the number of bytes read
+	 * @throws TimeoutException 
+	 * @throws IOException 
+	 */
+	private int read(byte[] buffer, int offset, int length, TimeoutValues timeout)
+			throws TimeoutException, IOException {
+		logger.logcat("read: waiting for reader waiting state", "i");
+		if (!reader.awaitState(EReaderState.WAITING, 50)) {
+			logger.logcat("read: Giving up waiting for reader", "d");
+			return IReader.RESULT_NOT_DONE;
+		}
+		waitForReaderStateActivated(10);
+		return reader.read(buffer, offset, length, timeout);
 	}
 
 	/**
@@ -1695,18 +2660,7 @@ public class STK500v1 {
 	 */
 	private boolean waitForReaderStateActivated (long timeout) {
 		logger.logcat("waitForReaderStateActivated: waiting for state to activate", "d");
-		long time = System.currentTimeMillis();
-		while(!reader.wasCurrentStateActivated()) {
-			if (timeout > 0 && System.currentTimeMillis() - time > timeout) {
-				return false;
-			}
-			try {
-				Thread.sleep(1);
-			} catch (InterruptedException e) {
-				e.printStackTrace();
-			}
-		}
-		return true;
+		return reader.awaitStateActivated(timeout);
 	}
 
 	/**
@@ -1747,6 +2701,8 @@ public class STK500v1 {
 		/**An error occured while programming the device**/
 		ERROR_WRITE,
 		/**An error occured while verifying the written data**/
-		ERROR_READ
+		ERROR_READ,
+		/**The image does not fit in the flash below the bootloader of the device**/
+		ERROR_IMAGE_SIZE
 	}
 }
@@ -0,0 +1,133 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Local store of the image last flashed onto each device, so the next upload can
+ * write only the pages that changed.
+ *
+ * Every device gets one Intel hex file in the store directory, named after its
+ * id, like a Bluetooth address. A snapshot is written to a temporary file first
+ * and then renamed, so a crash never leaves half a snapshot behind. The store
+ * only knows what this library wrote; if the device is flashed some other way
+ * its snapshot is stale, so differential uploads should be verified.
+ */
+public class SnapshotStore {
+	private File directory;
+
+	/**
+	 * Create a store.
+	 * @param directory Directory for the snapshot files, created when needed
+	 */
+	public SnapshotStore(File directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Get the image last flashed onto a device.
+	 * @param deviceId Id of the device
+	 * @param log Logger interface implementation for logging
+	 * @return The image, or null if there is no usable snapshot
+	 */
+	public Hex load(String deviceId, Logger log) {
+		File file = getFile(deviceId);
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			//Read rather than map, so the file can be replaced right after
+			InputStream in = new FileInputStream(file);
+			try {
+				Hex hex = Hex.fromStream(in, log);
+				if (hex.getChecksumStatus()) {
+					return hex;
+				}
+			} finally {
+				in.close();
+			}
+			log.logcat("SnapshotStore: Snapshot of " + deviceId + " is corrupt", "w");
+		} catch (IOException e) {
+			log.logcat("SnapshotStore: Could not read snapshot of " + deviceId +
+					": " + e.getMessage(), "w");
+		}
+		return null;
+	}
+
+	/**
+	 * Keep the image now on a device, replacing the one before.
+	 * @param deviceId Id of the device
+	 * @param hex The image flashed onto the device
+	 * @throws IOException If the snapshot could not be written
+	 */
+	public void save(String deviceId, Hex hex) throws IOException {
+		if (!directory.isDirectory() && !directory.mkdirs()) {
+			throw new IOException("Could not create " + directory);
+		}
+		File file = getFile(deviceId);
+		File temp = new File(directory, file.getName() + ".tmp");
+
+		OutputStream out = new BufferedOutputStream(new FileOutputStream(temp));
+		try {
+			hex.writeHex(out);
+		} finally {
+			out.close();
+		}
+		//Rename over the old snapshot, which some platforms need removed first
+		if (!temp.renameTo(file) && !(file.delete() && temp.renameTo(file))) {
+			temp.delete();
+			throw new IOException("Could not replace " + file);
+		}
+	}
+
+	/**
+	 * Forget the image on a device, so the next upload writes every page.
+	 * @param deviceId Id of the device
+	 * @return true if there was a snapshot
+	 */
+	public boolean remove(String deviceId) {
+		return getFile(deviceId).delete();
+	}
+
+	/**
+	 * Get the snapshot file of a device. Characters that are not safe in file
+	 * names are written as '_' and their hex code, so ids never collide.
+	 */
+	private File getFile(String deviceId) {
+		StringBuilder name = new StringBuilder();
+		for (int i = 0; i < deviceId.length(); i++) {
+			char c = deviceId.charAt(i);
+			if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') ||
+					(c >= 'a' && c <= 'z') || c == '-' || c == '.') {
+				name.append(c);
+			}
+			else {
+				name.append('_').append(Integer.toHexString(c));
+			}
+		}
+		return new File(directory, name.append(".hex").toString());
+	}
+}
@@ -0,0 +1,185 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.util.Arrays;
+
+/**
+ * Outcome of verifying a written image against the device: how many pages were
+ * read back, which of them did not match, and the address of every byte that
+ * differed.
+ */
+public class VerifyResult {
+	/** Most mismatching addresses kept, the count covers all of them */
+	private static final int MAX_ADDRESSES = 1024;
+
+	private int pageCount;
+	private int pagesChecked;
+	private boolean complete;
+	private int[] mismatchedPages = new int[8];
+	private int mismatchedPageCount;
+	private int[] mismatchedAddresses = new int[64];
+	private int mismatchedAddressCount;
+	private int mismatchedBytes;
+	private int repairRounds;
+	private int pagesRewritten;
+
+	/**
+	 * @param pageCount Number of pages in the {@link FlashPlan} being verified
+	 */
+	VerifyResult(int pageCount) {
+		this.pageCount = pageCount;
+	}
+
+	/**
+	 * Count a page as read back, matching or not.
+	 */
+	void pageChecked() {
+		pagesChecked++;
+	}
+
+	/**
+	 * Record a page that did not match.
+	 * @param page Page index in the plan
+	 * @param pageAddress Byte address of the page
+	 * @param offsets Offsets of the differing bytes in the page
+	 * @param count Number of offsets
+	 */
+	void addMismatch(int page, int pageAddress, int[] offsets, int count) {
+		if (mismatchedPageCount == mismatchedPages.length) {
+			mismatchedPages = Arrays.copyOf(mismatchedPages, mismatchedPageCount * 2);
+		}
+		mismatchedPages[mismatchedPageCount++] = page;
+		mismatchedBytes += count;
+
+		int kept = Math.min(count, MAX_ADDRESSES - mismatchedAddressCount);
+		if (mismatchedAddressCount + kept > mismatchedAddresses.length) {
+			mismatchedAddresses = Arrays.copyOf(mismatchedAddresses, Math.min(MAX_ADDRESSES,
+					Math.max(mismatchedAddresses.length * 2, mismatchedAddressCount + kept)));
+		}
+		for (int i = 0; i < kept; i++) {
+			mismatchedAddresses[mismatchedAddressCount++] = pageAddress + offsets[i];
+		}
+	}
+
+	/**
+	 * Mark that every page was read back.
+	 */
+	void setComplete() {
+		complete = true;
+	}
+
+	/**
+	 * Take the outcome of reading back pages that were written again. Their
+	 * mismatches replace the ones found before, and a rewritten page that the
+	 * pass did not get to read back no longer counts as checked.
+	 * @param pass Result of reading back the rewritten pages
+	 * @param rewritten Number of pages written again
+	 */
+	void repaired(VerifyResult pass, int rewritten) {
+		repairRounds++;
+		pagesRewritten += rewritten;
+		pagesChecked = pageCount - (pass.pageCount - pass.pagesChecked);
+		complete = pass.complete;
+		mismatchedPages = pass.mismatchedPages;
+		mismatchedPageCount = pass.mismatchedPageCount;
+		mismatchedAddresses = pass.mismatchedAddresses;
+		mismatchedAddressCount = pass.mismatchedAddressCount;
+		mismatchedBytes = pass.mismatchedBytes;
+	}
+
+	/**
+	 * @return true if every page was read back and matched the image
+	 */
+	public boolean isVerified() {
+		return complete && mismatchedPageCount == 0;
+	}
+
+	/**
+	 * @return true if every page was read back. False if verification stopped
+	 * early, at a mismatch or because the device stopped answering.
+	 */
+	public boolean isComplete() {
+		return complete;
+	}
+
+	/**
+	 * @return number of pages in the plan
+	 */
+	public int getPageCount() {
+		return pageCount;
+	}
+
+	/**
+	 * @return number of pages read back
+	 */
+	public int getPagesChecked() {
+		return pagesChecked;
+	}
+
+	/**
+	 * @return indexes of the pages that did not match, in the order found
+	 */
+	public int[] getMismatchedPages() {
+		return Arrays.copyOf(mismatchedPages, mismatchedPageCount);
+	}
+
+	/**
+	 * @return byte addresses that did not match, at most the first 1024
+	 */
+	public int[] getMismatchedAddresses() {
+		return Arrays.copyOf(mismatchedAddresses, mismatchedAddressCount);
+	}
+
+	/**
+	 * @return number of bytes that did not match
+	 */
+	public int getMismatchedByteCount() {
+		return mismatchedBytes;
+	}
+
+	/**
+	 * @return number of times bad pages were written and read back again
+	 */
+	public int getRepairRounds() {
+		return repairRounds;
+	}
+
+	/**
+	 * @return number of page writes spent on repairs
+	 */
+	public int getPagesRewritten() {
+		return pagesRewritten;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(pagesChecked).append(" of ").append(pageCount).append(" pages checked, ");
+		sb.append(mismatchedPageCount).append(" mismatched");
+		if (mismatchedAddressCount > 0) {
+			sb.append(", first at 0x").append(Integer.toHexString(mismatchedAddresses[0]));
+		}
+		if (repairRounds > 0) {
+			sb.append(", ").append(pagesRewritten).append(" pages rewritten in ");
+			sb.append(repairRounds).append(" rounds");
+		}
+		return sb.toString();
+	}
+}
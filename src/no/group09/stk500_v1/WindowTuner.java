@@ -0,0 +1,116 @@
+package no.group09.stk500_v1;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+/**
+ * Picks the pipeline window, the number of commands in flight while writing,
+ * from the throughput measured during the upload. Each page is a fixed size
+ * chunk, as the bootloader programs one flash page per command, so the window
+ * decides how many bytes go out per round trip.
+ *
+ * The tuner climbs: after every few pages it tries a window one page larger,
+ * and keeps it only if the throughput went up. A failed batch halves the
+ * window, and the window is then held for a while before growing again.
+ */
+class WindowTuner {
+	/** Pages per throughput measurement */
+	static final int INTERVAL_PAGES = 8;
+
+	/** Throughput must rise this much for a larger window to be kept */
+	private static final double MIN_GAIN = 1.05;
+
+	/** Measurements to wait before growing after a revert or failure */
+	private static final int HOLD_INTERVALS = 4;
+
+	/** Commands per page: load address and program page */
+	private static final int STEP = 2;
+
+	private int min;
+	private int max;
+	private int window;
+
+	/** Window and bytes per nanosecond before the last change, 0 if not known */
+	private int previousWindow;
+	private double previousRate;
+	private int hold;
+
+	private int failures;
+
+	/**
+	 * @param initial Window to start from
+	 * @param min Smallest window
+	 * @param max Largest window
+	 */
+	WindowTuner(int initial, int min, int max) {
+		this.min = min;
+		this.max = max;
+		this.window = Math.max(min, Math.min(max, initial));
+		this.previousWindow = window;
+	}
+
+	/**
+	 * @return commands allowed in flight
+	 */
+	int getWindow() {
+		return window;
+	}
+
+	/**
+	 * @return number of failed batches seen
+	 */
+	int getFailures() {
+		return failures;
+	}
+
+	/**
+	 * Take the throughput of the last {@link #INTERVAL_PAGES} pages.
+	 * @param bytes Data bytes written
+	 * @param nanos Time it took
+	 */
+	void measured(int bytes, long nanos) {
+		double rate = bytes / (double) Math.max(1, nanos);
+
+		if (window > previousWindow && rate < previousRate * MIN_GAIN) {
+			// The larger window did not pay off
+			window = previousWindow;
+			hold = HOLD_INTERVALS;
+			return;
+		}
+		previousWindow = window;
+		previousRate = rate;
+
+		if (hold > 0) {
+			hold--;
+		}
+		else if (window < max) {
+			window = Math.min(max, window + STEP);
+		}
+	}
+
+	/**
+	 * A batch was lost or not answered. Halve the window.
+	 */
+	void failed() {
+		failures++;
+		window = Math.max(min, window / 2);
+		previousWindow = window;
+		previousRate = 0;
+		hold = HOLD_INTERVALS;
+	}
+}
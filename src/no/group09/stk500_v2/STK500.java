@@ -21,6 +21,8 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 
+import no.group09.transport.Transport;
+
 public class STK500 {
 	/**Size of message field without the message body**/
 	public static final int MESSAGE_HEADER_SIZE = 6;
@@ -34,6 +36,15 @@ public class STK500 {
 	
 	//TODO: Incorporate Message class abstraction layer
 	
+	/**
+	 * Connect to the programmer over a {@link Transport}.
+	 * @param transport Link to the programmer
+	 * @param logger Logger implementation for logging
+	 */
+	public STK500 (Transport transport, Logger logger) {
+		this(transport.getOutputStream(), transport.getInputStream(), logger);
+	}
+	
 	public STK500 (OutputStream output, InputStream input, Logger logger) {
 		this.output = output;
 		this.input = input;
@@ -0,0 +1,95 @@
+package no.group09.transport;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Batching and single byte reads shared by the transports. Subclasses only send
+ * a whole batch and read blocks.
+ */
+abstract class AbstractTransport implements Transport {
+	/** Room for a load address and a 256 byte program page frame */
+	private static final int INITIAL_CAPACITY = 512;
+
+	private byte[] batch = new byte[INITIAL_CAPACITY];
+	private int count;
+	private byte[] single = new byte[1];
+
+	/**
+	 * Send bytes as one write.
+	 * @param b The bytes
+	 * @param off Index of the first byte
+	 * @param len Number of bytes
+	 * @throws IOException if sending failed
+	 */
+	protected abstract void send(byte[] b, int off, int len) throws IOException;
+
+	@Override
+	public synchronized void write(byte[] b, int off, int len) {
+		if (count + len > batch.length) {
+			byte[] larger = new byte[Math.max(batch.length * 2, count + len)];
+			System.arraycopy(batch, 0, larger, 0, count);
+			batch = larger;
+		}
+		System.arraycopy(b, off, batch, count, len);
+		count += len;
+	}
+
+	@Override
+	public synchronized void flush() throws IOException {
+		if (count == 0) {
+			return;
+		}
+		// Forget the batch even if it fails, the caller starts over anyway
+		int length = count;
+		count = 0;
+		send(batch, 0, length);
+	}
+
+	@Override
+	public synchronized int read(long timeout) throws IOException {
+		int n = read(single, 0, 1, timeout);
+		if (n < 0) {
+			return -1;
+		}
+		return n == 0 ? TIMEOUT : single[0] & 0xFF;
+	}
+
+	/**
+	 * Stream sending every write right away, for {@link #getOutputStream()}.
+	 */
+	protected class SendingStream extends OutputStream {
+		@Override
+		public void write(int b) throws IOException {
+			send(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			send(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			AbstractTransport.this.close();
+		}
+	}
+}
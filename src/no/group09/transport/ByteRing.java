@@ -0,0 +1,117 @@
+package no.group09.transport;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+
+/**
+ * Bounded byte queue between two threads. Writers wait while it is full,
+ * readers wait while it is empty. Closing it lets readers take what is left,
+ * then gives end of stream, and makes writers fail.
+ */
+class ByteRing {
+	private final byte[] ring;
+	private int start;
+	private int count;
+	private boolean closed;
+
+	/**
+	 * @param capacity Number of bytes the queue holds
+	 */
+	ByteRing(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("ByteRing: Invalid capacity " + capacity);
+		}
+		ring = new byte[capacity];
+	}
+
+	/**
+	 * Add bytes, waiting for room as long as needed.
+	 * @throws IOException if the queue is closed
+	 */
+	synchronized void put(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			while (count == ring.length && !closed) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					throw new IOException("ByteRing: Interrupted while writing");
+				}
+			}
+			if (closed) {
+				throw new IOException("ByteRing: Closed");
+			}
+			int end = (start + count) % ring.length;
+			int n = Math.min(len, Math.min(ring.length - count, ring.length - end));
+			System.arraycopy(b, off, ring, end, n);
+			count += n;
+			off += n;
+			len -= n;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Take up to <code>len</code> bytes, waiting for the first one.
+	 * @param timeout Longest time to wait in milliseconds, negative to wait as
+	 * long as needed
+	 * @return number of bytes taken, 0 on timeout, -1 if closed and empty
+	 * @throws IOException if interrupted
+	 */
+	synchronized int take(byte[] b, int off, int len, long timeout) throws IOException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (count == 0 && !closed) {
+			long left = timeout < 0 ? 0 : deadline - System.currentTimeMillis();
+			if (timeout >= 0 && left <= 0) {
+				return 0;
+			}
+			try {
+				wait(left);
+			} catch (InterruptedException e) {
+				throw new IOException("ByteRing: Interrupted while reading");
+			}
+		}
+		if (count == 0) {
+			return -1;
+		}
+		int taken = 0;
+		while (taken < len && count > 0) {
+			int n = Math.min(len - taken, Math.min(count, ring.length - start));
+			System.arraycopy(ring, start, b, off + taken, n);
+			start = (start + n) % ring.length;
+			count -= n;
+			taken += n;
+		}
+		notifyAll();
+		return taken;
+	}
+
+	synchronized int available() {
+		return count;
+	}
+
+	int capacity() {
+		return ring.length;
+	}
+
+	synchronized void close() {
+		closed = true;
+		notifyAll();
+	}
+}
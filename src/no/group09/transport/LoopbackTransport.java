@@ -0,0 +1,149 @@
+package no.group09.transport;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * One end of an in-memory link, for running a programmer against a simulated
+ * device in the same JVM, without a radio or a socket.
+ *
+ * Get both ends with {@link #createPair(int)}. Each direction is a bounded ring
+ * buffer: bytes are copied in once by the writer and out once by the reader,
+ * with no thread in between. A writer waits while the other end has a full
+ * buffer unread, like a stalled serial link. Closing either end closes the link:
+ * the other end reads what is left, then end of stream.
+ */
+public class LoopbackTransport extends AbstractTransport {
+	/** Buffer size of each direction when none is given */
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private final ByteRing incoming;
+	private final ByteRing outgoing;
+	private final InputStream in = new RingStream();
+	private final OutputStream out = new SendingStream();
+
+	/**
+	 * Create a connected pair with {@link #DEFAULT_CAPACITY} in each direction.
+	 * @return both ends, the programmer's first and the device's second
+	 */
+	public static LoopbackTransport[] createPair() {
+		return createPair(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a connected pair.
+	 * @param capacity Number of bytes each direction holds unread
+	 * @return both ends, the programmer's first and the device's second
+	 */
+	public static LoopbackTransport[] createPair(int capacity) {
+		ByteRing toDevice = new ByteRing(capacity);
+		ByteRing toHost = new ByteRing(capacity);
+		return new LoopbackTransport[] {
+				new LoopbackTransport(toHost, toDevice),
+				new LoopbackTransport(toDevice, toHost)
+		};
+	}
+
+	private LoopbackTransport(ByteRing incoming, ByteRing outgoing) {
+		this.incoming = incoming;
+		this.outgoing = outgoing;
+	}
+
+	@Override
+	protected void send(byte[] b, int off, int len) throws IOException {
+		outgoing.put(b, off, len);
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len, long timeout) throws IOException {
+		long deadline = System.currentTimeMillis() + timeout;
+		int got = 0;
+		while (got < len) {
+			long left = Math.max(0, deadline - System.currentTimeMillis());
+			int n = incoming.take(b, off + got, len - got, left);
+			if (n < 0) {
+				return got > 0 ? got : -1;
+			}
+			if (n == 0) {
+				break;
+			}
+			got += n;
+		}
+		return got;
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return in;
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return out;
+	}
+
+	@Override
+	public int getMtu() {
+		return outgoing.capacity();
+	}
+
+	@Override
+	public long getLatencyNanos() {
+		return 0;
+	}
+
+	@Override
+	public void close() {
+		incoming.close();
+		outgoing.close();
+	}
+
+	/**
+	 * Blocking stream over the incoming buffer.
+	 */
+	private class RingStream extends InputStream {
+		private byte[] single = new byte[1];
+
+		@Override
+		public synchronized int read() throws IOException {
+			return incoming.take(single, 0, 1, -1) < 0 ? -1 : single[0] & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			return incoming.take(b, off, len, -1);
+		}
+
+		@Override
+		public int available() {
+			return incoming.available();
+		}
+
+		@Override
+		public void close() {
+			LoopbackTransport.this.close();
+		}
+	}
+}
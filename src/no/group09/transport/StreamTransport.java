@@ -0,0 +1,131 @@
+package no.group09.transport;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Transport over a pair of streams, like the ones of an Android Bluetooth socket.
+ *
+ * Streams can not wait for a limited time, so timed reads look at
+ * {@link InputStream#available()} every millisecond until bytes arrive. Do not
+ * use the timed reads while a {@link no.group09.stk500_v1.STK500v1 programmer}
+ * reads the same stream.
+ */
+public class StreamTransport extends AbstractTransport {
+	/** Packet size when not known, the default RFCOMM frame size of Android */
+	public static final int DEFAULT_MTU = 1008;
+
+	/** Time between checks for received bytes in timed reads */
+	private static final long POLL_INTERVAL = 1;
+
+	private InputStream in;
+	private OutputStream out;
+	private OutputStream sending = new SendingStream();
+	private int mtu;
+	private long latencyNanos;
+
+	/**
+	 * @param in Stream to read from
+	 * @param out Stream to write to
+	 */
+	public StreamTransport(InputStream in, OutputStream out) {
+		this(in, out, DEFAULT_MTU, 0);
+	}
+
+	/**
+	 * @param in Stream to read from
+	 * @param out Stream to write to
+	 * @param mtu Largest number of bytes sent as one packet
+	 * @param latencyNanos Time a byte takes to get across, 0 if not known
+	 */
+	public StreamTransport(InputStream in, OutputStream out, int mtu, long latencyNanos) {
+		if (in == null || out == null) {
+			throw new IllegalArgumentException("StreamTransport: null as stream");
+		}
+		this.in = in;
+		this.out = out;
+		this.mtu = mtu;
+		this.latencyNanos = latencyNanos;
+	}
+
+	@Override
+	protected void send(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		out.flush();
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len, long timeout) throws IOException {
+		long deadline = System.currentTimeMillis() + timeout;
+		int got = 0;
+		while (got < len) {
+			int available = in.available();
+			if (available > 0) {
+				int n = in.read(b, off + got, Math.min(available, len - got));
+				if (n < 0) {
+					return got > 0 ? got : -1;
+				}
+				got += n;
+			}
+			else if (System.currentTimeMillis() >= deadline) {
+				break;
+			}
+			else {
+				try {
+					Thread.sleep(POLL_INTERVAL);
+				} catch (InterruptedException e) {
+					break;
+				}
+			}
+		}
+		return got;
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		return in;
+	}
+
+	@Override
+	public OutputStream getOutputStream() {
+		return sending;
+	}
+
+	@Override
+	public int getMtu() {
+		return mtu;
+	}
+
+	@Override
+	public long getLatencyNanos() {
+		return latencyNanos;
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			in.close();
+		} finally {
+			out.close();
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package no.group09.transport;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+/**
+ * Transport over TCP, for boards behind a serial to network gateway like
+ * ser2net. Nagle's algorithm is turned off, so a small command leaves at once
+ * instead of waiting for the answer to the last one.
+ *
+ * The latency is half the time the connection took to set up, one round trip.
+ * Timed reads wait on the socket itself.
+ */
+public class TcpTransport extends StreamTransport {
+	/** Largest segment on an Ethernet link */
+	public static final int DEFAULT_MTU = 1460;
+
+	private Socket socket;
+
+	/**
+	 * Connect to a gateway.
+	 * @param host Host name or address
+	 * @param port TCP port
+	 * @param connectTimeout Longest time to wait for the connection in milliseconds
+	 * @return the connected transport
+	 * @throws IOException if the connection failed
+	 */
+	public static TcpTransport connect(String host, int port, int connectTimeout)
+			throws IOException {
+		Socket socket = new Socket();
+		try {
+			socket.setTcpNoDelay(true);
+			long start = System.nanoTime();
+			socket.connect(new InetSocketAddress(host, port), connectTimeout);
+			long roundTrip = System.nanoTime() - start;
+			return new TcpTransport(socket, roundTrip / 2);
+		} catch (IOException e) {
+			socket.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Use a connected socket. Nagle's algorithm is turned off.
+	 * @param socket The socket
+	 * @param latencyNanos Time a byte takes to get across, 0 if not known
+	 * @throws IOException if the socket is not connected
+	 */
+	public TcpTransport(Socket socket, long latencyNanos) throws IOException {
+		super(socket.getInputStream(), socket.getOutputStream(), DEFAULT_MTU,
+				latencyNanos);
+		socket.setTcpNoDelay(true);
+		this.socket = socket;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len, long timeout) throws IOException {
+		long deadline = System.currentTimeMillis() + timeout;
+		int got = 0;
+		try {
+			while (got < len) {
+				long left = deadline - System.currentTimeMillis();
+				if (left <= 0) {
+					break;
+				}
+				socket.setSoTimeout((int) Math.min(left, Integer.MAX_VALUE));
+				int n = getInputStream().read(b, off + got, len - got);
+				if (n < 0) {
+					return got > 0 ? got : -1;
+				}
+				got += n;
+			}
+		} catch (SocketTimeoutException e) {
+			// Time is up, return what arrived
+		} finally {
+			socket.setSoTimeout(0);
+		}
+		return got;
+	}
+
+	@Override
+	public void close() throws IOException {
+		socket.close();
+	}
+}
@@ -0,0 +1,100 @@
+package no.group09.transport;
+
+/**
+ *  Copyright 2013 UbiCollab
+ *  
+ *  This file is part of STK500ForJava.
+ *
+ *	STK500ForJava is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU Lesser General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	STK500ForJava is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU Lesser General Public License for more details.
+ *
+ *	You should have received a copy of the GNU Lesser General Public License
+ *	along with STK500ForJava.  If not, see <http://www.gnu.org/licenses/>.
+ */
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A byte link to a bootloader, like a Bluetooth socket, a TCP connection to a
+ * serial gateway or an in-JVM loopback to a simulated device.
+ *
+ * Writes are collected with {@link #write(byte[], int, int) write} and sent as
+ * one batch by {@link #flush()}. Reads take a timeout, so a caller never blocks
+ * on a device that stopped answering. The programmers take the link as a pair
+ * of streams, from {@link #getInputStream()} and {@link #getOutputStream()}.
+ *
+ * Each transport tells how large a batch it sends as one packet, and how long
+ * a byte takes to get across, so callers can size their batches and timeouts.
+ */
+public interface Transport extends Closeable {
+	/** Returned by {@link #read(long)} when nothing arrived in time */
+	int TIMEOUT = -2;
+
+	/**
+	 * Add bytes to the batch being collected. Nothing is sent before
+	 * {@link #flush()}.
+	 * @param b The bytes
+	 * @param off Index of the first byte
+	 * @param len Number of bytes
+	 * @throws IOException if the link is closed
+	 */
+	void write(byte[] b, int off, int len) throws IOException;
+
+	/**
+	 * Send the batch collected since the last flush, as one write.
+	 * @throws IOException if sending failed
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * Read one byte.
+	 * @param timeout Longest time to wait in milliseconds
+	 * @return the byte, -1 at end of stream, or {@link #TIMEOUT}
+	 * @throws IOException if reading failed
+	 */
+	int read(long timeout) throws IOException;
+
+	/**
+	 * Read a block of bytes under one deadline, returning when the block is full
+	 * or the time is up.
+	 * @param b Array to read into
+	 * @param off Index of the first byte to store
+	 * @param len Number of bytes wanted
+	 * @param timeout Longest time to wait for the whole block in milliseconds
+	 * @return the number of bytes read, less than <code>len</code> if the time
+	 * ran out, or -1 if the stream ended before any byte
+	 * @throws IOException if reading failed
+	 */
+	int read(byte[] b, int off, int len, long timeout) throws IOException;
+
+	/**
+	 * @return Stream reading the link, blocking until bytes arrive
+	 */
+	InputStream getInputStream();
+
+	/**
+	 * @return Stream writing to the link, every write sent right away as one
+	 * packet
+	 */
+	OutputStream getOutputStream();
+
+	/**
+	 * @return Largest number of bytes sent as one packet
+	 */
+	int getMtu();
+
+	/**
+	 * @return Time a byte takes to get across in nanoseconds, one way, or 0 if
+	 * not known
+	 */
+	long getLatencyNanos();
+}